@@ -0,0 +1,75 @@
+package uz.ccrew.flightmanagement.security.jwt;
+
+import com.auth0.jwt.JWT;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Date;
+import java.time.ZoneId;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request authentication cost: the former filter path (two unverified decodes plus a verified parse
+ * with a freshly built key) against the single verify-and-parse pass on startup-built keys, with and
+ * without the verified-token cache.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JWTServiceBenchmark {
+    private static final String SECRET_KEY = "432A462D4A614E645267556B586E3272357538782F413F4428472B4B62506553";
+
+    private JWTService jwtService;
+    private JWTService cachingJwtService;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtService = jwtService(0);
+        cachingJwtService = jwtService(10000);
+        token = jwtService.generateAccessToken("benchmark");
+    }
+
+    @Benchmark
+    public Object legacyFilterPath() {
+        if (JWT.decode(token).getExpiresAt().before(new Date())) {
+            throw new IllegalStateException("Token expired");
+        }
+        String login = Jwts.parserBuilder()
+                .setSigningKey(Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET_KEY)))
+                .build()
+                .parseClaimsJws(token)
+                .getBody()
+                .getSubject();
+        LocalDateTime issuedAt = LocalDateTime.ofInstant(JWT.decode(token).getIssuedAt().toInstant(), ZoneId.systemDefault());
+        return new Object[]{login, issuedAt};
+    }
+
+    @Benchmark
+    public VerifiedToken verifyAccessToken() {
+        return jwtService.verifyAccessToken(token);
+    }
+
+    @Benchmark
+    public VerifiedToken verifyAccessTokenCached() {
+        return cachingJwtService.verifyAccessToken(token);
+    }
+
+    private JWTService jwtService(int tokenCacheSize) {
+        JWTService service = new JWTService();
+        ReflectionTestUtils.setField(service, "ACCESS_TOKEN_SECRET_KEY", SECRET_KEY);
+        ReflectionTestUtils.setField(service, "REFRESH_TOKEN_SECRET_KEY", SECRET_KEY);
+        ReflectionTestUtils.setField(service, "ACCESS_TOKEN_TIME", 1000000);
+        ReflectionTestUtils.setField(service, "REFRESH_TOKEN_TIME", 10000000);
+        ReflectionTestUtils.setField(service, "TOKEN_CACHE_SIZE", tokenCacheSize);
+        service.init();
+        return service;
+    }
+}
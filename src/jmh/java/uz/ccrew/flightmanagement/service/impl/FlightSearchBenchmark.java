@@ -0,0 +1,195 @@
+package uz.ccrew.flightmanagement.service.impl;
+
+import uz.ccrew.flightmanagement.entity.*;
+import uz.ccrew.flightmanagement.repository.*;
+import uz.ccrew.flightmanagement.util.FlightUtil;
+import uz.ccrew.flightmanagement.enums.AirlineCode;
+import uz.ccrew.flightmanagement.util.SearchExecutor;
+import uz.ccrew.flightmanagement.util.TransactionUtil;
+import uz.ccrew.flightmanagement.enums.TravelClassCode;
+import uz.ccrew.flightmanagement.enums.AircraftTypeCode;
+import uz.ccrew.flightmanagement.util.AvailabilityContext;
+import uz.ccrew.flightmanagement.dto.leg.FlightLegCountDTO;
+import uz.ccrew.flightmanagement.mapper.FlightScheduleMapper;
+import uz.ccrew.flightmanagement.dto.flightcost.FlightCostDTO;
+import uz.ccrew.flightmanagement.dto.reservation.FlightClassSeatDTO;
+import uz.ccrew.flightmanagement.dto.flightSchedule.MultiCityFlightDTO;
+import uz.ccrew.flightmanagement.dto.flightSchedule.FlightListRequestDTO;
+import uz.ccrew.flightmanagement.dto.flightSchedule.TravelClassAggregationDTO;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.test.util.ReflectionTestUtils;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import java.util.*;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+/**
+ * Search hot paths on a synthetic in-memory schedule, without a database: {@code CITIES} cities with hourly
+ * departures to the next three cities, alternating aircraft and a random share of sold seats. The graph and
+ * the seat inventory are loaded from mocked repositories, everything after that is the production code.
+ * Covers route finding, the one-way availability lookup, route class aggregation, the flight mapper and
+ * the whole multi-city search. Run with {@code -prof gc} to see the allocation per operation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FlightSearchBenchmark {
+    private static final int CITIES = 12;
+    private static final String DEPARTURE_CITY = "CITY0";
+    private static final String ARRIVAL_CITY = "CITY6";
+
+    @Param({"2", "4"})
+    private int maxStops;
+
+    private FlightUtil flightUtil;
+    private SearchExecutor searchExecutor;
+    private FlightScheduleMapper flightScheduleMapper;
+    private FlightGraphServiceImpl flightGraphService;
+    private SeatInventoryServiceImpl seatInventoryService;
+    private MultiCityFlightServiceImpl multiCityFlightService;
+    private List<Long> departureFlightNumbers;
+    private List<List<FlightSchedule>> routes;
+    private FlightListRequestDTO request;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        LocalDate day = LocalDate.now().plusDays(1);
+
+        List<Airport> airports = new ArrayList<>();
+        for (int city = 0; city < CITIES; city++) {
+            airports.add(Airport.builder()
+                    .airportCode("C" + city)
+                    .airportName("CITY" + city + " International")
+                    .airportLocation("CITY" + city)
+                    .city("CITY" + city)
+                    .build());
+        }
+
+        List<FlightSchedule> flights = new ArrayList<>();
+        List<FlightLegCountDTO> legCounts = new ArrayList<>();
+        List<FlightCostDTO> costs = new ArrayList<>();
+        List<FlightClassSeatDTO> reservedSeats = new ArrayList<>();
+        long flightNumber = 1;
+        for (int city = 0; city < CITIES; city++) {
+            for (int hour = 6; hour < 23; hour++) {
+                for (int hop = 1; hop <= 3; hop++) {
+                    AircraftTypeCode aircraftTypeCode = flightNumber % 2 == 0 ? AircraftTypeCode.B738 : AircraftTypeCode.A320;
+                    LocalDateTime departure = day.atTime(hour, 0);
+                    flights.add(FlightSchedule.builder()
+                            .flightNumber(flightNumber)
+                            .airlineCode(AirlineCode.DL)
+                            .usualAircraftTypeCode(aircraftTypeCode)
+                            .originAirport(airports.get(city))
+                            .destinationAirport(airports.get((city + hop) % CITIES))
+                            .departureDateTime(departure)
+                            .arrivalDateTime(departure.plusMinutes(45L * hop))
+                            .build());
+                    legCounts.add(new FlightLegCountDTO(flightNumber, 1L, 1L));
+                    costs.add(new FlightCostDTO(flightNumber, aircraftTypeCode, LocalDate.now().minusDays(1),
+                            LocalDate.now().plusDays(30), 100L + random.nextInt(400)));
+                    for (TravelClassCode travelClassCode : TravelClassCode.values()) {
+                        reservedSeats.add(new FlightClassSeatDTO(flightNumber, travelClassCode, (long) random.nextInt(30)));
+                    }
+                    flightNumber++;
+                }
+            }
+        }
+
+        FlightScheduleRepository flightScheduleRepository = mock(FlightScheduleRepository.class);
+        LegRepository legRepository = mock(LegRepository.class);
+        FlightCostRepository flightCostRepository = mock(FlightCostRepository.class);
+        ItineraryLegRepository itineraryLegRepository = mock(ItineraryLegRepository.class);
+        TravelClassCapacityRepository travelClassCapacityRepository = mock(TravelClassCapacityRepository.class);
+        when(flightScheduleRepository.findByDepartureDateTimeAfter(any())).thenReturn(flights);
+        when(legRepository.getLegCounts()).thenReturn(legCounts);
+        when(flightCostRepository.findAllCosts()).thenReturn(costs);
+        when(itineraryLegRepository.getReservedSeats()).thenReturn(reservedSeats);
+        when(travelClassCapacityRepository.findAll()).thenReturn(List.of(
+                capacity(AircraftTypeCode.B738, TravelClassCode.ECONOMY, 150),
+                capacity(AircraftTypeCode.B738, TravelClassCode.BUSINESS, 24),
+                capacity(AircraftTypeCode.A320, TravelClassCode.ECONOMY, 160),
+                capacity(AircraftTypeCode.A320, TravelClassCode.COMFORT, 20),
+                capacity(AircraftTypeCode.A320, TravelClassCode.BUSINESS, 12)));
+
+        flightGraphService = new FlightGraphServiceImpl(legRepository, new TransactionUtil(), flightCostRepository, flightScheduleRepository);
+        ReflectionTestUtils.setField(flightGraphService, "maxRoutes", 200);
+        flightGraphService.load();
+        seatInventoryService = new SeatInventoryServiceImpl(new TransactionUtil(), flightCostRepository, itineraryLegRepository,
+                travelClassCapacityRepository);
+        seatInventoryService.load();
+
+        flightUtil = new FlightUtil(seatInventoryService);
+        flightScheduleMapper = new FlightScheduleMapper();
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        searchExecutor = new SearchExecutor(meterRegistry, false, 0, 0, 10, Duration.ofSeconds(10), 500);
+        multiCityFlightService = new MultiCityFlightServiceImpl(flightUtil, searchExecutor, flightScheduleMapper, flightGraphService,
+                meterRegistry);
+
+        departureFlightNumbers = flights.stream()
+                .filter(flight -> flight.getOriginAirport().getCity().equals(DEPARTURE_CITY))
+                .map(FlightSchedule::getFlightNumber)
+                .toList();
+        routes = flightGraphService.findRoutes(DEPARTURE_CITY, ARRIVAL_CITY, maxStops);
+        request = FlightListRequestDTO.builder()
+                .departureCity(DEPARTURE_CITY)
+                .arrivalCity(ARRIVAL_CITY)
+                .departureDate(day)
+                .maxStops(maxStops)
+                .build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        searchExecutor.destroy();
+    }
+
+    @Benchmark
+    public List<List<FlightSchedule>> findRoutes() {
+        return flightGraphService.findRoutes(DEPARTURE_CITY, ARRIVAL_CITY, maxStops);
+    }
+
+    @Benchmark
+    public Map<Long, TravelClassAggregationDTO> oneWayAvailability() {
+        return seatInventoryService.getAvailability(departureFlightNumbers);
+    }
+
+    @Benchmark
+    public void travelClassAggregation(Blackhole blackhole) {
+        AvailabilityContext context = flightUtil.newAvailabilityContext();
+        for (List<FlightSchedule> route : routes) {
+            blackhole.consume(flightUtil.getTravelClassAggregation(route, context));
+        }
+    }
+
+    @Benchmark
+    public void toDTOList(Blackhole blackhole) {
+        for (List<FlightSchedule> route : routes) {
+            blackhole.consume(flightScheduleMapper.toDTOList(route));
+        }
+    }
+
+    @Benchmark
+    public List<MultiCityFlightDTO> multiCitySearch() {
+        return multiCityFlightService.getMultiCityFlights(request);
+    }
+
+    private static TravelClassCapacity capacity(AircraftTypeCode aircraftTypeCode, TravelClassCode travelClassCode, int seats) {
+        return TravelClassCapacity.builder()
+                .id(new TravelClassCapacity.TravelClassCapacityId(aircraftTypeCode, travelClassCode))
+                .seatCapacity(seats)
+                .build();
+    }
+}
@@ -0,0 +1,174 @@
+package uz.ccrew.flightmanagement.service.impl;
+
+import uz.ccrew.flightmanagement.entity.*;
+import uz.ccrew.flightmanagement.repository.*;
+import uz.ccrew.flightmanagement.enums.UserRole;
+import uz.ccrew.flightmanagement.enums.AirlineCode;
+import uz.ccrew.flightmanagement.dto.reservation.*;
+import uz.ccrew.flightmanagement.enums.TicketTypeCode;
+import uz.ccrew.flightmanagement.enums.TravelClassCode;
+import uz.ccrew.flightmanagement.enums.AircraftTypeCode;
+import uz.ccrew.flightmanagement.FlightManagementApplication;
+import uz.ccrew.flightmanagement.service.FlightCostService;
+import uz.ccrew.flightmanagement.service.RefCalendarService;
+import uz.ccrew.flightmanagement.service.ReservationService;
+import uz.ccrew.flightmanagement.security.user.UserDetailsImpl;
+import uz.ccrew.flightmanagement.dto.flightcost.FlightCostDTO;
+import uz.ccrew.flightmanagement.dto.refcalendar.RefCalendarDTO;
+import uz.ccrew.flightmanagement.service.TravelClassCapacityService;
+import uz.ccrew.flightmanagement.dto.travelclasscapacity.TravelClassCapacityCreateDTO;
+
+import org.hibernate.stat.Statistics;
+import org.openjdk.jmh.annotations.*;
+import org.hibernate.SessionFactory;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+
+import java.util.List;
+import java.util.ArrayList;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Round-trip and multi-city bookings against the in-memory database of the test profile, with Hibernate JDBC
+ * batching off and on. Besides the time per booking the {@code statements} and {@code reservations} counters give
+ * the JDBC statements Hibernate prepared; their ratio is the statements per reservation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ReservationWriteBenchmark {
+    @Param({"0", "50"})
+    private int batchSize;
+
+    private ConfigurableApplicationContext context;
+    private ReservationService reservationService;
+    private Statistics statistics;
+    private RoundTripReservationCreate roundTrip;
+    private MultiCityReservationCreateDTO multiCity;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Statements {
+        public long statements;
+        public long reservations;
+    }
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(FlightManagementApplication.class)
+                .profiles("test")
+                .properties("server.port=0",
+                        "spring.jpa.show-sql=false",
+                        "spring.jpa.properties.hibernate.generate_statistics=true",
+                        "spring.jpa.properties.hibernate.jdbc.batch_size=" + batchSize)
+                .run();
+        reservationService = context.getBean(ReservationService.class);
+        statistics = context.getBean(EntityManagerFactory.class).unwrap(SessionFactory.class).getStatistics();
+
+        User user = context.getBean(UserRepository.class).save(User.builder()
+                .login("benchmark")
+                .password("benchmark")
+                .cashbackAmount(0L)
+                .role(UserRole.CUSTOMER)
+                .credentialsModifiedDate(LocalDateTime.now())
+                .build());
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(new UserDetailsImpl(user), null, new UserDetailsImpl(user).getAuthorities()));
+        context.getBean(PassengerRepository.class).save(Passenger.builder()
+                .firstName("Azimjon")
+                .lastName("Nazarov")
+                .phoneNumber("998901234567")
+                .addressLines("Chilonzor 1")
+                .city("TASHKENT")
+                .country("UZBEKISTAN")
+                .customerId(user.getId())
+                .build());
+        BookingAgent agent = context.getBean(BookingAgentRepository.class).save(BookingAgent.builder().agentName("benchmark").build());
+
+        context.getBean(TravelClassCapacityService.class)
+                .add(new TravelClassCapacityCreateDTO(AircraftTypeCode.B738, TravelClassCode.ECONOMY, 10_000_000));
+        RefCalendarService refCalendarService = context.getBean(RefCalendarService.class);
+        refCalendarService.save(new RefCalendarDTO(LocalDate.now().minusDays(1), 1, true));
+        refCalendarService.save(new RefCalendarDTO(LocalDate.now().plusDays(30), 1, true));
+
+        List<Airport> airports = new ArrayList<>();
+        for (String code : List.of("BMA", "BMB", "BMC", "BMD")) {
+            airports.add(context.getBean(AirportRepository.class).save(Airport.builder()
+                    .airportCode(code)
+                    .airportName(code + " International")
+                    .airportLocation(code)
+                    .city(code)
+                    .build()));
+        }
+        List<Long> flightNumbers = new ArrayList<>();
+        for (int i = 0; i < airports.size() - 1; i++) {
+            flightNumbers.add(flight(airports.get(i), airports.get(i + 1), i + 1));
+        }
+        Long returnFlightNumber = flight(airports.get(1), airports.get(0), 5);
+
+        MainDTO main = MainDTO.builder()
+                .ticketTypeCode(TicketTypeCode.TYPE1)
+                .travelClassCode(TravelClassCode.ECONOMY)
+                .bookingAgentId(agent.getAgentId())
+                .useCashback(false)
+                .build();
+        roundTrip = new RoundTripReservationCreate(flightNumbers.getFirst(), returnFlightNumber, main);
+        multiCity = new MultiCityReservationCreateDTO(flightNumbers, main);
+    }
+
+    @TearDown
+    public void tearDown() {
+        SecurityContextHolder.clearContext();
+        context.close();
+    }
+
+    @Benchmark
+    public ReservationDTO roundTrip(Statements counters) {
+        long before = statistics.getPrepareStatementCount();
+        ReservationDTO result = reservationService.makeRoundTrip(roundTrip);
+        counters.statements += statistics.getPrepareStatementCount() - before;
+        counters.reservations++;
+        return result;
+    }
+
+    @Benchmark
+    public ReservationDTO multiCity(Statements counters) {
+        long before = statistics.getPrepareStatementCount();
+        ReservationDTO result = reservationService.makeMultiCity(multiCity);
+        counters.statements += statistics.getPrepareStatementCount() - before;
+        counters.reservations++;
+        return result;
+    }
+
+    private Long flight(Airport origin, Airport destination, int day) {
+        FlightSchedule flight = context.getBean(FlightScheduleRepository.class).save(FlightSchedule.builder()
+                .airlineCode(AirlineCode.DL)
+                .usualAircraftTypeCode(AircraftTypeCode.B738)
+                .originAirport(origin)
+                .destinationAirport(destination)
+                .departureDateTime(LocalDateTime.now().plusDays(day))
+                .arrivalDateTime(LocalDateTime.now().plusDays(day).plusHours(2))
+                .build());
+        context.getBean(LegRepository.class).save(Leg.builder()
+                .flightSchedule(flight)
+                .originAirport(origin.getAirportCode())
+                .destinationAirport(destination.getAirportCode())
+                .build());
+        context.getBean(FlightCostService.class).save(FlightCostDTO.builder()
+                .flightNumber(flight.getFlightNumber())
+                .aircraftTypeCode(AircraftTypeCode.B738)
+                .validFromDate(LocalDate.now().minusDays(1))
+                .validToDate(LocalDate.now().plusDays(30))
+                .flightCost(300L)
+                .build());
+        return flight.getFlightNumber();
+    }
+}
@@ -0,0 +1,131 @@
+package uz.ccrew.flightmanagement.util;
+
+import uz.ccrew.flightmanagement.enums.TravelClassCode;
+import uz.ccrew.flightmanagement.dto.flightSchedule.TravelClassAggregationDTO;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BinaryOperator;
+
+/**
+ * Per-route class aggregation of the multi-city and round-trip searches: the former boxed map intersection
+ * against the primitive kernel of {@link ClassAvailability}, which only builds the DTO maps for routes that keep a
+ * common class. About a third of the routes share no class. Run with {@code -prof gc}; {@code gc.alloc.rate.norm}
+ * is the allocation per route.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FlightUtilAggregationBenchmark {
+    private static final int ROUTES = 1024;
+    private static final TravelClassCode[] TRAVEL_CLASS_CODES = TravelClassCode.values();
+
+    @Param({"2", "4"})
+    private int legs;
+
+    private List<List<TravelClassAggregationDTO>> dtoRoutes;
+    private List<List<ClassAvailability>> routes;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        dtoRoutes = new ArrayList<>(ROUTES);
+        routes = new ArrayList<>(ROUTES);
+        for (int route = 0; route < ROUTES; route++) {
+            List<TravelClassAggregationDTO> dtoRoute = new ArrayList<>(legs);
+            List<ClassAvailability> availabilityRoute = new ArrayList<>(legs);
+            for (int leg = 0; leg < legs; leg++) {
+                // every third route has a leg that only sells business, which the other legs never offer
+                boolean businessOnly = route % 3 == 0 && leg == legs - 1;
+                int classes = businessOnly ? 1 << TravelClassCode.BUSINESS.ordinal()
+                        : 1 << TravelClassCode.ECONOMY.ordinal() | 1 << TravelClassCode.COMFORT.ordinal();
+                long[] costs = new long[TRAVEL_CLASS_CODES.length];
+                int[] seats = new int[TRAVEL_CLASS_CODES.length];
+                HashMap<TravelClassCode, Long> classCost = new HashMap<>();
+                HashMap<TravelClassCode, Integer> classSeats = new HashMap<>();
+                for (TravelClassCode travelClassCode : TRAVEL_CLASS_CODES) {
+                    if ((classes & 1 << travelClassCode.ordinal()) != 0) {
+                        costs[travelClassCode.ordinal()] = 100 + random.nextInt(900);
+                        seats[travelClassCode.ordinal()] = 1 + random.nextInt(200);
+                        classCost.put(travelClassCode, costs[travelClassCode.ordinal()]);
+                        classSeats.put(travelClassCode, seats[travelClassCode.ordinal()]);
+                    }
+                }
+                availabilityRoute.add(new ClassAvailability(classes, costs, classes, seats));
+                dtoRoute.add(new TravelClassAggregationDTO(classCost, classSeats));
+            }
+            routes.add(availabilityRoute);
+            dtoRoutes.add(dtoRoute);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROUTES)
+    public void boxedMaps(Blackhole blackhole) {
+        for (List<TravelClassAggregationDTO> route : dtoRoutes) {
+            blackhole.consume(legacyAggregate(route));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROUTES)
+    public void primitiveKernel(Blackhole blackhole) {
+        for (List<ClassAvailability> route : routes) {
+            ClassAvailability aggregation = ClassAvailability.aggregate(route);
+            blackhole.consume(aggregation == null ? null : aggregation.toDTO());
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROUTES)
+    public void primitiveKernelWithoutDTO(Blackhole blackhole) {
+        for (List<ClassAvailability> route : routes) {
+            blackhole.consume(ClassAvailability.aggregate(route));
+        }
+    }
+
+    /**
+     * The aggregation {@code FlightUtil} used before the primitive kernel.
+     */
+    private static TravelClassAggregationDTO legacyAggregate(List<TravelClassAggregationDTO> availabilities) {
+        Set<TravelClassCode> commonClassCost = null;
+        Set<TravelClassCode> commonClassSeats = null;
+        HashMap<TravelClassCode, Long> combinedClassCostMap = new HashMap<>();
+        HashMap<TravelClassCode, Integer> combinedClassSeatsMap = new HashMap<>();
+
+        for (TravelClassAggregationDTO availability : availabilities) {
+            combinedClassCostMap = intersect(availability.classCost(), commonClassCost, combinedClassCostMap, Long::sum);
+            combinedClassSeatsMap = intersect(availability.classSeats(), commonClassSeats, combinedClassSeatsMap, Math::min);
+            commonClassCost = combinedClassCostMap.keySet();
+            commonClassSeats = combinedClassSeatsMap.keySet();
+
+            if (commonClassCost.isEmpty() || commonClassSeats.isEmpty()) {
+                return null;
+            }
+        }
+
+        return new TravelClassAggregationDTO(combinedClassCostMap, combinedClassSeatsMap);
+    }
+
+    private static <T> HashMap<TravelClassCode, T> intersect(HashMap<TravelClassCode, T> classMap, Set<TravelClassCode> set,
+                                                              HashMap<TravelClassCode, T> map,
+                                                              BinaryOperator<T> combine) {
+        if (set == null) {
+            set = new HashSet<>(classMap.keySet());
+        } else {
+            set.retainAll(classMap.keySet());
+        }
+
+        for (TravelClassCode travelClassCode : set) {
+            T value = classMap.get(travelClassCode);
+            map.compute(travelClassCode, (key, old) -> old == null ? value : combine.apply(value, old));
+        }
+        return map;
+    }
+}
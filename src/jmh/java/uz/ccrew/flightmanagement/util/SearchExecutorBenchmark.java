@@ -0,0 +1,64 @@
+package uz.ccrew.flightmanagement.util;
+
+import org.openjdk.jmh.annotations.*;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import java.util.List;
+import java.util.Optional;
+import java.time.Duration;
+import java.util.stream.IntStream;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Multi-city style fan-out under concurrent requests: each of the 16 caller threads evaluates 32 routes,
+ * every route blocking for about a database round trip. Compares the former parallel stream on the common
+ * pool with the search executor on platform and on virtual threads. Sample mode reports p99 next to the
+ * throughput run.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(16)
+@Fork(1)
+public class SearchExecutorBenchmark {
+    private static final long BLOCKING_NANOS = TimeUnit.MICROSECONDS.toNanos(500);
+
+    @Param({"false", "true"})
+    private boolean virtualThreads;
+
+    @Param({"5", "20"})
+    private int maxConcurrency;
+
+    private SearchExecutor searchExecutor;
+    private List<Integer> routes;
+
+    @Setup
+    public void setUp() {
+        searchExecutor = new SearchExecutor(new SimpleMeterRegistry(), virtualThreads, maxConcurrency, maxConcurrency,
+                maxConcurrency, Duration.ofSeconds(10), Integer.MAX_VALUE);
+        routes = IntStream.range(0, 32).boxed().toList();
+    }
+
+    @TearDown
+    public void tearDown() {
+        searchExecutor.destroy();
+    }
+
+    @Benchmark
+    public List<Integer> searchExecutor() {
+        return searchExecutor.search(routes, route -> Optional.of(evaluate(route)));
+    }
+
+    @Benchmark
+    public List<Integer> commonPoolParallelStream() {
+        return routes.parallelStream().map(SearchExecutorBenchmark::evaluate).toList();
+    }
+
+    private static Integer evaluate(Integer route) {
+        LockSupport.parkNanos(BLOCKING_NANOS);
+        return route;
+    }
+}
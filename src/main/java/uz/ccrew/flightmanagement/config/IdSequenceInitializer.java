@@ -0,0 +1,70 @@
+package uz.ccrew.flightmanagement.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.dialect.H2Dialect;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.springframework.stereotype.Component;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.beans.factory.InitializingBean;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+
+import java.util.Map;
+
+/**
+ * Reservations, passengers, legs, flights and users take their ids from pooled sequences, so Hibernate can batch
+ * their inserts. On a database whose rows were written with identity columns the sequences start behind the
+ * existing ids. Before the application serves requests each sequence is moved past the largest id of its table;
+ * sequences that are already ahead are left alone, and on PostgreSQL and H2 their position is read without
+ * consuming a value.
+ */
+@Slf4j
+@Component
+public class IdSequenceInitializer implements InitializingBean {
+    private static final int ALLOCATION_SIZE = 50;
+    private static final Map<String, String> SEQUENCES = Map.of(
+            "flight_schedules_seq", "select max(flight_number) from flight_schedules",
+            "itinerary_reservations_seq", "select max(reservation_id) from itinerary_reservations",
+            "legs_seq", "select max(leg_id) from legs",
+            "passengers_seq", "select max(passenger_id) from passengers",
+            "users_seq", "select max(id) from users");
+    private final JdbcTemplate jdbcTemplate;
+    private final Dialect dialect;
+
+    public IdSequenceInitializer(JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory) {
+        this.jdbcTemplate = jdbcTemplate;
+        // taken after the entity manager factory, so the schema and its sequences already exist
+        this.dialect = entityManagerFactory.unwrap(SessionFactoryImplementor.class).getJdbcServices().getDialect();
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        SEQUENCES.forEach((sequence, maxIdQuery) -> {
+            Long maxId = jdbcTemplate.queryForObject(maxIdQuery, Long.class);
+            if (maxId == null) {
+                return;
+            }
+            // a pooled sequence value is the last id of the block handed out with it
+            if (nextValue(sequence) - ALLOCATION_SIZE < maxId) {
+                jdbcTemplate.execute("alter sequence " + sequence + " restart with " + (maxId + ALLOCATION_SIZE));
+                log.info("Moved sequence {} past id {}", sequence, maxId);
+            }
+        });
+    }
+
+    /**
+     * The value the next {@code nextval} will return, read without consuming it where the database allows.
+     */
+    private long nextValue(String sequence) {
+        if (dialect instanceof PostgreSQLDialect) {
+            return jdbcTemplate.queryForObject("select case when is_called then last_value + " + ALLOCATION_SIZE
+                    + " else last_value end from " + sequence, Long.class);
+        }
+        if (dialect instanceof H2Dialect) {
+            return jdbcTemplate.queryForObject("select base_value from information_schema.sequences where lower(sequence_name) = ?",
+                    Long.class, sequence);
+        }
+        return jdbcTemplate.queryForObject(dialect.getSequenceSupport().getSequenceNextValString(sequence), Long.class);
+    }
+}
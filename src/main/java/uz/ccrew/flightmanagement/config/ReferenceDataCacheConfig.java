@@ -0,0 +1,62 @@
+package uz.ccrew.flightmanagement.config;
+
+import javax.cache.Caching;
+import javax.cache.CacheManager;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.ehcache.config.builders.ExpiryPolicyBuilder;
+import org.ehcache.config.builders.ConfigurationBuilder;
+import org.ehcache.jsr107.EhcacheCachingProvider;
+import org.springframework.context.annotation.Bean;
+import org.ehcache.config.builders.ResourcePoolsBuilder;
+import org.springframework.beans.factory.annotation.Value;
+import org.ehcache.config.builders.CacheConfigurationBuilder;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+
+import java.net.URI;
+import java.util.List;
+import java.util.UUID;
+import java.time.Duration;
+
+/**
+ * Local second-level cache for reference data that hardly ever changes: airports, travel class capacities and the
+ * calendar, plus the results of their finder queries. Writes go through Hibernate, which updates the entity regions
+ * and invalidates the cached query results of the written table. Entries still expire after
+ * {@code reference-data.cache.ttl}, which bounds how long another instance's writes stay invisible.
+ */
+@Configuration
+public class ReferenceDataCacheConfig {
+    public static final String AIRPORTS = "airports";
+    public static final String TRAVEL_CLASS_CAPACITIES = "travel-class-capacities";
+    public static final String REF_CALENDARS = "ref-calendars";
+    public static final String REFERENCE_QUERIES = "reference-queries";
+
+    /**
+     * Every application context gets a cache manager of its own, so several contexts in one JVM (tests, a devtools
+     * restart) never share or collide on regions.
+     */
+    @Bean(destroyMethod = "close")
+    public CacheManager referenceDataCacheManager(@Value("${reference-data.cache.ttl:1h}") Duration ttl,
+                                                  @Value("${reference-data.cache.max-entries:10000}") long maxEntries) {
+        ConfigurationBuilder configuration = ConfigurationBuilder.newConfigurationBuilder();
+        for (String region : List.of(AIRPORTS, TRAVEL_CLASS_CAPACITIES, REF_CALENDARS, REFERENCE_QUERIES,
+                RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME)) {
+            configuration = configuration.withCache(region,
+                    CacheConfigurationBuilder.newCacheConfigurationBuilder(Object.class, Object.class, ResourcePoolsBuilder.heap(maxEntries))
+                            .withExpiry(ExpiryPolicyBuilder.timeToLiveExpiration(ttl)));
+        }
+        // must not lose entries before the query results they invalidate
+        configuration = configuration.withCache(RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME,
+                CacheConfigurationBuilder.newCacheConfigurationBuilder(Object.class, Object.class, ResourcePoolsBuilder.heap(maxEntries)));
+
+        EhcacheCachingProvider cachingProvider = (EhcacheCachingProvider) Caching.getCachingProvider(EhcacheCachingProvider.class.getName());
+        return cachingProvider.getCacheManager(URI.create("urn:flight-management:reference-data:" + UUID.randomUUID()),
+                configuration.build());
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer referenceDataCacheCustomizer(CacheManager referenceDataCacheManager) {
+        return properties -> properties.put(ConfigSettings.CACHE_MANAGER, referenceDataCacheManager);
+    }
+}
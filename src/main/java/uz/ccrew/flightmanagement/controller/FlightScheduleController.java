@@ -1,6 +1,7 @@
 package uz.ccrew.flightmanagement.controller;
 
 import uz.ccrew.flightmanagement.dto.Response;
+import uz.ccrew.flightmanagement.dto.CursorPage;
 import uz.ccrew.flightmanagement.dto.ResponseMaker;
 import uz.ccrew.flightmanagement.dto.flightSchedule.*;
 import uz.ccrew.flightmanagement.service.FlightScheduleService;
@@ -52,6 +53,16 @@ public class FlightScheduleController {
         return ResponseMaker.ok(result);
     }
 
+    @GetMapping("/list/cursor")
+    @PreAuthorize("hasAuthority('ADMINISTRATOR')")
+    @Operation(summary = "Get list flightSchedule by cursor, role admin")
+    public ResponseEntity<Response<CursorPage<FlightScheduleDTO>>> getList(@RequestParam(value = "cursor", required = false) String cursor,
+                                                                           @RequestParam(value = "size", defaultValue = "10", required = false) int size,
+                                                                           @RequestParam(value = "withCount", defaultValue = "false", required = false) boolean withCount) {
+        CursorPage<FlightScheduleDTO> result = flightScheduleService.getList(cursor, size, withCount);
+        return ResponseMaker.ok(result);
+    }
+
     @GetMapping("/get/{id}")
     @PreAuthorize("hasAnyAuthority('ADMINISTRATOR','EMPLOYEE','CUSTOMER')")
     @Operation(summary = "Get flightSchedule")
@@ -70,6 +81,16 @@ public class FlightScheduleController {
         return ResponseMaker.ok(result);
     }
 
+    @GetMapping("/get-by-airport/{code}/cursor")
+    @PreAuthorize("hasAnyAuthority('ADMINISTRATOR','EMPLOYEE')")
+    @Operation(summary = "Get all flights for a given airport by cursor, nearest to now first.")
+    public ResponseEntity<Response<CursorPage<FlightScheduleDTO>>> getFlightsByAirport(@PathVariable("code") String code,
+                                                                                       @RequestParam(value = "cursor", required = false) String cursor,
+                                                                                       @RequestParam(value = "size", defaultValue = "10", required = false) int size) {
+        CursorPage<FlightScheduleDTO> result = flightScheduleService.getAllFlightSchedulesByAirportCode(code, cursor, size);
+        return ResponseMaker.ok(result);
+    }
+
     @GetMapping("/list/on-time")
     @PreAuthorize("hasAnyAuthority('ADMINISTRATOR','EMPLOYEE')")
     @Operation(summary = "Get all flights on time")
@@ -88,6 +109,26 @@ public class FlightScheduleController {
         return ResponseMaker.ok(result);
     }
 
+    @GetMapping("/list/on-time/cursor")
+    @PreAuthorize("hasAnyAuthority('ADMINISTRATOR','EMPLOYEE')")
+    @Operation(summary = "Get all flights on time by cursor")
+    public ResponseEntity<Response<CursorPage<FlightScheduleReportDTO>>> getOnTimeFlights(@RequestParam(value = "cursor", required = false) String cursor,
+                                                                                          @RequestParam(value = "size", defaultValue = "10", required = false) int size,
+                                                                                          @RequestParam(value = "withCount", defaultValue = "false", required = false) boolean withCount) {
+        CursorPage<FlightScheduleReportDTO> result = flightScheduleService.getOnTimeFlights(cursor, size, withCount);
+        return ResponseMaker.ok(result);
+    }
+
+    @GetMapping("/list/delayed/cursor")
+    @PreAuthorize("hasAnyAuthority('ADMINISTRATOR','EMPLOYEE')")
+    @Operation(summary = "Get all flights delayed by cursor")
+    public ResponseEntity<Response<CursorPage<FlightScheduleReportDTO>>> getDelayedFlights(@RequestParam(value = "cursor", required = false) String cursor,
+                                                                                           @RequestParam(value = "size", defaultValue = "10", required = false) int size,
+                                                                                           @RequestParam(value = "withCount", defaultValue = "false", required = false) boolean withCount) {
+        CursorPage<FlightScheduleReportDTO> result = flightScheduleService.getDelayedFlights(cursor, size, withCount);
+        return ResponseMaker.ok(result);
+    }
+
     @GetMapping("/list/one-way")
     @PreAuthorize("hasAuthority('CUSTOMER')")
     @Operation(summary = "Get list flights for one-way")
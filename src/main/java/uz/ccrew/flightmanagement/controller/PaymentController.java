@@ -1,6 +1,7 @@
 package uz.ccrew.flightmanagement.controller;
 
 import uz.ccrew.flightmanagement.dto.Response;
+import uz.ccrew.flightmanagement.util.IdempotencyStore;
 import uz.ccrew.flightmanagement.dto.ResponseMaker;
 import uz.ccrew.flightmanagement.service.PaymentService;
 import uz.ccrew.flightmanagement.dto.reservationpayment.PaymentDTO;
@@ -22,12 +23,15 @@ import java.util.UUID;
 @SecurityRequirement(name = "Bearer Authentication")
 public class PaymentController {
     private final PaymentService paymentService;
+    private final IdempotencyStore idempotencyStore;
 
     @PostMapping("/pay/{paymentId}")
     @PreAuthorize("hasAuthority('CUSTOMER')")
     @Operation(summary = "Pay payment")
-    public ResponseEntity<Response<PaymentDTO>> pay(@PathVariable("paymentId") String paymentId) {
-        PaymentDTO result = paymentService.pay(UUID.fromString(paymentId));
+    public ResponseEntity<Response<PaymentDTO>> pay(@PathVariable("paymentId") String paymentId,
+                                                   @RequestHeader(value = IdempotencyStore.HEADER, required = false) String idempotencyKey) {
+        UUID id = UUID.fromString(paymentId);
+        PaymentDTO result = idempotencyStore.execute(idempotencyKey, "payment.pay", id, () -> paymentService.pay(id));
         return ResponseMaker.ok(result);
     }
 
@@ -1,18 +1,37 @@
 package uz.ccrew.flightmanagement.controller;
 
 import uz.ccrew.flightmanagement.dto.Response;
+import uz.ccrew.flightmanagement.dto.CursorPage;
 import uz.ccrew.flightmanagement.dto.ResponseMaker;
 import uz.ccrew.flightmanagement.service.ReportService;
+import uz.ccrew.flightmanagement.enums.ManifestFormat;
+import uz.ccrew.flightmanagement.service.ManifestService;
 import uz.ccrew.flightmanagement.dto.passenger.PassengerDTO;
+import uz.ccrew.flightmanagement.dto.report.FlightSalesDTO;
+import uz.ccrew.flightmanagement.dto.report.FlightRevenueDTO;
 
 import lombok.RequiredArgsConstructor;
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.data.domain.Page;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import io.swagger.v3.oas.annotations.Operation;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.async.AsyncWebRequest;
+import org.springframework.web.context.request.async.WebAsyncUtils;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.format.annotation.DateTimeFormat;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.List;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.concurrent.Callable;
 
 @RestController
 @RequestMapping("/api/v1/report")
@@ -20,18 +39,54 @@ import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 @Tag(name = "Report Controller", description = "Report API")
 @SecurityRequirement(name = "Bearer Authentication")
 public class ReportController {
+    private static final String MANIFEST_TIMEOUT = ReportController.class.getName() + ".MANIFEST_TIMEOUT";
     private final ReportService reportService;
+    private final ManifestService manifestService;
+    @Value("${report.manifest.timeout:10m}")
+    private Duration manifestTimeout;
 
     @GetMapping("/flight-passengers/{flightNumber}")
     @PreAuthorize("hasAuthority('EMPLOYEE')")
     @Operation(summary = "Get all customers who have seats reserved on a given flight.")
-    public ResponseEntity<Response<Page<PassengerDTO>>> findReservedSeats(@PathVariable("flightNumber") String flightNumber,
+    public ResponseEntity<Response<Page<PassengerDTO>>> findReservedSeats(@PathVariable("flightNumber") Long flightNumber,
                                                                           @RequestParam(value = "page", defaultValue = "0", required = false) int page,
                                                                           @RequestParam(value = "size", defaultValue = "10", required = false) int size) {
         Page<PassengerDTO> result = reportService.findPassengersWithReservedSeatsOnFlight(flightNumber, page, size);
         return ResponseMaker.ok(result);
     }
 
+    @GetMapping("/flight-passengers/{flightNumber}/cursor")
+    @PreAuthorize("hasAuthority('EMPLOYEE')")
+    @Operation(summary = "Get all customers who have seats reserved on a given flight, by cursor.")
+    public ResponseEntity<Response<CursorPage<PassengerDTO>>> findReservedSeats(@PathVariable("flightNumber") Long flightNumber,
+                                                                                @RequestParam(value = "cursor", required = false) String cursor,
+                                                                                @RequestParam(value = "size", defaultValue = "10", required = false) int size,
+                                                                                @RequestParam(value = "withCount", defaultValue = "false", required = false) boolean withCount) {
+        CursorPage<PassengerDTO> result = reportService.findPassengersWithReservedSeatsOnFlight(flightNumber, cursor, size, withCount);
+        return ResponseMaker.ok(result);
+    }
+
+    @GetMapping("/flight-passengers/{flightNumber}/manifest")
+    @PreAuthorize("hasAuthority('EMPLOYEE')")
+    @Operation(summary = "Stream the full passenger manifest of a given flight as NDJSON or CSV.")
+    public ResponseEntity<StreamingResponseBody> streamManifest(@PathVariable("flightNumber") Long flightNumber,
+                                                                @RequestParam(value = "format", defaultValue = "NDJSON", required = false) ManifestFormat format,
+                                                                HttpServletRequest request) {
+        // the manifest of a full flight can outlast the default async timeout, so only this request gets a longer one
+        WebAsyncUtils.getAsyncManager(request).registerCallableInterceptor(MANIFEST_TIMEOUT, new CallableProcessingInterceptor() {
+            @Override
+            public <T> void beforeConcurrentHandling(NativeWebRequest webRequest, Callable<T> task) {
+                if (webRequest instanceof AsyncWebRequest asyncWebRequest) {
+                    asyncWebRequest.setTimeout(manifestTimeout.toMillis());
+                }
+            }
+        });
+        StreamingResponseBody body = outputStream -> manifestService.writePassengerManifest(flightNumber, format, outputStream);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(format.getContentType()))
+                .body(body);
+    }
+
     @GetMapping("/total-sales/{flightNumber}")
     @PreAuthorize("hasAuthority('EMPLOYEE')")
     @Operation(summary = "Calculation of total sales for given flight")
@@ -39,4 +94,30 @@ public class ReportController {
         Long result = reportService.calculateTotalSalesByFlightNumber(flightNumber);
         return ResponseMaker.ok(result);
     }
+
+    @GetMapping("/sales/{flightNumber}")
+    @PreAuthorize("hasAuthority('EMPLOYEE')")
+    @Operation(summary = "Gross, reversed and net sales of a given flight per travel class")
+    public ResponseEntity<Response<FlightSalesDTO>> getFlightSales(@PathVariable("flightNumber") Long flightNumber) {
+        FlightSalesDTO result = reportService.getFlightSales(flightNumber);
+        return ResponseMaker.ok(result);
+    }
+
+    @PostMapping("/sales/rebuild")
+    @PreAuthorize("hasAuthority('ADMINISTRATOR')")
+    @Operation(summary = "Recompute the sales ledger from the settled payments and correct the rows that drifted")
+    public ResponseEntity<Response<?>> rebuildSalesLedger() {
+        reportService.rebuildSalesLedger();
+        return ResponseMaker.okMessage("Sales ledger rebuilt");
+    }
+
+    @GetMapping("/top-flights")
+    @PreAuthorize("hasAuthority('EMPLOYEE')")
+    @Operation(summary = "Flights departing in a date range ranked by net revenue")
+    public ResponseEntity<Response<List<FlightRevenueDTO>>> getTopFlightsByRevenue(@RequestParam("from") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                                                                   @RequestParam("to") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                                                                                   @RequestParam(value = "limit", defaultValue = "10", required = false) int limit) {
+        List<FlightRevenueDTO> result = reportService.getTopFlightsByRevenue(from, to, limit);
+        return ResponseMaker.ok(result);
+    }
 }
@@ -1,6 +1,8 @@
 package uz.ccrew.flightmanagement.controller;
 
 import uz.ccrew.flightmanagement.dto.Response;
+import uz.ccrew.flightmanagement.util.IdempotencyStore;
+import uz.ccrew.flightmanagement.dto.CursorPage;
 import uz.ccrew.flightmanagement.dto.ResponseMaker;
 import uz.ccrew.flightmanagement.dto.reservation.*;
 import uz.ccrew.flightmanagement.service.ReservationService;
@@ -26,20 +28,23 @@ import java.util.List;
 public class ReservationController {
 
     private final ReservationService reservationService;
+    private final IdempotencyStore idempotencyStore;
 
     @PostMapping("/make/one-way")
     @PreAuthorize("hasAuthority('CUSTOMER')")
     @Operation(summary = "Make one way reservation")
-    public ResponseEntity<Response<ReservationDTO>> makeOneWay(@RequestBody @Valid OneWayReservationCreateDTO dto) {
-        ReservationDTO result = reservationService.makeOneWay(dto);
+    public ResponseEntity<Response<ReservationDTO>> makeOneWay(@RequestBody @Valid OneWayReservationCreateDTO dto,
+                                                               @RequestHeader(value = IdempotencyStore.HEADER, required = false) String idempotencyKey) {
+        ReservationDTO result = idempotencyStore.execute(idempotencyKey, "reservation.one-way", dto, () -> reservationService.makeOneWay(dto));
         return ResponseMaker.ok(result);
     }
 
     @PostMapping("/make/round-trip")
     @PreAuthorize("hasAuthority('CUSTOMER')")
     @Operation(summary = "Make round trip reservation")
-    public ResponseEntity<Response<ReservationDTO>> makeRoundTrip(@RequestBody @Valid RoundTripReservationCreate dto) {
-        ReservationDTO result = reservationService.makeRoundTrip(dto);
+    public ResponseEntity<Response<ReservationDTO>> makeRoundTrip(@RequestBody @Valid RoundTripReservationCreate dto,
+                                                                  @RequestHeader(value = IdempotencyStore.HEADER, required = false) String idempotencyKey) {
+        ReservationDTO result = idempotencyStore.execute(idempotencyKey, "reservation.round-trip", dto, () -> reservationService.makeRoundTrip(dto));
         return ResponseMaker.ok(result);
     }
 
@@ -54,8 +59,18 @@ public class ReservationController {
     @PostMapping("/make/multi-city")
     @PreAuthorize("hasAuthority('CUSTOMER')")
     @Operation(summary = "Make multi city reservation")
-    public ResponseEntity<Response<ReservationDTO>> makeMultiCity(@RequestBody @Valid MultiCityReservationCreateDTO dto) {
-        ReservationDTO result = reservationService.makeMultiCity(dto);
+    public ResponseEntity<Response<ReservationDTO>> makeMultiCity(@RequestBody @Valid MultiCityReservationCreateDTO dto,
+                                                                  @RequestHeader(value = IdempotencyStore.HEADER, required = false) String idempotencyKey) {
+        ReservationDTO result = idempotencyStore.execute(idempotencyKey, "reservation.multi-city", dto, () -> reservationService.makeMultiCity(dto));
+        return ResponseMaker.ok(result);
+    }
+
+    @PostMapping("/make/group")
+    @PreAuthorize("hasAuthority('CUSTOMER')")
+    @Operation(summary = "Make group reservation for several passengers on the same flights")
+    public ResponseEntity<Response<List<ReservationDTO>>> makeGroup(@RequestBody @Valid GroupReservationCreateDTO dto,
+                                                                    @RequestHeader(value = IdempotencyStore.HEADER, required = false) String idempotencyKey) {
+        List<ReservationDTO> result = idempotencyStore.execute(idempotencyKey, "reservation.group", dto, () -> reservationService.makeGroup(dto));
         return ResponseMaker.ok(result);
     }
 
@@ -76,6 +91,16 @@ public class ReservationController {
         return ResponseMaker.ok(result);
     }
 
+    @GetMapping("/my/list/cursor")
+    @PreAuthorize("hasAuthority('CUSTOMER')")
+    @Operation(summary = "Get reservation list by cursor")
+    public ResponseEntity<Response<CursorPage<ReservationDTO>>> getList(@RequestParam(value = "cursor", required = false) String cursor,
+                                                                        @RequestParam(value = "size", defaultValue = "10", required = false) int size,
+                                                                        @RequestParam(value = "withCount", defaultValue = "false", required = false) boolean withCount) {
+        CursorPage<ReservationDTO> result = reservationService.getList(cursor, size, withCount);
+        return ResponseMaker.ok(result);
+    }
+
     @GetMapping("/flight-list/{reservationId}")
     @PreAuthorize("hasAuthority('CUSTOMER')")
     @Operation(summary = "Get Reservation flight list")
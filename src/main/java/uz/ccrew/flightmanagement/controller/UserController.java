@@ -1,6 +1,7 @@
 package uz.ccrew.flightmanagement.controller;
 
 import uz.ccrew.flightmanagement.dto.Response;
+import uz.ccrew.flightmanagement.dto.CursorPage;
 import uz.ccrew.flightmanagement.dto.user.UserDTO;
 import uz.ccrew.flightmanagement.dto.ResponseMaker;
 import uz.ccrew.flightmanagement.service.UserService;
@@ -73,4 +74,14 @@ public class UserController {
         Page<UserDTO> result = userService.getList(page, size);
         return ResponseMaker.ok(result);
     }
+
+    @GetMapping("/get/list/cursor")
+    @PreAuthorize("hasAuthority('ADMINISTRATOR')")
+    @Operation(summary = "User list by cursor for Administrator")
+    public ResponseEntity<Response<CursorPage<UserDTO>>> getList(@RequestParam(value = "cursor", required = false) String cursor,
+                                                                 @RequestParam(value = "size", defaultValue = "10", required = false) int size,
+                                                                 @RequestParam(value = "withCount", defaultValue = "false", required = false) boolean withCount) {
+        CursorPage<UserDTO> result = userService.getList(cursor, size, withCount);
+        return ResponseMaker.ok(result);
+    }
 }
\ No newline at end of file
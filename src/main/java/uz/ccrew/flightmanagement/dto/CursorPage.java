@@ -0,0 +1,12 @@
+package uz.ccrew.flightmanagement.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record CursorPage<T>(List<T> content, String nextCursor, Long approximateCount) {
+    public CursorPage(List<T> content, String nextCursor) {
+        this(content, nextCursor, null);
+    }
+}
@@ -0,0 +1,6 @@
+package uz.ccrew.flightmanagement.dto.leg;
+
+public record FlightLegCountDTO(Long flightNumber,
+                                Long legCount,
+                                Long destinationLegCount) {
+}
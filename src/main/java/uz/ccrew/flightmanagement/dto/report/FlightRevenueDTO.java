@@ -0,0 +1,10 @@
+package uz.ccrew.flightmanagement.dto.report;
+
+import java.time.LocalDateTime;
+
+public record FlightRevenueDTO(Long flightNumber,
+                               LocalDateTime departureDateTime,
+                               Long grossAmount,
+                               Long reversedAmount,
+                               Long netAmount) {
+}
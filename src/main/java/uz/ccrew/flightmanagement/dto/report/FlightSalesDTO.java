@@ -0,0 +1,13 @@
+package uz.ccrew.flightmanagement.dto.report;
+
+import lombok.Builder;
+
+import java.util.List;
+
+@Builder
+public record FlightSalesDTO(Long flightNumber,
+                             Long grossAmount,
+                             Long reversedAmount,
+                             Long netAmount,
+                             List<TravelClassSalesDTO> travelClasses) {
+}
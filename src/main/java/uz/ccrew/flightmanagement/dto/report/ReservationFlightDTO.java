@@ -0,0 +1,5 @@
+package uz.ccrew.flightmanagement.dto.report;
+
+public record ReservationFlightDTO(Long reservationId,
+                                   Long flightNumber) {
+}
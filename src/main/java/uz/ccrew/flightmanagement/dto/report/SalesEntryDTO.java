@@ -0,0 +1,10 @@
+package uz.ccrew.flightmanagement.dto.report;
+
+import uz.ccrew.flightmanagement.enums.TravelClassCode;
+import uz.ccrew.flightmanagement.enums.PaymentStatusCode;
+
+public record SalesEntryDTO(Long reservationId,
+                            TravelClassCode travelClassCode,
+                            PaymentStatusCode paymentStatusCode,
+                            Long paymentAmount) {
+}
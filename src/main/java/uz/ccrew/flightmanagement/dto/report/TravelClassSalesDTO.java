@@ -0,0 +1,14 @@
+package uz.ccrew.flightmanagement.dto.report;
+
+import uz.ccrew.flightmanagement.enums.TravelClassCode;
+
+import lombok.Builder;
+
+@Builder
+public record TravelClassSalesDTO(TravelClassCode travelClassCode,
+                                  Long grossAmount,
+                                  Long reversedAmount,
+                                  Long netAmount,
+                                  Long soldCount,
+                                  Long reversedCount) {
+}
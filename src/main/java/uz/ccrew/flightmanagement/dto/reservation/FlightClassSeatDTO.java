@@ -0,0 +1,8 @@
+package uz.ccrew.flightmanagement.dto.reservation;
+
+import uz.ccrew.flightmanagement.enums.TravelClassCode;
+
+public record FlightClassSeatDTO(Long flightNumber,
+                                 TravelClassCode travelClassCode,
+                                 Long reservedSeats) {
+}
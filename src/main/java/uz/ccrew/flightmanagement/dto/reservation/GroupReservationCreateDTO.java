@@ -0,0 +1,29 @@
+package uz.ccrew.flightmanagement.dto.reservation;
+
+import uz.ccrew.flightmanagement.enums.TicketTypeCode;
+import uz.ccrew.flightmanagement.enums.TravelClassCode;
+import uz.ccrew.flightmanagement.dto.passenger.PassengerCreateDTO;
+
+import lombok.Builder;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Size;
+import jakarta.validation.constraints.NotNull;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Builder
+@Schema(description = "Request body for make group reservation")
+public record GroupReservationCreateDTO(@NotNull(message = "Invalid flight number")
+                                        @Size(min = 1, message = "The flightNumbers list must contain at least 1 flight")
+                                        List<Long> flightNumbers,
+                                        @NotNull(message = "Invalid ticket type code")
+                                        TicketTypeCode ticketTypeCode,
+                                        @NotNull(message = "Invalid travel class code")
+                                        TravelClassCode travelClassCode,
+                                        @NotNull(message = "Invalid booking agent id")
+                                        Integer bookingAgentId,
+                                        @NotNull(message = "Passengers can not be null")
+                                        @Size(min = 1, max = 100, message = "The passengers list must contain from 1 to 100 passengers")
+                                        List<@Valid PassengerCreateDTO> passengers) {
+}
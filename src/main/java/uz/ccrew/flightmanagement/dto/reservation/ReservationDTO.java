@@ -17,5 +17,6 @@ public record ReservationDTO(Long reservationId,
                              TicketTypeCode ticketTypeCode,
                              TravelClassCode travelClassCode,
                              LocalDateTime dateReservationMade,
-                             Integer numberInParty) {
+                             Integer numberInParty,
+                             LocalDateTime holdExpiresAt) {
 }
@@ -3,14 +3,21 @@ package uz.ccrew.flightmanagement.entity;
 import lombok.Getter;
 import lombok.Builder;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import lombok.NoArgsConstructor;
 import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import org.hibernate.annotations.Cache;
+import jakarta.persistence.Cacheable;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Entity
-@Table(name = "airports")
+@Table(name = "airports", indexes = {
+        @Index(name = "airports_i1", columnList = "city, airportCode")})
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "airports")
 @Getter
 @Builder
 @NoArgsConstructor
@@ -26,4 +26,11 @@ public abstract class Auditable {
 
     @LastModifiedDate
     protected LocalDateTime lastModifiedDate;
+
+    protected void copyAuditFrom(Auditable other) {
+        this.createdBy = other.createdBy;
+        this.createdDate = other.createdDate;
+        this.lastModifiedBy = other.lastModifiedBy;
+        this.lastModifiedDate = other.lastModifiedDate;
+    }
 }
\ No newline at end of file
@@ -10,7 +10,8 @@ import java.time.LocalDate;
 import java.io.Serializable;
 
 @Entity
-@Table(name = "flight_costs")
+@Table(name = "flight_costs", indexes = {
+        @Index(name = "flight_costs_i1", columnList = "flight_number, validFromDate, validToDate, flightCost")})
 @Getter
 @Setter
 @Builder
@@ -0,0 +1,53 @@
+package uz.ccrew.flightmanagement.entity;
+
+import uz.ccrew.flightmanagement.enums.TravelClassCode;
+
+import lombok.*;
+import jakarta.persistence.*;
+
+import java.util.Objects;
+import java.io.Serializable;
+
+@Entity
+@Table(name = "flight_sales")
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FlightSales extends Auditable {
+    @EmbeddedId
+    private FlightSalesId id;
+    @Column(nullable = false)
+    private Long grossAmount;
+    @Column(nullable = false)
+    private Long reversedAmount;
+    @Column(nullable = false)
+    private Long soldCount;
+    @Column(nullable = false)
+    private Long reversedCount;
+
+
+    @Embeddable
+    @Getter
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class FlightSalesId implements Serializable {
+        private Long flightNumber;
+        @Enumerated(EnumType.STRING)
+        private TravelClassCode travelClassCode;
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            FlightSalesId that = (FlightSalesId) o;
+            return Objects.equals(flightNumber, that.flightNumber) && Objects.equals(travelClassCode, that.travelClassCode);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(flightNumber, travelClassCode);
+        }
+    }
+}
@@ -9,7 +9,9 @@ import jakarta.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "flight_schedules")
+@Table(name = "flight_schedules", indexes = {
+        @Index(name = "flight_schedules_i1", columnList = "origin_airport_code, departureDateTime"),
+        @Index(name = "flight_schedules_i2", columnList = "destination_airport_code, departureDateTime")})
 @Getter
 @Setter
 @Builder
@@ -17,7 +19,8 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 public class FlightSchedule extends Auditable {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "flight_schedules_seq")
+    @SequenceGenerator(name = "flight_schedules_seq", sequenceName = "flight_schedules_seq", allocationSize = 50)
     private Long flightNumber;
     @Enumerated(EnumType.STRING)
     @Column(nullable = false)
@@ -0,0 +1,47 @@
+package uz.ccrew.flightmanagement.entity;
+
+import uz.ccrew.flightmanagement.enums.TravelClassCode;
+
+import lombok.*;
+import jakarta.persistence.*;
+
+import java.util.Objects;
+import java.io.Serializable;
+
+@Entity
+@Table(name = "flight_seat_counters")
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FlightSeatCounter extends Auditable {
+    @EmbeddedId
+    private FlightSeatCounterId id;
+    @Column(nullable = false)
+    private Integer reservedSeats;
+
+
+    @Embeddable
+    @Getter
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class FlightSeatCounterId implements Serializable {
+        private Long flightNumber;
+        @Enumerated(EnumType.STRING)
+        private TravelClassCode travelClassCode;
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            FlightSeatCounterId that = (FlightSeatCounterId) o;
+            return Objects.equals(flightNumber, that.flightNumber) && Objects.equals(travelClassCode, that.travelClassCode);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(flightNumber, travelClassCode);
+        }
+    }
+}
@@ -7,7 +7,9 @@ import java.io.Serializable;
 import java.util.Objects;
 
 @Entity
-@Table(name = "itinerary_legs")
+@Table(name = "itinerary_legs", indexes = {
+        @Index(name = "itinerary_legs_i1", columnList = "leg_id"),
+        @Index(name = "itinerary_legs_i2", columnList = "reservation_id")})
 @Getter
 @Setter
 @Builder
@@ -22,7 +24,7 @@ public class ItineraryLeg extends Auditable {
     @JoinColumn(name = "reservation_id", foreignKey = @ForeignKey(name = "itinerary_legs_f1"), nullable = false)
     private ItineraryReservation reservation;
 
-    @OneToOne
+    @ManyToOne
     @MapsId("legId")
     @JoinColumn(name = "leg_id", foreignKey = @ForeignKey(name = "itinerary_legs_f2"), nullable = false)
     private Leg leg;
@@ -10,7 +10,9 @@ import jakarta.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "itinerary_reservations")
+@Table(name = "itinerary_reservations", indexes = {
+        @Index(name = "itinerary_reservations_i1", columnList = "reservationStatusCode, travelClassCode"),
+        @Index(name = "itinerary_reservations_i2", columnList = "createdBy, dateReservationMade")})
 @Getter
 @Setter
 @Builder
@@ -18,7 +20,8 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 public class ItineraryReservation extends Auditable {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "itinerary_reservations_seq")
+    @SequenceGenerator(name = "itinerary_reservations_seq", sequenceName = "itinerary_reservations_seq", allocationSize = 50)
     private Long reservationId;
     @ManyToOne
     @JoinColumn(name = "agent_id", foreignKey = @ForeignKey(name = "itinerary_reservations_f1"), nullable = false)
@@ -39,4 +42,6 @@ public class ItineraryReservation extends Auditable {
     private LocalDateTime dateReservationMade;
     @Column
     private Integer numberInParty;
+    @Column
+    private LocalDateTime holdExpiresAt;
 }
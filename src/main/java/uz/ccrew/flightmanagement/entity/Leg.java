@@ -7,7 +7,8 @@ import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "legs", uniqueConstraints = {
-        @UniqueConstraint(name = "legs_u1", columnNames = {"flight_number", "originAirport", "destinationAirport"})})
+        @UniqueConstraint(name = "legs_u1", columnNames = {"flight_number", "originAirport", "destinationAirport"})}, indexes = {
+        @Index(name = "legs_i1", columnList = "flight_number, destinationAirport")})
 @Getter
 @Setter
 @Builder
@@ -15,7 +16,8 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 public class Leg extends Auditable {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "legs_seq")
+    @SequenceGenerator(name = "legs_seq", sequenceName = "legs_seq", allocationSize = 50)
     private Long legId;
     @ManyToOne
     @JoinColumn(name = "flight_number", foreignKey = @ForeignKey(name = "legs_f1"), nullable = false)
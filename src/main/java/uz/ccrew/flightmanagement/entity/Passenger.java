@@ -13,7 +13,8 @@ import jakarta.persistence.*;
 @AllArgsConstructor
 public class Passenger extends Auditable {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "passengers_seq")
+    @SequenceGenerator(name = "passengers_seq", sequenceName = "passengers_seq", allocationSize = 50)
     private Long passengerId;
     @Column(nullable = false)
     private String firstName;
@@ -36,9 +37,9 @@ public class Passenger extends Auditable {
     @Column
     private String otherPassengerDetails;
 
-    @Column(name = "customer_id", nullable = false)
+    @Column(name = "customer_id")
     private Long customerId;
     @OneToOne
-    @JoinColumn(name = "customer_id", foreignKey = @ForeignKey(name = "passengers_f1"), nullable = false, insertable = false, updatable = false)
+    @JoinColumn(name = "customer_id", foreignKey = @ForeignKey(name = "passengers_f1"), insertable = false, updatable = false)
     private User customer;
 }
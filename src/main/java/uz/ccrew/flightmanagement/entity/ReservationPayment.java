@@ -8,7 +8,8 @@ import java.util.Objects;
 import java.io.Serializable;
 
 @Entity
-@Table(name = "reservation_payments")
+@Table(name = "reservation_payments", indexes = {
+        @Index(name = "reservation_payments_i1", columnList = "payment_id")})
 @Getter
 @Setter
 @Builder
@@ -8,12 +8,16 @@ import lombok.Builder;
 import jakarta.persistence.*;
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.util.Objects;
 import java.io.Serializable;
 
 @Entity
 @Table(name = "travel_class_capacity")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "travel-class-capacities")
 @Getter
 @Builder
 @NoArgsConstructor
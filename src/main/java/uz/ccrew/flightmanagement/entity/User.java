@@ -9,6 +9,7 @@ import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "users")
+@EntityListeners(UserChangeListener.class)
 @NoArgsConstructor
 @Getter
 @Setter
@@ -16,7 +17,8 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 public class User extends Auditable {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "users_seq")
+    @SequenceGenerator(name = "users_seq", sequenceName = "users_seq", allocationSize = 50)
     private Long id;
     @Column(unique = true, nullable = false)
     private String login;
@@ -32,4 +34,17 @@ public class User extends Auditable {
 
     @Column(nullable = false)
     private Long cashbackAmount;
+
+    public User copy() {
+        User copy = User.builder()
+                .id(id)
+                .login(login)
+                .password(password)
+                .role(role)
+                .credentialsModifiedDate(credentialsModifiedDate)
+                .cashbackAmount(cashbackAmount)
+                .build();
+        copy.copyAuditFrom(this);
+        return copy;
+    }
 }
\ No newline at end of file
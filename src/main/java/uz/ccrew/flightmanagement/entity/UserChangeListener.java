@@ -0,0 +1,26 @@
+package uz.ccrew.flightmanagement.entity;
+
+import uz.ccrew.flightmanagement.util.TransactionUtil;
+import uz.ccrew.flightmanagement.security.user.PrincipalCache;
+
+import lombok.RequiredArgsConstructor;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Drops the cached principal of a user once a change to it commits, whichever service made the change.
+ */
+@Component
+@RequiredArgsConstructor
+public class UserChangeListener {
+    private final PrincipalCache principalCache;
+    private final TransactionUtil transactionUtil;
+
+    @PostUpdate
+    @PostRemove
+    public void onChange(User user) {
+        Long userId = user.getId();
+        transactionUtil.afterCommit(() -> principalCache.evict(userId));
+    }
+}
@@ -0,0 +1,12 @@
+package uz.ccrew.flightmanagement.enums;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
+public enum ManifestFormat {
+    NDJSON("application/x-ndjson"), CSV("text/csv");
+
+    private final String contentType;
+}
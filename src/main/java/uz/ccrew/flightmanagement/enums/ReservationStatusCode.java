@@ -1,5 +1,5 @@
 package uz.ccrew.flightmanagement.enums;
 
 public enum ReservationStatusCode {
-    CREATED, CANCELED, CONFIRMED, REVERSED
+    CREATED, CANCELED, CONFIRMED, REVERSED, EXPIRED
 }
@@ -0,0 +1,14 @@
+package uz.ccrew.flightmanagement.exp;
+
+import org.springframework.http.HttpStatus;
+
+public class ServiceUnavailableException extends BasicException {
+    public ServiceUnavailableException(String message) {
+        super(message);
+    }
+
+    @Override
+    public HttpStatus getStatus() {
+        return HttpStatus.SERVICE_UNAVAILABLE;
+    }
+}
@@ -28,6 +28,7 @@ public class ReservationMapper implements Mapper<Object, ReservationDTO, Itinera
                 .travelClassCode(entity.getTravelClassCode())
                 .dateReservationMade(entity.getDateReservationMade())
                 .numberInParty(entity.getNumberInParty())
+                .holdExpiresAt(entity.getHoldExpiresAt())
                 .build();
     }
 }
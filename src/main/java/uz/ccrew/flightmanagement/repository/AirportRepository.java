@@ -2,21 +2,30 @@ package uz.ccrew.flightmanagement.repository;
 
 import uz.ccrew.flightmanagement.entity.Airport;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.stereotype.Repository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface AirportRepository extends BasicRepository<Airport, String> {
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "reference-queries")})
     Optional<Airport> findByAirportCode(String airportCode);
 
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "reference-queries")})
     @Query(""" 
             select distinct w.city
               from Airport w
             """)
     List<String> getCityList();
 
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "reference-queries")})
     Optional<Airport> findFirstByCity(String city);
 }
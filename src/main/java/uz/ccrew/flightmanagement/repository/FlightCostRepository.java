@@ -1,11 +1,24 @@
 package uz.ccrew.flightmanagement.repository;
 
 import uz.ccrew.flightmanagement.entity.FlightCost;
+import uz.ccrew.flightmanagement.dto.flightcost.FlightCostDTO;
+
+import org.springframework.data.jpa.repository.Query;
 
 import java.util.List;
-import java.time.LocalDate;
+import java.util.Collection;
 
 public interface FlightCostRepository extends BasicRepository<FlightCost, FlightCost.FlightCostsId> {
-    List<FlightCost> findByFlightSchedule_FlightNumberAndId_ValidFromDateLessThanEqualAndValidToDateGreaterThanEqual(Long flightSchedule_flightNumber, LocalDate validToDate, LocalDate validToDate2);
-}
+    @Query("""
+            select new uz.ccrew.flightmanagement.dto.flightcost.FlightCostDTO(w.id.flightNumber, w.id.aircraftTypeCode, w.id.validFromDate, w.validToDate, w.flightCost)
+              from FlightCost w
+            """)
+    List<FlightCostDTO> findAllCosts();
 
+    @Query("""
+            select new uz.ccrew.flightmanagement.dto.flightcost.FlightCostDTO(w.id.flightNumber, w.id.aircraftTypeCode, w.id.validFromDate, w.validToDate, w.flightCost)
+              from FlightCost w
+             where w.id.flightNumber in ?1
+            """)
+    List<FlightCostDTO> findCostsByFlightNumbers(Collection<Long> flightNumbers);
+}
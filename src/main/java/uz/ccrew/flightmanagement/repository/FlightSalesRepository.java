@@ -0,0 +1,71 @@
+package uz.ccrew.flightmanagement.repository;
+
+import uz.ccrew.flightmanagement.entity.FlightSales;
+import uz.ccrew.flightmanagement.enums.TravelClassCode;
+import uz.ccrew.flightmanagement.dto.report.FlightRevenueDTO;
+
+import org.springframework.data.domain.Pageable;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.Modifying;
+
+import java.util.List;
+import java.time.LocalDateTime;
+
+public interface FlightSalesRepository extends BasicRepository<FlightSales, FlightSales.FlightSalesId> {
+    List<FlightSales> findById_FlightNumber(Long flightNumber);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("""
+            select s
+              from FlightSales s
+             order by s.id.flightNumber, s.id.travelClassCode
+            """)
+    List<FlightSales> findAllForUpdate();
+
+    @Query("""
+            select coalesce(sum(s.grossAmount - s.reversedAmount), 0)
+              from FlightSales s
+             where s.id.flightNumber = ?1
+            """)
+    Long getNetAmountByFlightNumber(Long flightNumber);
+
+    @Modifying
+    @Query(value = """
+            insert into flight_sales (flight_number, travel_class_code, gross_amount, reversed_amount, sold_count, reversed_count)
+            values (?1, ?2, 0, 0, 0, 0)
+            """, nativeQuery = true)
+    void insertEmpty(Long flightNumber, String travelClassCode);
+
+    @Modifying
+    @Query("""
+            update FlightSales s
+               set s.grossAmount = s.grossAmount + ?3,
+                   s.soldCount = s.soldCount + 1
+             where s.id.flightNumber = ?1
+               and s.id.travelClassCode = ?2
+            """)
+    int addSale(Long flightNumber, TravelClassCode travelClassCode, Long amount);
+
+    @Modifying
+    @Query("""
+            update FlightSales s
+               set s.reversedAmount = s.reversedAmount + ?3,
+                   s.reversedCount = s.reversedCount + 1
+             where s.id.flightNumber = ?1
+               and s.id.travelClassCode = ?2
+            """)
+    int addReversal(Long flightNumber, TravelClassCode travelClassCode, Long amount);
+
+    @Query("""
+            select new uz.ccrew.flightmanagement.dto.report.FlightRevenueDTO(f.flightNumber, f.departureDateTime, sum(s.grossAmount), sum(s.reversedAmount), sum(s.grossAmount - s.reversedAmount))
+              from FlightSales s
+              join FlightSchedule f on f.flightNumber = s.id.flightNumber
+             where f.departureDateTime >= ?1
+               and f.departureDateTime < ?2
+             group by f.flightNumber, f.departureDateTime
+             order by sum(s.grossAmount - s.reversedAmount) desc, f.flightNumber asc
+            """)
+    List<FlightRevenueDTO> findTopFlightsByRevenue(LocalDateTime from, LocalDateTime to, Pageable pageable);
+}
@@ -1,7 +1,6 @@
 package uz.ccrew.flightmanagement.repository;
 
 import uz.ccrew.flightmanagement.entity.FlightSchedule;
-import uz.ccrew.flightmanagement.dto.flightSchedule.RoundTrip;
 import uz.ccrew.flightmanagement.dto.flightSchedule.FlightScheduleReportDTO;
 
 import org.springframework.data.domain.Page;
@@ -15,6 +14,16 @@ import java.time.LocalDateTime;
 
 @Repository
 public interface FlightScheduleRepository extends BasicRepository<FlightSchedule, Long> {
+    List<FlightSchedule> findByDepartureDateTimeAfter(LocalDateTime departureDateTime);
+
+    @Query(value = """
+            select flight_number
+              from flight_schedules
+             where flight_number = ?1
+               for update
+            """, nativeQuery = true)
+    Long lockById(Long flightNumber);
+
     @Query("""
             select distinct new uz.ccrew.flightmanagement.dto.flightSchedule.FlightScheduleReportDTO(fs.flightNumber,fs.departureDateTime,fs.arrivalDateTime,l.actualDepartureTime,l.actualArrivalTime)
               from FlightSchedule fs
@@ -35,86 +44,115 @@ public interface FlightScheduleRepository extends BasicRepository<FlightSchedule
             """)
     Page<FlightScheduleReportDTO> findDelayedFlights(Pageable pageable);
 
-    @Query(value = """ 
-            select * 
-              from flight_schedules as w 
-             where w.origin_airport_code = ?1
-             order by  abs(extract(epoch from (departure_date_time - now()))) asc
-             """,
-            nativeQuery = true)
-    Page<FlightSchedule> findByAirportCode(String airportCode, Pageable pageable);
+    @Query("""
+            select distinct new uz.ccrew.flightmanagement.dto.flightSchedule.FlightScheduleReportDTO(fs.flightNumber,fs.departureDateTime,fs.arrivalDateTime,l.actualDepartureTime,l.actualArrivalTime)
+              from FlightSchedule fs
+              join Leg l on fs.flightNumber = l.flightSchedule.flightNumber
+             where fs.departureDateTime = l.actualDepartureTime
+               and fs.arrivalDateTime = l.actualArrivalTime
+               and l.originAirport = fs.originAirport.airportCode
+               and fs.departureDateTime <= ?1
+               and (fs.departureDateTime < ?1 or fs.flightNumber < ?2)
+             order by fs.departureDateTime desc, fs.flightNumber desc
+            """)
+    List<FlightScheduleReportDTO> findOnTimeFlightsBefore(LocalDateTime departureDateTime, Long flightNumber, Pageable pageable);
+
+    @Query(value = """
+            select count(*)
+              from (select distinct fs.flight_number
+                      from flight_schedules fs
+                      join legs l on l.flight_number = fs.flight_number
+                     where fs.departure_date_time = l.actual_departure_time
+                       and fs.arrival_date_time = l.actual_arrival_time
+                       and l.origin_airport = fs.origin_airport_code
+                     limit ?1) t
+            """, nativeQuery = true)
+    long countOnTimeFlights(int limit);
+
+    @Query("""
+            select distinct new uz.ccrew.flightmanagement.dto.flightSchedule.FlightScheduleReportDTO(fs.flightNumber, fs.departureDateTime,fs.arrivalDateTime,l.actualDepartureTime,l.actualArrivalTime)
+              from FlightSchedule fs
+              join Leg l on fs.flightNumber = l.flightSchedule.flightNumber
+             where l.originAirport = fs.originAirport.airportCode
+               and ((l.actualDepartureTime is not null and fs.departureDateTime < l.actualDepartureTime)
+                     or (l.actualArrivalTime is not null and fs.arrivalDateTime < l.actualArrivalTime))
+               and fs.departureDateTime <= ?1
+               and (fs.departureDateTime < ?1 or fs.flightNumber < ?2)
+             order by fs.departureDateTime desc, fs.flightNumber desc
+            """)
+    List<FlightScheduleReportDTO> findDelayedFlightsBefore(LocalDateTime departureDateTime, Long flightNumber, Pageable pageable);
+
+    @Query(value = """
+            select count(*)
+              from (select distinct fs.flight_number
+                      from flight_schedules fs
+                      join legs l on l.flight_number = fs.flight_number
+                     where l.origin_airport = fs.origin_airport_code
+                       and ((l.actual_departure_time is not null and fs.departure_date_time < l.actual_departure_time)
+                             or (l.actual_arrival_time is not null and fs.arrival_date_time < l.actual_arrival_time))
+                     limit ?1) t
+            """, nativeQuery = true)
+    long countDelayedFlights(int limit);
 
     @Query("""
             select w
               from FlightSchedule w
-             where date(w.departureDateTime) = ?3
-               and w.originAirport.city = ?1
-               and w.destinationAirport.city = ?2
-               and exists (select 1 from Leg l
-                            where l.flightSchedule = w
-                              and l.destinationAirport = w.destinationAirport.airportCode)
-               and exists (select 1 from FlightCost c
-                            where c.flightSchedule.flightNumber= w.flightNumber
-                              and CURRENT_TIMESTAMP between c.id.validFromDate and c.validToDate)
-             """)
-    List<FlightSchedule> findOneWay(String departureCity, String arrivalCity, LocalDate departureDate);
+             where w.createdDate <= ?1
+               and (w.createdDate < ?1 or w.flightNumber < ?2)
+             order by w.createdDate desc, w.flightNumber desc
+            """)
+    List<FlightSchedule> findCreatedBefore(LocalDateTime createdDate, Long flightNumber, Pageable pageable);
+
+    @Query(value = "select count(*) from (select 1 from flight_schedules limit ?1) t", nativeQuery = true)
+    long countFlights(int limit);
+
+    @Query(value = """
+            select *
+              from flight_schedules as w
+             where w.origin_airport_code = ?1
+             order by abs(extract(epoch from (departure_date_time - now()))) asc
+            """,
+            nativeQuery = true)
+    Page<FlightSchedule> findByAirportCode(String airportCode, Pageable pageable);
 
     @Query("""
-            select new uz.ccrew.flightmanagement.dto.flightSchedule.RoundTrip(w, f)
+            select w
               from FlightSchedule w
-              join FlightSchedule f
-                on f.airlineCode = w.airlineCode
-             where w.flightNumber != f.flightNumber
-               and w.departureDateTime < f.departureDateTime
-               and date(w.departureDateTime) = ?3
-               and date(f.departureDateTime) = ?4
-               and w.originAirport.city = ?1
-               and w.destinationAirport.city = ?2
-               and f.originAirport.city = w.destinationAirport.city
-               and f.destinationAirport.city = w.originAirport.city
-               and exists (select 1 from Leg l
-                            where l.flightSchedule = w
-                              and l.destinationAirport = w.destinationAirport.airportCode)
-               and exists (select 1 from FlightCost c
-                            where c.flightSchedule.flightNumber= w.flightNumber
-                              and CURRENT_TIMESTAMP between c.id.validFromDate and c.validToDate)
-               and exists (select 1 from Leg l
-                            where l.flightSchedule = f
-                              and l.destinationAirport = f.destinationAirport.airportCode)
-               and exists (select 1 from FlightCost c
-                            where c.flightSchedule.flightNumber= f.flightNumber
-                              and CURRENT_TIMESTAMP between c.id.validFromDate and c.validToDate)
-             """)
-    List<RoundTrip> findRoundTrip(String departureCity, String s1, LocalDate localDate, LocalDate localDate1);
+             where w.originAirport.airportCode = ?1
+               and w.departureDateTime >= ?2
+               and (w.departureDateTime > ?2 or w.flightNumber > ?3)
+             order by w.departureDateTime asc, w.flightNumber asc
+            """)
+    List<FlightSchedule> findUpcomingByAirportCode(String airportCode, LocalDateTime departureDateTime, Long flightNumber, Pageable pageable);
 
     @Query("""
             select w
               from FlightSchedule w
-             where w.originAirport.city = ?1
-               and w.departureDateTime between ?2 and ?3
-               and exists (select 1
-                             from Leg l
-                            where l.flightSchedule = w
-                              and l.destinationAirport = w.destinationAirport.airportCode)
-               and exists (select 1
-                             from FlightCost c
-                            where c.flightSchedule.flightNumber= w.flightNumber
-                              and CURRENT_TIMESTAMP between c.id.validFromDate and c.validToDate)
+             where w.originAirport.airportCode = ?1
+               and w.departureDateTime <= ?2
+               and (w.departureDateTime < ?2 or w.flightNumber < ?3)
+             order by w.departureDateTime desc, w.flightNumber desc
             """)
-    List<FlightSchedule> findByOriginAirportCityAndTimeConstraints(String city, LocalDateTime minDepartureDate, LocalDateTime maxDepartureDate);
+    List<FlightSchedule> findPastByAirportCode(String airportCode, LocalDateTime departureDateTime, Long flightNumber, Pageable pageable);
 
     @Query("""
             select w
               from FlightSchedule w
              where w.originAirport.city = ?1
-               and exists (select 1
-                             from Leg l
+               and w.departureDateTime >= ?3
+               and w.departureDateTime < ?4
+               and w.destinationAirport.city = ?2
+               and exists (select 1 from Leg l
                             where l.flightSchedule = w
                               and l.destinationAirport = w.destinationAirport.airportCode)
-               and exists (select 1
-                             from FlightCost c
+               and exists (select 1 from FlightCost c
                             where c.flightSchedule.flightNumber= w.flightNumber
-                              and CURRENT_TIMESTAMP between c.id.validFromDate and c.validToDate)
-            """)
-    List<FlightSchedule> findByOriginAirportCity(String city);
+                              and c.id.validFromDate <= CURRENT_DATE
+                              and c.validToDate >= CURRENT_DATE)
+             """)
+    List<FlightSchedule> findOneWay(String departureCity, String arrivalCity, LocalDateTime minDepartureDate, LocalDateTime maxDepartureDate);
+
+    default List<FlightSchedule> findOneWay(String departureCity, String arrivalCity, LocalDate departureDate) {
+        return findOneWay(departureCity, arrivalCity, departureDate.atStartOfDay(), departureDate.plusDays(1).atStartOfDay());
+    }
 }
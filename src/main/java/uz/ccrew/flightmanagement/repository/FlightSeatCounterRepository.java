@@ -0,0 +1,56 @@
+package uz.ccrew.flightmanagement.repository;
+
+import uz.ccrew.flightmanagement.enums.TravelClassCode;
+import uz.ccrew.flightmanagement.entity.FlightSeatCounter;
+
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.Modifying;
+
+public interface FlightSeatCounterRepository extends BasicRepository<FlightSeatCounter, FlightSeatCounter.FlightSeatCounterId> {
+    @Modifying
+    @Query("""
+            update FlightSeatCounter s
+               set s.reservedSeats = s.reservedSeats + ?3
+             where s.id.flightNumber = ?1
+               and s.id.travelClassCode = ?2
+               and s.reservedSeats + ?3 <= ?4
+            """)
+    int reserve(Long flightNumber, TravelClassCode travelClassCode, int seats, int totalSeats);
+
+    @Modifying
+    @Query("""
+            update FlightSeatCounter s
+               set s.reservedSeats = s.reservedSeats - 1
+             where s.id.flightNumber = ?1
+               and s.id.travelClassCode = ?2
+               and s.reservedSeats > 0
+            """)
+    int release(Long flightNumber, TravelClassCode travelClassCode);
+
+    @Modifying
+    @Query("""
+            update FlightSeatCounter s
+               set s.reservedSeats = case when s.reservedSeats > ?3 then s.reservedSeats - ?3 else 0 end
+             where s.id.flightNumber = ?1
+               and s.id.travelClassCode = ?2
+            """)
+    int release(Long flightNumber, TravelClassCode travelClassCode, int seats);
+
+    @Modifying
+    @Query("""
+            update FlightSeatCounter s
+               set s.reservedSeats = (select cast(count(distinct w.reservation.reservationId) as Integer)
+                                        from ItineraryLeg w
+                                       where w.leg.flightSchedule.flightNumber = s.id.flightNumber
+                                         and w.reservation.travelClassCode = s.id.travelClassCode
+                                         and (w.reservation.reservationStatusCode = 'CONFIRMED'
+                                              or (w.reservation.reservationStatusCode = 'CREATED' and w.reservation.holdExpiresAt is not null)))
+             where s.reservedSeats <> (select cast(count(distinct w.reservation.reservationId) as Integer)
+                                         from ItineraryLeg w
+                                        where w.leg.flightSchedule.flightNumber = s.id.flightNumber
+                                          and w.reservation.travelClassCode = s.id.travelClassCode
+                                          and (w.reservation.reservationStatusCode = 'CONFIRMED'
+                                               or (w.reservation.reservationStatusCode = 'CREATED' and w.reservation.holdExpiresAt is not null)))
+            """)
+    int recount();
+}
@@ -2,35 +2,64 @@ package uz.ccrew.flightmanagement.repository;
 
 import uz.ccrew.flightmanagement.entity.ItineraryLeg;
 import uz.ccrew.flightmanagement.entity.FlightSchedule;
-import uz.ccrew.flightmanagement.dto.reservation.TravelClassSeatDTO;
+import uz.ccrew.flightmanagement.enums.ReservationStatusCode;
+import uz.ccrew.flightmanagement.dto.report.ReservationFlightDTO;
+import uz.ccrew.flightmanagement.dto.reservation.FlightClassSeatDTO;
 
 import org.springframework.data.jpa.repository.Query;
-import org.springframework.data.repository.query.Param;
 
 import java.util.List;
+import java.util.Collection;
 
 public interface ItineraryLegRepository extends BasicRepository<ItineraryLeg, Long> {
     @Query("""
-            select new uz.ccrew.flightmanagement.dto.reservation.TravelClassSeatDTO(w.reservation.travelClassCode, (count(*) / ?2) )
+            select new uz.ccrew.flightmanagement.dto.reservation.FlightClassSeatDTO(w.leg.flightSchedule.flightNumber, w.reservation.travelClassCode, count(distinct w.reservation.reservationId))
               from ItineraryLeg w
-             where w.leg.flightSchedule.flightNumber = ?1
-               and w.reservation.reservationStatusCode = 'CONFIRMED'
-             group by w.reservation.travelClassCode
+             where (w.reservation.reservationStatusCode = 'CONFIRMED'
+                    or (w.reservation.reservationStatusCode = 'CREATED' and w.reservation.holdExpiresAt is not null))
+             group by w.leg.flightSchedule.flightNumber, w.reservation.travelClassCode
             """)
-    List<TravelClassSeatDTO> getTravelClassReservedSeatsByFlight(Long flightNumber, int legCount);
+    List<FlightClassSeatDTO> getReservedSeats();
 
     @Query("""
-            select w.leg.flightSchedule from ItineraryLeg w
+            select new uz.ccrew.flightmanagement.dto.reservation.FlightClassSeatDTO(w.leg.flightSchedule.flightNumber, w.reservation.travelClassCode, count(distinct w.reservation.reservationId))
+              from ItineraryLeg w
+             where w.leg.flightSchedule.flightNumber in ?1
+               and (w.reservation.reservationStatusCode = 'CONFIRMED'
+                    or (w.reservation.reservationStatusCode = 'CREATED' and w.reservation.holdExpiresAt is not null))
+             group by w.leg.flightSchedule.flightNumber, w.reservation.travelClassCode
+            """)
+    List<FlightClassSeatDTO> getReservedSeatsByFlights(Collection<Long> flightNumbers);
+
+    @Query("""
+            select new uz.ccrew.flightmanagement.dto.reservation.FlightClassSeatDTO(w.leg.flightSchedule.flightNumber, w.reservation.travelClassCode, count(distinct w.reservation.reservationId))
+              from ItineraryLeg w
+             where w.reservation.reservationId in ?1
+               and w.reservation.reservationStatusCode = ?2
+             group by w.leg.flightSchedule.flightNumber, w.reservation.travelClassCode
+            """)
+    List<FlightClassSeatDTO> getSeatsByReservations(Collection<Long> reservationIds, ReservationStatusCode reservationStatusCode);
+
+    @Query("""
+            select distinct w.leg.flightSchedule.flightNumber
+              from ItineraryLeg w
              where w.reservation.reservationId = ?1
-             order by w.leg.flightSchedule.departureDateTime asc
             """)
-    List<FlightSchedule> findFlightByReservationId(Long reservationId);
+    List<Long> findFlightNumbersByReservationId(Long reservationId);
 
     @Query("""
-            select sum(rp.payment.paymentAmount) from ItineraryLeg w
-              join ReservationPayment rp on rp.reservation = w.reservation
-             where w.leg.flightSchedule.flightNumber = ?1
+            select distinct new uz.ccrew.flightmanagement.dto.report.ReservationFlightDTO(w.reservation.reservationId, w.leg.flightSchedule.flightNumber)
+              from ItineraryLeg w
+             where w.reservation.reservationId in (select rp.reservation.reservationId
+                                                     from ReservationPayment rp
+                                                    where rp.payment.paymentStatusCode in ('PAYED', 'REVERSED'))
             """)
-    Long calculateTotalSalesByFlightNumber(@Param("flightNumber") Long flightNumber);
+    List<ReservationFlightDTO> findSettledReservationFlights();
 
+    @Query("""
+            select w.leg.flightSchedule from ItineraryLeg w
+             where w.reservation.reservationId = ?1
+             order by w.leg.flightSchedule.departureDateTime asc
+            """)
+    List<FlightSchedule> findFlightByReservationId(Long reservationId);
 }
@@ -1,13 +1,34 @@
 package uz.ccrew.flightmanagement.repository;
 
 import uz.ccrew.flightmanagement.entity.Leg;
+import uz.ccrew.flightmanagement.dto.leg.FlightLegCountDTO;
+
+import org.springframework.data.jpa.repository.Query;
 
 import java.util.List;
+import java.util.Collection;
 
 public interface LegRepository extends BasicRepository<Leg, Long> {
     boolean existsByFlightSchedule_FlightNumberAndOriginAirportAndDestinationAirport(Long flightNumber, String originAirport, String destinationAirport);
 
     List<Leg> findAllByFlightSchedule_FlightNumber(Long flightNumber);
 
-    int countByFlightSchedule_FlightNumber(Long flightNumber);
+    List<Leg> findAllByFlightSchedule_FlightNumberIn(Collection<Long> flightNumbers);
+
+    @Query("""
+            select new uz.ccrew.flightmanagement.dto.leg.FlightLegCountDTO(l.flightSchedule.flightNumber, count(l),
+                   sum(case when l.destinationAirport = l.flightSchedule.destinationAirport.airportCode then 1 else 0 end))
+              from Leg l
+             group by l.flightSchedule.flightNumber
+            """)
+    List<FlightLegCountDTO> getLegCounts();
+
+    @Query("""
+            select new uz.ccrew.flightmanagement.dto.leg.FlightLegCountDTO(l.flightSchedule.flightNumber, count(l),
+                   sum(case when l.destinationAirport = l.flightSchedule.destinationAirport.airportCode then 1 else 0 end))
+              from Leg l
+             where l.flightSchedule.flightNumber in ?1
+             group by l.flightSchedule.flightNumber
+            """)
+    List<FlightLegCountDTO> getLegCountsByFlightNumbers(Collection<Long> flightNumbers);
 }
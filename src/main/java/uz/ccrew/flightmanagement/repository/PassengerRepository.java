@@ -2,7 +2,9 @@ package uz.ccrew.flightmanagement.repository;
 
 import uz.ccrew.flightmanagement.entity.Passenger;
 
+import java.util.List;
 import java.util.Optional;
+import java.util.Collection;
 
 public interface PassengerRepository extends BasicRepository<Passenger, Long> {
     boolean existsByCustomerId(Long customerId);
@@ -10,4 +12,6 @@ public interface PassengerRepository extends BasicRepository<Passenger, Long> {
     Optional<Passenger> findByCustomer_Id(Long customerId);
 
     Optional<Passenger> findByFirstNameAndSecondNameAndLastNameAndPhoneNumber(String firstName, String secondName, String lastName, String phoneNumber);
+
+    List<Passenger> findAllByPhoneNumberIn(Collection<String> phoneNumbers);
 }
@@ -3,6 +3,7 @@ package uz.ccrew.flightmanagement.repository;
 import uz.ccrew.flightmanagement.entity.Payment;
 import uz.ccrew.flightmanagement.entity.ReservationPayment;
 import uz.ccrew.flightmanagement.entity.ItineraryReservation;
+import uz.ccrew.flightmanagement.dto.report.SalesEntryDTO;
 
 import org.springframework.data.jpa.repository.Query;
 
@@ -31,4 +32,18 @@ public interface ReservationPaymentRepository extends BasicRepository<Reservatio
              where w.payment.paymentId = ?1
             """)
     Long findReservationOwnerByPaymentId(UUID paymentId);
+
+    @Query("""
+            select new uz.ccrew.flightmanagement.dto.report.SalesEntryDTO(w.reservation.reservationId, w.reservation.travelClassCode, w.payment.paymentStatusCode, w.payment.paymentAmount)
+              from ReservationPayment w
+             where w.payment.paymentId = ?1
+            """)
+    List<SalesEntryDTO> findSalesEntriesByPaymentId(UUID paymentId);
+
+    @Query("""
+            select new uz.ccrew.flightmanagement.dto.report.SalesEntryDTO(w.reservation.reservationId, w.reservation.travelClassCode, w.payment.paymentStatusCode, w.payment.paymentAmount)
+              from ReservationPayment w
+             where w.payment.paymentStatusCode in ('PAYED', 'REVERSED')
+            """)
+    List<SalesEntryDTO> findSettledSalesEntries();
 }
@@ -7,12 +7,28 @@ import uz.ccrew.flightmanagement.entity.ItineraryReservation;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.Modifying;
 
 import java.util.List;
+import java.util.Collection;
+import java.time.LocalDateTime;
 
 public interface ReservationRepository extends BasicRepository<ItineraryReservation, Long> {
     Page<ItineraryReservation> findByCreatedBy(Long customerId, Pageable pageable);
 
+    @Query("""
+            select r
+              from ItineraryReservation r
+             where r.createdBy = ?1
+               and r.dateReservationMade <= ?2
+               and (r.dateReservationMade < ?2 or r.reservationId < ?3)
+             order by r.dateReservationMade desc, r.reservationId desc
+            """)
+    List<ItineraryReservation> findByCreatedByBefore(Long customerId, LocalDateTime dateReservationMade, Long reservationId, Pageable pageable);
+
+    @Query(value = "select count(*) from (select 1 from itinerary_reservations where created_by = ?1 limit ?2) t", nativeQuery = true)
+    long countByCreatedBy(Long customerId, int limit);
+
     @Query("""
             select l.reservation.passenger
               from ItineraryLeg l
@@ -20,7 +36,34 @@ public interface ReservationRepository extends BasicRepository<ItineraryReservat
                and l.reservation.reservationStatusCode = 'CONFIRMED'
              order by l.reservation.dateReservationMade
             """)
-    Page<Passenger> findPassengersWithReservedSeatsOnFlight(String flightNumber, Pageable pageable);
+    Page<Passenger> findPassengersWithReservedSeatsOnFlight(Long flightNumber, Pageable pageable);
+
+    @Query("""
+            select r
+              from ItineraryReservation r
+              join fetch r.passenger
+             where r.reservationStatusCode = 'CONFIRMED'
+               and r.dateReservationMade >= ?2
+               and (r.dateReservationMade > ?2 or r.reservationId > ?3)
+               and exists (select 1
+                             from ItineraryLeg l
+                            where l.reservation = r
+                              and l.leg.flightSchedule.flightNumber = ?1)
+             order by r.dateReservationMade asc, r.reservationId asc
+            """)
+    List<ItineraryReservation> findConfirmedOnFlightAfter(Long flightNumber, LocalDateTime dateReservationMade, Long reservationId, Pageable pageable);
+
+    @Query(value = """
+            select count(*)
+              from (select distinct il.reservation_id
+                      from itinerary_legs il
+                      join legs l on l.leg_id = il.leg_id
+                      join itinerary_reservations r on r.reservation_id = il.reservation_id
+                     where l.flight_number = ?1
+                       and r.reservation_status_code = 'CONFIRMED'
+                     limit ?2) t
+            """, nativeQuery = true)
+    long countConfirmedOnFlight(Long flightNumber, int limit);
 
     @Query("""
             select distinct l.leg.flightSchedule
@@ -29,4 +72,52 @@ public interface ReservationRepository extends BasicRepository<ItineraryReservat
                and l.reservation.createdBy = ?2
             """)
     List<FlightSchedule> getFlightListByReservationId(Long reservationId, Long createdBY);
+
+    @Query(value = """
+            select r.reservation_id
+              from itinerary_reservations r
+             where r.reservation_status_code = 'CREATED'
+               and r.hold_expires_at < ?1
+             order by r.hold_expires_at
+             limit ?2
+               for update skip locked
+            """, nativeQuery = true)
+    List<Long> lockExpiredHoldIds(LocalDateTime now, int limit);
+
+    @Query("""
+            select min(r.holdExpiresAt)
+              from ItineraryReservation r
+             where r.reservationStatusCode = 'CREATED'
+               and r.holdExpiresAt < ?1
+            """)
+    LocalDateTime findOldestExpiredHold(LocalDateTime now);
+
+    @Modifying
+    @Query("""
+            update ItineraryReservation r
+               set r.reservationStatusCode = uz.ccrew.flightmanagement.enums.ReservationStatusCode.EXPIRED
+             where r.reservationId in ?1
+               and r.reservationStatusCode = 'CREATED'
+               and r.holdExpiresAt < ?2
+            """)
+    int expireHolds(Collection<Long> reservationIds, LocalDateTime now);
+
+    @Modifying
+    @Query("""
+            update ItineraryReservation r
+               set r.reservationStatusCode = uz.ccrew.flightmanagement.enums.ReservationStatusCode.CONFIRMED
+             where r.reservationId = ?1
+               and r.reservationStatusCode = 'CREATED'
+               and r.holdExpiresAt >= ?2
+            """)
+    int confirmHold(Long reservationId, LocalDateTime now);
+
+    @Modifying
+    @Query("""
+            update ItineraryReservation r
+               set r.reservationStatusCode = uz.ccrew.flightmanagement.enums.ReservationStatusCode.CANCELED
+             where r.reservationId = ?1
+               and r.reservationStatusCode = 'CREATED'
+            """)
+    int cancelCreated(Long reservationId);
 }
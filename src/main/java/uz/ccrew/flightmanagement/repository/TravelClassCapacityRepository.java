@@ -4,9 +4,12 @@ import uz.ccrew.flightmanagement.enums.TravelClassCode;
 import uz.ccrew.flightmanagement.enums.AircraftTypeCode;
 import uz.ccrew.flightmanagement.entity.TravelClassCapacity;
 
-import java.util.List;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.QueryHints;
 
 public interface TravelClassCapacityRepository extends BasicRepository<TravelClassCapacity, TravelClassCapacity.TravelClassCapacityId> {
-    List<TravelClassCapacity> findById_AircraftTypeCode(AircraftTypeCode aircraftTypeCode);
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "reference-queries")})
     boolean existsById_AircraftTypeCodeAndId_TravelClassCode(AircraftTypeCode aircraftTypeCode, TravelClassCode classCode);
 }
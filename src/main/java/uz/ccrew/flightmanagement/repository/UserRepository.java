@@ -2,8 +2,17 @@ package uz.ccrew.flightmanagement.repository;
 
 import uz.ccrew.flightmanagement.entity.User;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.List;
 import java.util.Optional;
 
 public interface UserRepository extends BasicRepository<User, Long> {
     Optional<User> findByLogin(String login);
+
+    List<User> findByIdLessThanOrderByIdDesc(Long id, Pageable pageable);
+
+    @Query(value = "select count(*) from (select 1 from users limit ?1) t", nativeQuery = true)
+    long countUsers(int limit);
 }
\ No newline at end of file
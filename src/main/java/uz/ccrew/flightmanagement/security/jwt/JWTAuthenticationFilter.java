@@ -43,18 +43,19 @@ public class JWTAuthenticationFilter extends OncePerRequestFilter {
         try {
             final String token = bearerToken.substring(7);
 
-            if (jwtService.isTokenExpired(token)) {
-                exceptionResolver.resolveException(request, response, null, new TokenExpiredException(jwtService.getTokenExpiredMessage(token)));
+            VerifiedToken verifiedToken;
+            try {
+                if (request.getRequestURI().equals("/api/v1/auth/refresh")) {
+                    verifiedToken = jwtService.verifyRefreshToken(token);
+                } else {
+                    verifiedToken = jwtService.verifyAccessToken(token);
+                }
+            } catch (TokenExpiredException e) {
+                exceptionResolver.resolveException(request, response, null, e);
                 return;
             }
 
-            String login;
-            if (request.getRequestURI().equals("/api/v1/auth/refresh")) {
-                login = jwtService.extractRefreshTokenLogin(token);
-            } else {
-                login = jwtService.extractAccessTokenLogin(token);
-            }
-
+            String login = verifiedToken.subject();
             if (login == null || SecurityContextHolder.getContext() == null) {
                 filterChain.doFilter(request, response);
                 return;
@@ -64,7 +65,7 @@ public class JWTAuthenticationFilter extends OncePerRequestFilter {
             LocalDateTime modifiedDate = userDetails.getUser().getCredentialsModifiedDate();
             modifiedDate = modifiedDate.minusNanos(modifiedDate.getNano() + 1);
 
-            if (!modifiedDate.isBefore(jwtService.getGeneratedTime(token))) {
+            if (!modifiedDate.isBefore(verifiedToken.issuedAt())) {
                 exceptionResolver.resolveException(request, response, null, new BadCredentialsException("Bad credentials"));
                 return;
             }
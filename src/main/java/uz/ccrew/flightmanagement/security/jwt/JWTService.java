@@ -1,12 +1,17 @@
 package uz.ccrew.flightmanagement.security.jwt;
 
+import uz.ccrew.flightmanagement.exp.unauthorized.TokenExpiredException;
+
 import com.auth0.jwt.JWT;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
 import io.jsonwebtoken.SignatureAlgorithm;
+import jakarta.annotation.PostConstruct;
 import com.auth0.jwt.interfaces.DecodedJWT;
+import io.jsonwebtoken.ExpiredJwtException;
 import org.springframework.stereotype.Service;
 import org.springframework.beans.factory.annotation.Value;
 
@@ -29,25 +34,70 @@ public class JWTService {
     private int ACCESS_TOKEN_TIME;
     @Value("${security.token.refresh.time}")
     private int REFRESH_TOKEN_TIME;
+    @Value("${security.token.cache.max-size:10000}")
+    private int TOKEN_CACHE_SIZE;
+
+    private Key accessTokenKey;
+    private Key refreshTokenKey;
+    private JwtParser accessTokenParser;
+    private JwtParser refreshTokenParser;
+    private VerifiedTokenCache accessTokenCache;
+    private VerifiedTokenCache refreshTokenCache;
+
+    @PostConstruct
+    public void init() {
+        accessTokenKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(ACCESS_TOKEN_SECRET_KEY));
+        refreshTokenKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(REFRESH_TOKEN_SECRET_KEY));
+        accessTokenParser = Jwts.parserBuilder().setSigningKey(accessTokenKey).build();
+        refreshTokenParser = Jwts.parserBuilder().setSigningKey(refreshTokenKey).build();
+        accessTokenCache = new VerifiedTokenCache(TOKEN_CACHE_SIZE);
+        refreshTokenCache = new VerifiedTokenCache(TOKEN_CACHE_SIZE);
+    }
+
+    /**
+     * Verifies the signature and expiry of an access token in a single parse, or returns the result of an
+     * earlier verification of the same token while it has not expired.
+     *
+     * @throws TokenExpiredException when the signature is valid but the token has expired
+     */
+    public VerifiedToken verifyAccessToken(String accessToken) {
+        return accessTokenCache.get(accessToken, token -> verify(token, accessTokenParser));
+    }
+
+    public VerifiedToken verifyRefreshToken(String refreshToken) {
+        return refreshTokenCache.get(refreshToken, token -> verify(token, refreshTokenParser));
+    }
 
     public String extractAccessTokenLogin(String accessToken) {
-        return extractClaim(accessToken, Claims::getSubject, getAccessTokenSignInKey());
+        return extractClaim(accessToken, Claims::getSubject, accessTokenParser);
     }
 
     public String extractRefreshTokenLogin(String refreshToken) {
-        return extractClaim(refreshToken, Claims::getSubject, getRefreshTokenSignInKey());
+        return extractClaim(refreshToken, Claims::getSubject, refreshTokenParser);
     }
 
     public String generateAccessToken(String username) {
-        return generateToken(new HashMap<>(), username, ACCESS_TOKEN_TIME, getAccessTokenSignInKey());
+        return generateToken(new HashMap<>(), username, ACCESS_TOKEN_TIME, accessTokenKey);
     }
 
     public String generateRefreshToken(String username) {
-        return generateToken(new HashMap<>(), username, REFRESH_TOKEN_TIME, getRefreshTokenSignInKey());
+        return generateToken(new HashMap<>(), username, REFRESH_TOKEN_TIME, refreshTokenKey);
+    }
+
+    private VerifiedToken verify(String token, JwtParser parser) {
+        Claims claims;
+        try {
+            claims = parser.parseClaimsJws(token).getBody();
+        } catch (ExpiredJwtException e) {
+            throw new TokenExpiredException(getTokenExpiredMessage(e.getClaims().getExpiration()));
+        }
+        return new VerifiedToken(claims.getSubject(),
+                LocalDateTime.ofInstant(claims.getIssuedAt().toInstant(), ZoneId.systemDefault()),
+                claims.getExpiration());
     }
 
-    private <T> T extractClaim(String token, Function<Claims, T> claimsResolver, Key key) {
-        final Claims claims = extractAllClaims(token, key);
+    private <T> T extractClaim(String token, Function<Claims, T> claimsResolver, JwtParser parser) {
+        final Claims claims = parser.parseClaimsJws(token).getBody();
         return claimsResolver.apply(claims);
     }
 
@@ -75,26 +125,10 @@ public class JWTService {
 
     public String getTokenExpiredMessage(String token) {
         DecodedJWT decodedJWT = JWT.decode(token);
-        Date expiresAt = decodedJWT.getExpiresAt();
-        return "JWT expired at " + expiresAt + ". Current time " + new Date();
-    }
-
-    private Claims extractAllClaims(String token, Key key) {
-        return Jwts
-                .parserBuilder()
-                .setSigningKey(key)
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
-    }
-
-    private Key getAccessTokenSignInKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(ACCESS_TOKEN_SECRET_KEY);
-        return Keys.hmacShaKeyFor(keyBytes);
+        return getTokenExpiredMessage(decodedJWT.getExpiresAt());
     }
 
-    private Key getRefreshTokenSignInKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(REFRESH_TOKEN_SECRET_KEY);
-        return Keys.hmacShaKeyFor(keyBytes);
+    private String getTokenExpiredMessage(Date expiresAt) {
+        return "JWT expired at " + expiresAt + ". Current time " + new Date();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,12 @@
+package uz.ccrew.flightmanagement.security.jwt;
+
+import java.util.Date;
+import java.time.LocalDateTime;
+
+/**
+ * Claims of a token whose signature and expiry have already been checked, so callers never decode it again.
+ */
+public record VerifiedToken(String subject,
+                            LocalDateTime issuedAt,
+                            Date expiresAt) {
+}
@@ -0,0 +1,66 @@
+package uz.ccrew.flightmanagement.security.jwt;
+
+import java.util.Map;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.function.Function;
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.nio.charset.StandardCharsets;
+import java.security.NoSuchAlgorithmException;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Maps the SHA-256 digest of a token to its verified claims until the token's own expiry, so a caller
+ * repeating the same token skips signature verification and claim parsing. Credential rotation is still
+ * enforced per request by comparing {@link VerifiedToken#issuedAt()} with the user's credentialsModifiedDate.
+ */
+class VerifiedTokenCache {
+    private final Map<ByteBuffer, VerifiedToken> entries = new ConcurrentHashMap<>();
+    private final int maxSize;
+
+    VerifiedTokenCache(int maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    VerifiedToken get(String token, Function<String, VerifiedToken> verifier) {
+        if (maxSize <= 0) {
+            return verifier.apply(token);
+        }
+
+        ByteBuffer key = digest(token);
+        VerifiedToken cached = entries.get(key);
+        if (cached != null) {
+            if (!cached.expiresAt().before(new Date())) {
+                return cached;
+            }
+            entries.remove(key, cached);
+        }
+
+        VerifiedToken verified = verifier.apply(token);
+        if (entries.size() >= maxSize) {
+            shrink();
+        }
+        entries.put(key, verified);
+        return verified;
+    }
+
+    private void shrink() {
+        Date now = new Date();
+        entries.values().removeIf(token -> token.expiresAt().before(now));
+
+        Iterator<VerifiedToken> iterator = entries.values().iterator();
+        while (entries.size() >= maxSize && iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+        }
+    }
+
+    private static ByteBuffer digest(String token) {
+        try {
+            return ByteBuffer.wrap(MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package uz.ccrew.flightmanagement.security.user;
+
+import uz.ccrew.flightmanagement.entity.User;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+import org.springframework.beans.factory.annotation.Value;
+
+import java.util.Map;
+import java.util.Optional;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded, time-limited cache of users keyed by login. Entries are never handed out directly,
+ * every hit returns a copy so request threads can change their principal without affecting each other.
+ */
+@Component
+public class PrincipalCache {
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+    private final int maxSize;
+    private final long ttlNanos;
+    private final Counter hits;
+    private final Counter misses;
+
+    public PrincipalCache(MeterRegistry meterRegistry,
+                          @Value("${security.principal-cache.max-size:10000}") int maxSize,
+                          @Value("${security.principal-cache.ttl:60s}") Duration ttl) {
+        this.maxSize = maxSize;
+        this.ttlNanos = ttl.toNanos();
+        this.hits = Counter.builder("security.principal.cache").tag("result", "hit").register(meterRegistry);
+        this.misses = Counter.builder("security.principal.cache").tag("result", "miss").register(meterRegistry);
+        Gauge.builder("security.principal.cache.size", entries, Map::size).register(meterRegistry);
+    }
+
+    public Optional<User> get(String login) {
+        Entry entry = entries.get(login);
+        if (entry == null || entry.expiresAt() - System.nanoTime() < 0) {
+            misses.increment();
+            return Optional.empty();
+        }
+        hits.increment();
+        return Optional.of(entry.user().copy());
+    }
+
+    /**
+     * Taken before reading a user from the database and handed back to {@link #put(User, long)},
+     * so a read that raced with an eviction cannot put the stale user back.
+     */
+    public long generation() {
+        return generation.get();
+    }
+
+    public void put(User user, long generation) {
+        if (entries.size() >= maxSize) {
+            shrink();
+        }
+        entries.put(user.getLogin(), new Entry(user.copy(), System.nanoTime() + ttlNanos));
+        if (this.generation.get() != generation) {
+            entries.remove(user.getLogin());
+        }
+    }
+
+    public void evict(Long userId) {
+        generation.incrementAndGet();
+        entries.values().removeIf(entry -> entry.user().getId().equals(userId));
+    }
+
+    public void clear() {
+        generation.incrementAndGet();
+        entries.clear();
+    }
+
+    private void shrink() {
+        long now = System.nanoTime();
+        entries.values().removeIf(entry -> entry.expiresAt() - now < 0);
+
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (entries.size() >= maxSize && iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+        }
+    }
+
+    private record Entry(User user, long expiresAt) {
+    }
+}
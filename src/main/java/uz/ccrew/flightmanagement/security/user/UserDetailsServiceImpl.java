@@ -13,14 +13,23 @@ import java.util.Optional;
 @Service
 @RequiredArgsConstructor
 public class UserDetailsServiceImpl implements org.springframework.security.core.userdetails.UserDetailsService {
+    private final PrincipalCache principalCache;
     private final UserRepository userRepository;
 
     @Override
     public UserDetails loadUserByUsername(String login) throws UsernameNotFoundException {
-        Optional<User> optional = userRepository.findByLogin(login.toLowerCase());
+        String key = login.toLowerCase();
+        Optional<User> cached = principalCache.get(key);
+        if (cached.isPresent()) {
+            return new UserDetailsImpl(cached.get());
+        }
+
+        long generation = principalCache.generation();
+        Optional<User> optional = userRepository.findByLogin(key);
         if (optional.isEmpty()) {
             throw new UsernameNotFoundException("Username not found");
         }
+        principalCache.put(optional.get(), generation);
         return new UserDetailsImpl(optional.get());
     }
-}
\ No newline at end of file
+}
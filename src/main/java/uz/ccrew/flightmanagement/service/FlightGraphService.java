@@ -0,0 +1,17 @@
+package uz.ccrew.flightmanagement.service;
+
+import uz.ccrew.flightmanagement.entity.FlightSchedule;
+
+import java.util.List;
+
+public interface FlightGraphService {
+    void load();
+
+    void refresh(Long flightNumber);
+
+    void remove(Long flightNumber);
+
+    void evictDeparted();
+
+    List<List<FlightSchedule>> findRoutes(String departureCity, String arrivalCity, int maxStops);
+}
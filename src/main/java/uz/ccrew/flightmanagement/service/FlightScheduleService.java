@@ -1,5 +1,6 @@
 package uz.ccrew.flightmanagement.service;
 
+import uz.ccrew.flightmanagement.dto.CursorPage;
 import uz.ccrew.flightmanagement.dto.flightSchedule.*;
 
 import org.springframework.data.domain.Page;
@@ -13,14 +14,22 @@ public interface FlightScheduleService {
 
     Page<FlightScheduleDTO> getList(int page, int size);
 
+    CursorPage<FlightScheduleDTO> getList(String cursor, int size, boolean withCount);
+
     FlightScheduleDTO getFlightSchedule(Long flightNumber);
 
     Page<FlightScheduleDTO> getAllFlightSchedulesByAirportCode(String airportCode, int page, int size);
 
+    CursorPage<FlightScheduleDTO> getAllFlightSchedulesByAirportCode(String airportCode, String cursor, int size);
+
     Page<FlightScheduleReportDTO> getOnTimeFlights(int page, int size);
 
     Page<FlightScheduleReportDTO> getDelayedFlights(int page, int size);
 
+    CursorPage<FlightScheduleReportDTO> getOnTimeFlights(String cursor, int size, boolean withCount);
+
+    CursorPage<FlightScheduleReportDTO> getDelayedFlights(String cursor, int size, boolean withCount);
+
     List<OneWayFlightDTO> getOneWayList(FlightListRequestDTO dto);
 
     List<RoundTripFlightDTO> getRoundTripList(FlightListRequestDTO flightListRequestDTO);
@@ -2,6 +2,8 @@ package uz.ccrew.flightmanagement.service;
 
 import uz.ccrew.flightmanagement.entity.ItineraryReservation;
 
+import java.util.List;
+
 public interface ItineraryLegService {
-    void addItineraryLegs(ItineraryReservation reservation, Long... flightNumber);
+    void addItineraryLegs(List<ItineraryReservation> reservations, List<Long> flightNumbers);
 }
@@ -0,0 +1,9 @@
+package uz.ccrew.flightmanagement.service;
+
+import uz.ccrew.flightmanagement.enums.ManifestFormat;
+
+import java.io.OutputStream;
+
+public interface ManifestService {
+    void writePassengerManifest(Long flightNumber, ManifestFormat format, OutputStream outputStream);
+}
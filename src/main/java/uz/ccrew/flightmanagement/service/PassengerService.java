@@ -4,8 +4,12 @@ import uz.ccrew.flightmanagement.entity.Passenger;
 import uz.ccrew.flightmanagement.dto.passenger.PassengerDTO;
 import uz.ccrew.flightmanagement.dto.passenger.PassengerCreateDTO;
 
+import java.util.List;
+
 public interface PassengerService {
     PassengerDTO add(PassengerCreateDTO dto);
 
     Passenger getPassenger(PassengerCreateDTO passengerCreateDTO);
+
+    List<Passenger> getPassengers(List<PassengerCreateDTO> passengerCreateDTOs);
 }
@@ -1,11 +1,25 @@
 package uz.ccrew.flightmanagement.service;
 
+import uz.ccrew.flightmanagement.dto.CursorPage;
 import uz.ccrew.flightmanagement.dto.passenger.PassengerDTO;
+import uz.ccrew.flightmanagement.dto.report.FlightSalesDTO;
+import uz.ccrew.flightmanagement.dto.report.FlightRevenueDTO;
 
 import org.springframework.data.domain.Page;
 
+import java.util.List;
+import java.time.LocalDate;
+
 public interface ReportService {
-    Page<PassengerDTO> findPassengersWithReservedSeatsOnFlight(String flightNumber, int page, int size);
+    Page<PassengerDTO> findPassengersWithReservedSeatsOnFlight(Long flightNumber, int page, int size);
+
+    CursorPage<PassengerDTO> findPassengersWithReservedSeatsOnFlight(Long flightNumber, String cursor, int size, boolean withCount);
 
     Long calculateTotalSalesByFlightNumber(Long flightNumber);
+
+    FlightSalesDTO getFlightSales(Long flightNumber);
+
+    void rebuildSalesLedger();
+
+    List<FlightRevenueDTO> getTopFlightsByRevenue(LocalDate from, LocalDate to, int limit);
 }
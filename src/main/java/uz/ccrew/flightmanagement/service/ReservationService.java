@@ -1,5 +1,6 @@
 package uz.ccrew.flightmanagement.service;
 
+import uz.ccrew.flightmanagement.dto.CursorPage;
 import uz.ccrew.flightmanagement.dto.reservation.*;
 import uz.ccrew.flightmanagement.enums.TravelClassCode;
 import uz.ccrew.flightmanagement.dto.flightSchedule.FlightScheduleDTO;
@@ -19,6 +20,8 @@ public interface ReservationService {
 
     Page<ReservationDTO> getList(int page, int size);
 
+    CursorPage<ReservationDTO> getList(String cursor, int size, boolean withCount);
+
     ReservationDTO makeRoundTrip(RoundTripReservationCreate dto);
 
     List<FlightScheduleDTO> getFlightList(Long reservationId);
@@ -26,4 +29,6 @@ public interface ReservationService {
     ReservationDTO makeFlexible(ReservationFlexibleDTO dto);
 
     ReservationDTO makeMultiCity(MultiCityReservationCreateDTO dto);
+
+    List<ReservationDTO> makeGroup(GroupReservationCreateDTO dto);
 }
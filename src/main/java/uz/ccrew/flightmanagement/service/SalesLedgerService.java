@@ -0,0 +1,22 @@
+package uz.ccrew.flightmanagement.service;
+
+import uz.ccrew.flightmanagement.dto.report.FlightSalesDTO;
+import uz.ccrew.flightmanagement.dto.report.FlightRevenueDTO;
+
+import java.util.List;
+import java.util.UUID;
+import java.time.LocalDate;
+
+public interface SalesLedgerService {
+    void rebuild();
+
+    void recordSale(UUID paymentId);
+
+    void recordReversal(UUID paymentId);
+
+    Long getNetSales(Long flightNumber);
+
+    FlightSalesDTO getFlightSales(Long flightNumber);
+
+    List<FlightRevenueDTO> getTopFlights(LocalDate from, LocalDate to, int limit);
+}
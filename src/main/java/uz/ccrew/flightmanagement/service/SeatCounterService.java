@@ -0,0 +1,17 @@
+package uz.ccrew.flightmanagement.service;
+
+import uz.ccrew.flightmanagement.enums.TravelClassCode;
+
+import java.util.List;
+
+public interface SeatCounterService {
+    void rebuild();
+
+    void createCounters(Long flightNumber);
+
+    void reserve(List<Long> flightNumbers, TravelClassCode travelClassCode);
+
+    void reserve(List<Long> flightNumbers, TravelClassCode travelClassCode, int seats);
+
+    void release(List<Long> flightNumbers, TravelClassCode travelClassCode);
+}
@@ -0,0 +1,18 @@
+package uz.ccrew.flightmanagement.service;
+
+import uz.ccrew.flightmanagement.enums.TravelClassCode;
+import uz.ccrew.flightmanagement.entity.ItineraryReservation;
+
+import java.util.List;
+
+public interface SeatHoldService {
+    void hold(ItineraryReservation reservation, List<Long> flightNumbers);
+
+    void hold(List<ItineraryReservation> reservations, TravelClassCode travelClassCode, List<Long> flightNumbers);
+
+    void confirm(ItineraryReservation reservation, List<Long> flightNumbers);
+
+    void release(ItineraryReservation reservation, List<Long> flightNumbers);
+
+    int expireHolds();
+}
@@ -0,0 +1,42 @@
+package uz.ccrew.flightmanagement.service;
+
+import uz.ccrew.flightmanagement.enums.TravelClassCode;
+import uz.ccrew.flightmanagement.util.ClassAvailability;
+import uz.ccrew.flightmanagement.dto.flightcost.FlightCostDTO;
+import uz.ccrew.flightmanagement.dto.flightSchedule.TravelClassAggregationDTO;
+import uz.ccrew.flightmanagement.dto.travelclasscapacity.TravelClassCapacityDTO;
+
+import java.util.Map;
+import java.util.List;
+import java.util.Optional;
+import java.util.Collection;
+
+public interface SeatInventoryService {
+    void load();
+
+    Optional<TravelClassAggregationDTO> getAvailability(Long flightNumber);
+
+    Map<Long, TravelClassAggregationDTO> getAvailability(Collection<Long> flightNumbers);
+
+    Optional<ClassAvailability> getClassAvailability(Long flightNumber);
+
+    Map<Long, ClassAvailability> getClassAvailability(Collection<Long> flightNumbers);
+
+    int getTotalSeats(Long flightNumber, TravelClassCode travelClassCode);
+
+    void reserve(List<Long> flightNumbers, TravelClassCode travelClassCode);
+
+    void reserve(List<Long> flightNumbers, TravelClassCode travelClassCode, int seats);
+
+    void release(List<Long> flightNumbers, TravelClassCode travelClassCode);
+
+    void release(Long flightNumber, TravelClassCode travelClassCode, int seats);
+
+    void putCost(FlightCostDTO dto);
+
+    void putCapacity(TravelClassCapacityDTO dto);
+
+    void evict(Long flightNumber);
+
+    void evictExpired();
+}
@@ -1,5 +1,6 @@
 package uz.ccrew.flightmanagement.service;
 
+import uz.ccrew.flightmanagement.dto.CursorPage;
 import uz.ccrew.flightmanagement.dto.user.UserDTO;
 import uz.ccrew.flightmanagement.dto.user.UserUpdateDTO;
 
@@ -17,4 +18,6 @@ public interface UserService {
     void deleteById(Long userId);
 
     Page<UserDTO> getList(int page, int size);
+
+    CursorPage<UserDTO> getList(String cursor, int size, boolean withCount);
 }
\ No newline at end of file
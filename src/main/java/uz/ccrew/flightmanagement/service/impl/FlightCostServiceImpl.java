@@ -5,6 +5,9 @@ import uz.ccrew.flightmanagement.entity.RefCalendar;
 import uz.ccrew.flightmanagement.entity.FlightSchedule;
 import uz.ccrew.flightmanagement.mapper.FlightCostMapper;
 import uz.ccrew.flightmanagement.service.FlightCostService;
+import uz.ccrew.flightmanagement.service.FlightGraphService;
+import uz.ccrew.flightmanagement.service.SeatCounterService;
+import uz.ccrew.flightmanagement.service.SeatInventoryService;
 import uz.ccrew.flightmanagement.dto.flightcost.FlightCostDTO;
 import uz.ccrew.flightmanagement.repository.FlightCostRepository;
 import uz.ccrew.flightmanagement.repository.RefCalendarRepository;
@@ -18,6 +21,9 @@ import org.springframework.stereotype.Service;
 @RequiredArgsConstructor
 public class FlightCostServiceImpl implements FlightCostService {
     private final FlightCostMapper fLightCostMapper;
+    private final FlightGraphService flightGraphService;
+    private final SeatCounterService seatCounterService;
+    private final SeatInventoryService seatInventoryService;
     private final FlightCostRepository flightCostRepository;
     private final RefCalendarRepository refCalendarRepository;
     private final FlightScheduleRepository flightScheduleRepository;
@@ -33,6 +39,10 @@ public class FlightCostServiceImpl implements FlightCostService {
         entity.setValidFromRefCalendar(validFromRefCalender);
 
         flightCostRepository.save(entity);
-        return fLightCostMapper.toDTO(entity);
+        seatCounterService.createCounters(dto.flightNumber());
+        FlightCostDTO result = fLightCostMapper.toDTO(entity);
+        seatInventoryService.putCost(result);
+        flightGraphService.refresh(dto.flightNumber());
+        return result;
     }
 }
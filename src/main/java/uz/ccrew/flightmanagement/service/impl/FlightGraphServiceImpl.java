@@ -0,0 +1,321 @@
+package uz.ccrew.flightmanagement.service.impl;
+
+import uz.ccrew.flightmanagement.util.TransactionUtil;
+import uz.ccrew.flightmanagement.entity.FlightSchedule;
+import uz.ccrew.flightmanagement.dto.leg.FlightLegCountDTO;
+import uz.ccrew.flightmanagement.repository.LegRepository;
+import uz.ccrew.flightmanagement.service.FlightGraphService;
+import uz.ccrew.flightmanagement.dto.flightcost.FlightCostDTO;
+import uz.ccrew.flightmanagement.repository.FlightCostRepository;
+import uz.ccrew.flightmanagement.repository.FlightScheduleRepository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+
+import java.util.*;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Service
+@RequiredArgsConstructor
+public class FlightGraphServiceImpl implements FlightGraphService {
+    private final LegRepository legRepository;
+    private final TransactionUtil transactionUtil;
+    private final FlightCostRepository flightCostRepository;
+    private final FlightScheduleRepository flightScheduleRepository;
+
+    @Value("${flight.graph.max-routes:200}")
+    private int maxRoutes;
+
+    private volatile Graph graph = new Graph(Map.of(), Map.of());
+
+    private static final Comparator<Route> ROUTE_ORDER = Comparator.comparing(Route::arrival)
+            .thenComparingInt(route -> route.flights().size())
+            .thenComparingLong(Route::price);
+
+    /**
+     * Loads the flights that have not departed yet, departed flights are never part of a route.
+     */
+    @Override
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        List<FlightSchedule> flights = flightScheduleRepository.findByDepartureDateTimeAfter(LocalDateTime.now());
+        List<FlightLegCountDTO> legCounts = legRepository.getLegCounts();
+        List<FlightCostDTO> costs = flightCostRepository.findAllCosts();
+
+        Map<Long, FlightNode> nodes = buildNodes(flights, legCounts, costs);
+        graph = new Graph(nodes, buildDepartures(nodes.values()));
+    }
+
+    @Override
+    public void refresh(Long flightNumber) {
+        transactionUtil.afterCommit(() -> {
+            List<Long> flightNumbers = List.of(flightNumber);
+            Map<Long, FlightNode> loaded = buildNodes(flightScheduleRepository.findAllById(flightNumbers),
+                    legRepository.getLegCountsByFlightNumbers(flightNumbers),
+                    flightCostRepository.findCostsByFlightNumbers(flightNumbers));
+            FlightNode node = loaded.get(flightNumber);
+            replace(flightNumber, node == null || node.departed(LocalDateTime.now()) ? null : node);
+        });
+    }
+
+    @Override
+    public void remove(Long flightNumber) {
+        transactionUtil.afterCommit(() -> replace(flightNumber, null));
+    }
+
+    /**
+     * Drops the flights that departed since the graph was loaded.
+     */
+    @Override
+    @Scheduled(fixedDelayString = "${flight.graph.evict-interval:PT10M}")
+    public synchronized void evictDeparted() {
+        LocalDateTime now = LocalDateTime.now();
+        Map<Long, FlightNode> nodes = new HashMap<>(graph.nodes());
+        if (nodes.values().removeIf(node -> node.departed(now))) {
+            graph = new Graph(nodes, buildDepartures(nodes.values()));
+        }
+    }
+
+    @Override
+    public List<List<FlightSchedule>> findRoutes(String departureCity, String arrivalCity, int maxStops) {
+        Graph current = graph;
+        Search search = new Search(current, arrivalCity, current.requiredStops(arrivalCity), LocalDate.now(), maxRoutes);
+        search.expand(departureCity, null, maxStops, 0);
+
+        return search.routes.stream()
+                .sorted(ROUTE_ORDER)
+                .map(route -> route.flights().stream().map(FlightNode::flight).toList())
+                .toList();
+    }
+
+    private synchronized void replace(Long flightNumber, FlightNode node) {
+        Graph current = graph;
+        Map<Long, FlightNode> nodes = new HashMap<>(current.nodes());
+        FlightNode previous = node == null ? nodes.remove(flightNumber) : nodes.put(flightNumber, node);
+
+        Set<String> cities = new HashSet<>();
+        if (previous != null) {
+            cities.add(previous.originCity());
+        }
+        if (node != null) {
+            cities.add(node.originCity());
+        }
+
+        Map<String, List<FlightNode>> departures = new HashMap<>(current.departures());
+        for (String city : cities) {
+            List<FlightNode> cityDepartures = nodes.values().stream()
+                    .filter(cityNode -> cityNode.originCity().equals(city))
+                    .sorted(Comparator.comparing(FlightNode::departure))
+                    .toList();
+            if (cityDepartures.isEmpty()) {
+                departures.remove(city);
+            } else {
+                departures.put(city, cityDepartures);
+            }
+        }
+        graph = new Graph(nodes, departures);
+    }
+
+    private Map<Long, FlightNode> buildNodes(List<FlightSchedule> flights, List<FlightLegCountDTO> legCounts, List<FlightCostDTO> costs) {
+        Map<Long, FlightLegCountDTO> legCountMap = new HashMap<>();
+        legCounts.forEach(legCount -> legCountMap.put(legCount.flightNumber(), legCount));
+
+        Map<Long, List<FlightCostDTO>> costMap = new HashMap<>();
+        costs.forEach(cost -> costMap.computeIfAbsent(cost.flightNumber(), key -> new ArrayList<>()).add(cost));
+
+        Map<Long, FlightNode> nodes = new HashMap<>();
+        for (FlightSchedule flight : flights) {
+            FlightLegCountDTO legCount = legCountMap.get(flight.getFlightNumber());
+            List<FlightCostDTO> flightCosts = costMap.get(flight.getFlightNumber());
+            if (legCount == null || legCount.destinationLegCount() < 1 || flightCosts == null) {
+                continue;
+            }
+            nodes.put(flight.getFlightNumber(), new FlightNode(flight, flight.getOriginAirport().getCity(),
+                    flight.getDestinationAirport().getCity(), legCount.legCount().intValue(), List.copyOf(flightCosts)));
+        }
+        return nodes;
+    }
+
+    private Map<String, List<FlightNode>> buildDepartures(Collection<FlightNode> nodes) {
+        Map<String, List<FlightNode>> departures = new HashMap<>();
+        nodes.forEach(node -> departures.computeIfAbsent(node.originCity(), key -> new ArrayList<>()).add(node));
+        departures.replaceAll((city, cityDepartures) -> cityDepartures.stream()
+                .sorted(Comparator.comparing(FlightNode::departure))
+                .toList());
+        return departures;
+    }
+
+    private record FlightNode(FlightSchedule flight, String originCity, String destinationCity, int legCount, List<FlightCostDTO> costs) {
+        LocalDateTime departure() {
+            return flight.getDepartureDateTime();
+        }
+
+        LocalDateTime arrival() {
+            return flight.getArrivalDateTime();
+        }
+
+        boolean departed(LocalDateTime now) {
+            return !departure().isAfter(now);
+        }
+
+        Long minCost(LocalDate now) {
+            Long min = null;
+            for (FlightCostDTO cost : costs) {
+                if (cost.validFromDate().isAfter(now) || cost.validToDate().isBefore(now)) {
+                    continue;
+                }
+                if (min == null || cost.flightCost() < min) {
+                    min = cost.flightCost();
+                }
+            }
+            return min;
+        }
+    }
+
+    private record Route(List<FlightNode> flights, long price) {
+        LocalDateTime arrival() {
+            return flights.get(flights.size() - 1).arrival();
+        }
+    }
+
+    private record Graph(Map<Long, FlightNode> nodes, Map<String, List<FlightNode>> departures,
+                         Map<String, Map<String, Integer>> requiredStopsCache) {
+        Graph(Map<Long, FlightNode> nodes, Map<String, List<FlightNode>> departures) {
+            this(nodes, departures, new ConcurrentHashMap<>());
+        }
+
+        // Lower bound of stops that must still be spent to reach the final city, the last flight is free
+        Map<String, Integer> requiredStops(String finalCity) {
+            return requiredStopsCache.computeIfAbsent(finalCity, key -> {
+                Map<String, List<FlightNode>> arrivals = new HashMap<>();
+                departures.values().forEach(cityDepartures -> cityDepartures.forEach(node ->
+                        arrivals.computeIfAbsent(node.destinationCity(), city -> new ArrayList<>()).add(node)));
+
+                Map<String, Integer> required = new HashMap<>();
+                PriorityQueue<Map.Entry<String, Integer>> queue = new PriorityQueue<>(Map.Entry.comparingByValue());
+                required.put(finalCity, 0);
+                queue.add(Map.entry(finalCity, 0));
+                while (!queue.isEmpty()) {
+                    Map.Entry<String, Integer> entry = queue.poll();
+                    if (entry.getValue() > required.get(entry.getKey())) {
+                        continue;
+                    }
+                    for (FlightNode node : arrivals.getOrDefault(entry.getKey(), List.of())) {
+                        int stops = entry.getKey().equals(finalCity) ? 0 : entry.getValue() + node.legCount();
+                        Integer known = required.get(node.originCity());
+                        if (known == null || stops < known) {
+                            required.put(node.originCity(), stops);
+                            queue.add(Map.entry(node.originCity(), stops));
+                        }
+                    }
+                }
+                return required;
+            });
+        }
+    }
+
+    /**
+     * Depth-first search that keeps only the best {@code maxRoutes} routes found so far, worst on top of the queue.
+     * Once the queue is full, a flight that does not arrive before the worst kept route is not expanded: every
+     * connection departs later, so no route through it can rank better.
+     */
+    private static class Search {
+        private final Graph graph;
+        private final String finalCity;
+        private final Map<String, Integer> requiredStops;
+        private final LocalDate now;
+        private final int maxRoutes;
+        private final Set<String> visitedCity = new HashSet<>();
+        private final List<FlightNode> currentRoute = new ArrayList<>();
+        private final PriorityQueue<Route> routes;
+
+        private Search(Graph graph, String finalCity, Map<String, Integer> requiredStops, LocalDate now, int maxRoutes) {
+            this.graph = graph;
+            this.finalCity = finalCity;
+            this.requiredStops = requiredStops;
+            this.now = now;
+            this.maxRoutes = maxRoutes;
+            this.routes = new PriorityQueue<>(ROUTE_ORDER.reversed());
+        }
+
+        private void expand(String currentCity, LocalDateTime previousArrival, int remainingStops, long price) {
+            visitedCity.add(currentCity);
+
+            List<FlightNode> cityDepartures = graph.departures().getOrDefault(currentCity, List.of());
+            int from = previousArrival == null ? 0 : firstDeparture(cityDepartures, previousArrival.plusHours(1));
+            LocalDateTime to = previousArrival == null ? null : previousArrival.plusHours(2);
+
+            for (int i = from; i < cityDepartures.size(); i++) {
+                FlightNode node = cityDepartures.get(i);
+                if (to != null && node.departure().isAfter(to)) {
+                    break;
+                }
+                LocalDateTime bound = arrivalBound();
+                if (bound != null && !node.departure().isBefore(bound)) {
+                    break;
+                }
+                if (visitedCity.contains(node.destinationCity())) {
+                    continue;
+                }
+                Long cost = node.minCost(now);
+                if (cost == null) {
+                    continue;
+                }
+
+                if (node.destinationCity().equals(finalCity)) {
+                    offer(node, price + cost);
+                } else if (bound == null || node.arrival().isBefore(bound)) {
+                    int stops = remainingStops - node.legCount();
+                    Integer required = requiredStops.get(node.destinationCity());
+                    if (required != null && required <= stops) {
+                        currentRoute.add(node);
+                        expand(node.destinationCity(), node.arrival(), stops, price + cost);
+                        currentRoute.remove(currentRoute.size() - 1);
+                    }
+                }
+            }
+
+            visitedCity.remove(currentCity);
+        }
+
+        private void offer(FlightNode last, long price) {
+            currentRoute.add(last);
+            Route worst = routes.peek();
+            int flights = currentRoute.size();
+            if (routes.size() < maxRoutes) {
+                routes.add(new Route(List.copyOf(currentRoute), price));
+            } else if (worst != null && (last.arrival().isBefore(worst.arrival())
+                    || last.arrival().equals(worst.arrival()) && (flights < worst.flights().size()
+                    || flights == worst.flights().size() && price < worst.price()))) {
+                routes.poll();
+                routes.add(new Route(List.copyOf(currentRoute), price));
+            }
+            currentRoute.remove(currentRoute.size() - 1);
+        }
+
+        // Arrival a route has to beat once the queue is full, null while there is room
+        private LocalDateTime arrivalBound() {
+            return routes.size() < maxRoutes || routes.isEmpty() ? null : routes.peek().arrival();
+        }
+
+        private int firstDeparture(List<FlightNode> cityDepartures, LocalDateTime minDeparture) {
+            int low = 0;
+            int high = cityDepartures.size();
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (cityDepartures.get(mid).departure().isBefore(minDeparture)) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+    }
+}
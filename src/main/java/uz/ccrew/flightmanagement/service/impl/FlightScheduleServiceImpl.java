@@ -3,11 +3,15 @@ package uz.ccrew.flightmanagement.service.impl;
 import uz.ccrew.flightmanagement.entity.*;
 import uz.ccrew.flightmanagement.repository.*;
 import uz.ccrew.flightmanagement.dto.leg.LegDTO;
+import uz.ccrew.flightmanagement.util.CursorUtil;
+import uz.ccrew.flightmanagement.dto.CursorPage;
 import uz.ccrew.flightmanagement.mapper.LegMapper;
 import uz.ccrew.flightmanagement.dto.flightSchedule.*;
 import uz.ccrew.flightmanagement.exp.BadRequestException;
 import uz.ccrew.flightmanagement.mapper.FlightScheduleMapper;
+import uz.ccrew.flightmanagement.service.FlightGraphService;
 import uz.ccrew.flightmanagement.service.OneWayFlightService;
+import uz.ccrew.flightmanagement.service.SeatInventoryService;
 import uz.ccrew.flightmanagement.service.FlightScheduleService;
 import uz.ccrew.flightmanagement.service.MultiCityFlightService;
 import uz.ccrew.flightmanagement.service.RoundTripFlightService;
@@ -17,15 +21,21 @@ import org.springframework.data.domain.*;
 import org.springframework.stereotype.Service;
 
 import java.util.*;
+import java.time.Duration;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.function.Function;
 
 @Service
 @RequiredArgsConstructor
 public class FlightScheduleServiceImpl implements FlightScheduleService {
     private final LegMapper legMapper;
+    private final CursorUtil cursorUtil;
     private final LegRepository legRepository;
     private final AirportRepository airportRepository;
+    private final FlightGraphService flightGraphService;
     private final OneWayFlightService oneWayFlightService;
+    private final SeatInventoryService seatInventoryService;
     private final FlightScheduleMapper flightScheduleMapper;
     private final RoundTripFlightService roundTripFlightService;
     private final MultiCityFlightService multiCityFlightService;
@@ -56,6 +66,8 @@ public class FlightScheduleServiceImpl implements FlightScheduleService {
     public void delete(Long flightNumber) {
         FlightSchedule flightSchedule = flightScheduleRepository.loadById(flightNumber);
         flightScheduleRepository.delete(flightSchedule);
+        seatInventoryService.evict(flightNumber);
+        flightGraphService.remove(flightNumber);
     }
 
     @Override
@@ -68,6 +80,17 @@ public class FlightScheduleServiceImpl implements FlightScheduleService {
         return new PageImpl<>(dtoList, pageable, pageObj.getTotalElements());
     }
 
+    @Override
+    public CursorPage<FlightScheduleDTO> getList(String cursor, int size, boolean withCount) {
+        CursorUtil.TimeKey after = cursorUtil.decodeTimeKey(cursor, new CursorUtil.TimeKey(CursorUtil.MAX_TIME, Long.MAX_VALUE));
+
+        List<FlightSchedule> rows = flightScheduleRepository.findCreatedBefore(after.time(), after.id(), cursorUtil.window(size));
+        Long count = withCount ? flightScheduleRepository.countFlights(CursorUtil.COUNT_LIMIT) : null;
+
+        return cursorUtil.page(rows, size, flight -> new Object[]{flight.getCreatedDate(), flight.getFlightNumber()},
+                flightScheduleMapper::toDTOList, count);
+    }
+
     @Override
     public FlightScheduleDTO getFlightSchedule(Long flightNumber) {
         FlightSchedule flightSchedule = flightScheduleRepository.loadById(flightNumber);
@@ -88,6 +111,40 @@ public class FlightScheduleServiceImpl implements FlightScheduleService {
         return new PageImpl<>(dtoList, pageable, pageObj.getTotalElements());
     }
 
+    @Override
+    public CursorPage<FlightScheduleDTO> getAllFlightSchedulesByAirportCode(String airportCode, String cursor, int size) {
+        BoardCursor position = cursor == null
+                ? BoardCursor.start(LocalDateTime.now())
+                : cursorUtil.decode(cursor, 5, BoardCursor::parse);
+        Pageable pageable = PageRequest.of(0, size + 1);
+
+        Deque<FlightSchedule> upcoming = new ArrayDeque<>(flightScheduleRepository.findUpcomingByAirportCode(airportCode,
+                position.upcomingDeparture(), position.upcomingFlightNumber(), pageable));
+        Deque<FlightSchedule> past = new ArrayDeque<>(flightScheduleRepository.findPastByAirportCode(airportCode,
+                position.pastDeparture(), position.pastFlightNumber(), pageable));
+
+        List<FlightSchedule> flights = new ArrayList<>(size);
+        FlightSchedule lastUpcoming = null;
+        FlightSchedule lastPast = null;
+        while (flights.size() < size && !(upcoming.isEmpty() && past.isEmpty())) {
+            if (past.isEmpty() || (!upcoming.isEmpty() && position.distance(upcoming.peek()) <= position.distance(past.peek()))) {
+                lastUpcoming = upcoming.poll();
+                flights.add(lastUpcoming);
+            } else {
+                lastPast = past.poll();
+                flights.add(lastPast);
+            }
+        }
+
+        String nextCursor = null;
+        if (!upcoming.isEmpty() || !past.isEmpty()) {
+            BoardCursor next = position.next(lastUpcoming, lastPast);
+            nextCursor = cursorUtil.encode(next.now(), next.upcomingDeparture(), next.upcomingFlightNumber(),
+                    next.pastDeparture(), next.pastFlightNumber());
+        }
+        return new CursorPage<>(flightScheduleMapper.toDTOList(flights), nextCursor);
+    }
+
     @Override
     public Page<FlightScheduleReportDTO> getOnTimeFlights(int page, int size) {
         Pageable pageable = PageRequest.of(page, size, Sort.by("departureDateTime").descending());
@@ -104,6 +161,28 @@ public class FlightScheduleServiceImpl implements FlightScheduleService {
         return new PageImpl<>(pageObjDelayed.getContent(), pageable, pageObjDelayed.getTotalElements());
     }
 
+    @Override
+    public CursorPage<FlightScheduleReportDTO> getOnTimeFlights(String cursor, int size, boolean withCount) {
+        CursorUtil.TimeKey after = cursorUtil.decodeTimeKey(cursor, new CursorUtil.TimeKey(CursorUtil.MAX_TIME, Long.MAX_VALUE));
+
+        List<FlightScheduleReportDTO> rows = flightScheduleRepository.findOnTimeFlightsBefore(after.time(), after.id(), cursorUtil.window(size));
+        Long count = withCount ? flightScheduleRepository.countOnTimeFlights(CursorUtil.COUNT_LIMIT) : null;
+
+        return cursorUtil.page(rows, size, report -> new Object[]{report.departureDateTime(), report.flightNumber()},
+                Function.identity(), count);
+    }
+
+    @Override
+    public CursorPage<FlightScheduleReportDTO> getDelayedFlights(String cursor, int size, boolean withCount) {
+        CursorUtil.TimeKey after = cursorUtil.decodeTimeKey(cursor, new CursorUtil.TimeKey(CursorUtil.MAX_TIME, Long.MAX_VALUE));
+
+        List<FlightScheduleReportDTO> rows = flightScheduleRepository.findDelayedFlightsBefore(after.time(), after.id(), cursorUtil.window(size));
+        Long count = withCount ? flightScheduleRepository.countDelayedFlights(CursorUtil.COUNT_LIMIT) : null;
+
+        return cursorUtil.page(rows, size, report -> new Object[]{report.departureDateTime(), report.flightNumber()},
+                Function.identity(), count);
+    }
+
     @Override
     public List<OneWayFlightDTO> getOneWayList(FlightListRequestDTO dto) {
         if (dto.departureDate().isBefore(LocalDate.now())) {
@@ -142,4 +221,30 @@ public class FlightScheduleServiceImpl implements FlightScheduleService {
 
         return multiCityFlightService.getMultiCityFlights(dto);
     }
+
+    private record BoardCursor(LocalDateTime now,
+                               LocalDateTime upcomingDeparture, Long upcomingFlightNumber,
+                               LocalDateTime pastDeparture, Long pastFlightNumber) {
+        static BoardCursor start(LocalDateTime now) {
+            return new BoardCursor(now, now, 0L, now, 0L);
+        }
+
+        static BoardCursor parse(List<String> values) {
+            return new BoardCursor(LocalDateTime.parse(values.get(0)),
+                    LocalDateTime.parse(values.get(1)), Long.valueOf(values.get(2)),
+                    LocalDateTime.parse(values.get(3)), Long.valueOf(values.get(4)));
+        }
+
+        long distance(FlightSchedule flight) {
+            return Math.abs(Duration.between(now, flight.getDepartureDateTime()).toSeconds());
+        }
+
+        BoardCursor next(FlightSchedule lastUpcoming, FlightSchedule lastPast) {
+            return new BoardCursor(now,
+                    lastUpcoming == null ? upcomingDeparture : lastUpcoming.getDepartureDateTime(),
+                    lastUpcoming == null ? upcomingFlightNumber : lastUpcoming.getFlightNumber(),
+                    lastPast == null ? pastDeparture : lastPast.getDepartureDateTime(),
+                    lastPast == null ? pastFlightNumber : lastPast.getFlightNumber());
+        }
+    }
 }
@@ -1,38 +1,48 @@
 package uz.ccrew.flightmanagement.service.impl;
 
 import uz.ccrew.flightmanagement.entity.Leg;
-import uz.ccrew.flightmanagement.entity.ItineraryLeg;
+import uz.ccrew.flightmanagement.entity.User;
+import uz.ccrew.flightmanagement.util.AuthUtil;
 import uz.ccrew.flightmanagement.repository.LegRepository;
 import uz.ccrew.flightmanagement.service.ItineraryLegService;
 import uz.ccrew.flightmanagement.entity.ItineraryReservation;
-import uz.ccrew.flightmanagement.repository.ItineraryLegRepository;
 
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.jdbc.core.JdbcTemplate;
 
-import java.util.ArrayList;
 import java.util.List;
+import java.util.ArrayList;
+import java.time.LocalDateTime;
 
 @Service
 @RequiredArgsConstructor
 public class ItineraryLegServiceImpl implements ItineraryLegService {
+    private static final String INSERT_ITINERARY_LEG = """
+            insert into itinerary_legs (reservation_id, leg_id, created_by, created_date, last_modified_by, last_modified_date)
+            values (?, ?, ?, ?, ?, ?)
+            """;
+    private final AuthUtil authUtil;
+    private final JdbcTemplate jdbcTemplate;
     private final LegRepository legRepository;
-    private final ItineraryLegRepository itineraryLegRepository;
 
+    /**
+     * Links every reservation to the legs of its flights with one leg lookup and one JDBC batch. Going through
+     * {@code saveAll} would select every row by its composite id before inserting it. The reservations must
+     * already be flushed.
+     */
     @Override
-    public void addItineraryLegs(ItineraryReservation reservation, Long... flightNumbers) {
-        List<ItineraryLeg> itineraryLegList = new ArrayList<>();
-        for (Long flightNumber : flightNumbers) {
-            List<Leg> legs = legRepository.findAllByFlightSchedule_FlightNumber(flightNumber);
+    public void addItineraryLegs(List<ItineraryReservation> reservations, List<Long> flightNumbers) {
+        List<Leg> legs = legRepository.findAllByFlightSchedule_FlightNumberIn(flightNumbers);
+        Long userId = authUtil.takeLoggedUser().map(User::getId).orElse(null);
+        LocalDateTime now = LocalDateTime.now();
+
+        List<Object[]> rows = new ArrayList<>(reservations.size() * legs.size());
+        for (ItineraryReservation reservation : reservations) {
             for (Leg leg : legs) {
-                ItineraryLeg itineraryLeg = ItineraryLeg.builder()
-                        .id(new ItineraryLeg.ItineraryLegId(reservation.getReservationId(), leg.getLegId()))
-                        .leg(leg)
-                        .reservation(reservation)
-                        .build();
-                itineraryLegList.add(itineraryLeg);
+                rows.add(new Object[]{reservation.getReservationId(), leg.getLegId(), userId, now, userId, now});
             }
         }
-        itineraryLegRepository.saveAll(itineraryLegList);
+        jdbcTemplate.batchUpdate(INSERT_ITINERARY_LEG, rows);
     }
 }
@@ -4,6 +4,7 @@ import uz.ccrew.flightmanagement.entity.Leg;
 import uz.ccrew.flightmanagement.dto.leg.LegDTO;
 import uz.ccrew.flightmanagement.mapper.LegMapper;
 import uz.ccrew.flightmanagement.service.LegService;
+import uz.ccrew.flightmanagement.service.FlightGraphService;
 import uz.ccrew.flightmanagement.dto.leg.LegUpdateDTO;
 import uz.ccrew.flightmanagement.dto.leg.LegCreateDTO;
 import uz.ccrew.flightmanagement.entity.FlightSchedule;
@@ -20,6 +21,7 @@ import org.springframework.stereotype.Service;
 public class LegServiceImpl implements LegService {
     private final LegMapper legMapper;
     private final LegRepository legRepository;
+    private final FlightGraphService flightGraphService;
     private final FlightScheduleRepository flightScheduleRepository;
 
     @Override
@@ -35,6 +37,7 @@ public class LegServiceImpl implements LegService {
         FlightSchedule flightSchedule = flightScheduleRepository.loadById(dto.flightNumber());
         entity.setFlightSchedule(flightSchedule);
         legRepository.save(entity);
+        flightGraphService.refresh(dto.flightNumber());
 
         return legMapper.toDTO(entity);
     }
@@ -0,0 +1,157 @@
+package uz.ccrew.flightmanagement.service.impl;
+
+import uz.ccrew.flightmanagement.enums.ManifestFormat;
+import uz.ccrew.flightmanagement.service.ManifestService;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.*;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.PreparedStatement;
+import java.nio.charset.StandardCharsets;
+
+@Service
+public class ManifestServiceImpl implements ManifestService {
+    private static final String[] COLUMNS = {"passengerId", "firstName", "secondName", "lastName", "phoneNumber",
+            "emailAddress", "addressLines", "city", "stateProvinceCountry", "country", "otherPassengerDetails"};
+    private static final String MANIFEST_QUERY = """
+            select p.passenger_id, p.first_name, p.second_name, p.last_name, p.phone_number,
+                   p.email_address, p.address_lines, p.city, p.state_province_country, p.country, p.other_passenger_details
+              from itinerary_reservations r
+              join passengers p on p.passenger_id = r.passenger_id
+             where r.reservation_status_code = 'CONFIRMED'
+               and exists (select 1
+                             from itinerary_legs il
+                             join legs l on l.leg_id = il.leg_id
+                            where il.reservation_id = r.reservation_id
+                              and l.flight_number = ?)
+             order by r.date_reservation_made, r.reservation_id
+            """;
+
+    private final ObjectMapper objectMapper;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int fetchSize;
+
+    public ManifestServiceImpl(ObjectMapper objectMapper, JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                               @Value("${report.manifest.fetch-size:500}") int fetchSize) {
+        this.objectMapper = objectMapper;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.fetchSize = fetchSize;
+    }
+
+    /**
+     * Streams the manifest row by row from a forward-only cursor. The read-only transaction keeps the connection
+     * out of auto-commit, which the Postgres driver needs to honour the fetch size instead of buffering every row.
+     */
+    @Override
+    public void writePassengerManifest(Long flightNumber, ManifestFormat format, OutputStream outputStream) {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        RowWriter rowWriter = format == ManifestFormat.CSV ? new CsvRowWriter(writer) : new NdjsonRowWriter(writer);
+
+        transactionTemplate.executeWithoutResult(status -> jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(MANIFEST_QUERY, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(fetchSize);
+            statement.setLong(1, flightNumber);
+            return statement;
+        }, (RowCallbackHandler) resultSet -> {
+            try {
+                rowWriter.write(resultSet);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }));
+
+        try {
+            rowWriter.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private interface RowWriter extends Closeable {
+        void write(ResultSet resultSet) throws SQLException, IOException;
+    }
+
+    private class NdjsonRowWriter implements RowWriter {
+        private final JsonGenerator generator;
+
+        NdjsonRowWriter(Writer writer) {
+            try {
+                this.generator = objectMapper.getFactory().createGenerator(writer);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            this.generator.setRootValueSeparator(null);
+        }
+
+        @Override
+        public void write(ResultSet resultSet) throws SQLException, IOException {
+            generator.writeStartObject();
+            generator.writeNumberField(COLUMNS[0], resultSet.getLong(1));
+            for (int i = 1; i < COLUMNS.length; i++) {
+                generator.writeStringField(COLUMNS[i], resultSet.getString(i + 1));
+            }
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        }
+
+        @Override
+        public void close() throws IOException {
+            generator.flush();
+        }
+    }
+
+    private static class CsvRowWriter implements RowWriter {
+        private final Writer writer;
+
+        CsvRowWriter(Writer writer) {
+            this.writer = writer;
+            try {
+                writer.write(String.join(",", COLUMNS));
+                writer.write("\r\n");
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public void write(ResultSet resultSet) throws SQLException, IOException {
+            for (int i = 1; i <= COLUMNS.length; i++) {
+                if (i > 1) {
+                    writer.write(',');
+                }
+                writeField(resultSet.getString(i));
+            }
+            writer.write("\r\n");
+        }
+
+        private void writeField(String value) throws IOException {
+            if (value == null) {
+                return;
+            }
+            if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+                writer.write(value);
+                return;
+            }
+            writer.write('"');
+            writer.write(value.replace("\"", "\"\""));
+            writer.write('"');
+        }
+
+        @Override
+        public void close() throws IOException {
+            writer.flush();
+        }
+    }
+}
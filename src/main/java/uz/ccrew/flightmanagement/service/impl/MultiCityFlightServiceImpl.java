@@ -1,44 +1,65 @@
 package uz.ccrew.flightmanagement.service.impl;
 
 import uz.ccrew.flightmanagement.util.FlightUtil;
+import uz.ccrew.flightmanagement.util.SearchExecutor;
+import uz.ccrew.flightmanagement.util.AvailabilityContext;
 import uz.ccrew.flightmanagement.entity.FlightSchedule;
-import uz.ccrew.flightmanagement.repository.LegRepository;
 import uz.ccrew.flightmanagement.mapper.FlightScheduleMapper;
+import uz.ccrew.flightmanagement.service.FlightGraphService;
 import uz.ccrew.flightmanagement.service.MultiCityFlightService;
-import uz.ccrew.flightmanagement.repository.FlightScheduleRepository;
 import uz.ccrew.flightmanagement.dto.flightSchedule.MultiCityFlightDTO;
 import uz.ccrew.flightmanagement.dto.flightSchedule.FlightListRequestDTO;
 import uz.ccrew.flightmanagement.dto.flightSchedule.TravelClassAggregationDTO;
 
-import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.stereotype.Service;
 
-import java.util.*;
-import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
 
+@Slf4j
 @Service
-@RequiredArgsConstructor
 public class MultiCityFlightServiceImpl implements MultiCityFlightService {
     private final FlightUtil flightUtil;
-    private final LegRepository legRepository;
+    private final SearchExecutor searchExecutor;
     private final FlightScheduleMapper flightMapper;
-    private final FlightScheduleRepository flightRepository;
+    private final FlightGraphService flightGraphService;
+    private final Counter memoHits;
+    private final Counter memoMisses;
+
+    public MultiCityFlightServiceImpl(FlightUtil flightUtil, SearchExecutor searchExecutor, FlightScheduleMapper flightMapper,
+                                      FlightGraphService flightGraphService, MeterRegistry meterRegistry) {
+        this.flightUtil = flightUtil;
+        this.searchExecutor = searchExecutor;
+        this.flightMapper = flightMapper;
+        this.flightGraphService = flightGraphService;
+        this.memoHits = Counter.builder("flight.search.availability").tag("result", "hit").register(meterRegistry);
+        this.memoMisses = Counter.builder("flight.search.availability").tag("result", "miss").register(meterRegistry);
+    }
 
     @Override
     public List<MultiCityFlightDTO> getMultiCityFlights(FlightListRequestDTO dto) {
-        List<List<FlightSchedule>> possibleRoutes = new ArrayList<>();
-        findRoutes(dto.departureCity(), dto.arrivalCity(), new ArrayList<>(), possibleRoutes, new HashSet<>(), dto.maxStops());
+        List<List<FlightSchedule>> possibleRoutes = flightGraphService.findRoutes(dto.departureCity(), dto.arrivalCity(), dto.maxStops());
+
+        AvailabilityContext context = flightUtil.newAvailabilityContext();
+        List<MultiCityFlightDTO> result = searchExecutor.search(possibleRoutes, flights -> getMultiCityFlight(flights, context));
+        memoHits.increment(context.hits());
+        memoMisses.increment(context.misses());
 
-        return possibleRoutes.parallelStream()
-                .map(this::getMultiCityFlight)
-                .filter(Optional::isPresent)
-                .map(Optional::get)
-                .toList();
+        log.debug("Multi city search {} -> {}: {} routes, {} found, {} flights cached, hit ratio {}",
+                dto.departureCity(), dto.arrivalCity(), possibleRoutes.size(), result.size(), context.size(), context.hitRatio());
+        return result;
     }
 
     @Override
     public Optional<MultiCityFlightDTO> getMultiCityFlight(List<FlightSchedule> flights) {
-        TravelClassAggregationDTO travelClassAggregation = flightUtil.getTravelClassAggregation(flights);
+        return getMultiCityFlight(flights, flightUtil.newAvailabilityContext());
+    }
+
+    private Optional<MultiCityFlightDTO> getMultiCityFlight(List<FlightSchedule> flights, AvailabilityContext context) {
+        TravelClassAggregationDTO travelClassAggregation = flightUtil.getTravelClassAggregation(flights, context);
 
         if (travelClassAggregation == null) {
             return Optional.empty();
@@ -51,42 +72,4 @@ public class MultiCityFlightServiceImpl implements MultiCityFlightService {
                 .build();
         return Optional.of(multiCityFlight);
     }
-
-    private void findRoutes(String currentCity, String finalCity, List<FlightSchedule> currentRoute,
-                            List<List<FlightSchedule>> possibleRoutes, Set<String> visitedCity, int remainingStops) {
-        if (remainingStops < 0) {
-            return;
-        }
-
-        visitedCity.add(currentCity);
-
-        LocalDateTime previousArrival = null;
-        if (!currentRoute.isEmpty()) {
-            previousArrival = currentRoute.getLast().getArrivalDateTime();
-        }
-
-        List<FlightSchedule> nextFlights;
-        if (previousArrival != null) {
-            nextFlights = flightRepository.findByOriginAirportCityAndTimeConstraints(currentCity, previousArrival.plusHours(1), previousArrival.plusHours(2));
-        } else {
-            nextFlights = flightRepository.findByOriginAirportCity(currentCity);
-        }
-
-        for (FlightSchedule flight : nextFlights) {
-            int legCount = legRepository.countByFlightSchedule_FlightNumber(flight.getFlightNumber());
-
-            if (visitedCity.contains(flight.getDestinationAirport().getCity())) {
-                continue;
-            }
-
-            List<FlightSchedule> newRoute = new ArrayList<>(currentRoute);
-            newRoute.add(flight);
-
-            if (flight.getDestinationAirport().getCity().equals(finalCity)) {
-                possibleRoutes.add(newRoute);
-            } else {
-                findRoutes(flight.getDestinationAirport().getCity(), finalCity, newRoute, possibleRoutes, new HashSet<>(visitedCity), remainingStops - legCount);
-            }
-        }
-    }
 }
@@ -14,7 +14,7 @@ import uz.ccrew.flightmanagement.dto.passenger.PassengerCreateDTO;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
-import java.util.Optional;
+import java.util.*;
 
 @Service
 @RequiredArgsConstructor
@@ -60,4 +60,37 @@ public class PassengerServiceImpl implements PassengerService {
         }
         return optionalPassenger.get();
     }
+
+    /**
+     * Resolves a whole group with one lookup: passengers already known by name and phone number are reused,
+     * the rest are inserted together. The result is in the order of {@code passengerCreateDTOs}.
+     */
+    @Override
+    public List<Passenger> getPassengers(List<PassengerCreateDTO> passengerCreateDTOs) {
+        Set<String> phoneNumbers = new HashSet<>();
+        passengerCreateDTOs.forEach(dto -> phoneNumbers.add(dto.phoneNumber()));
+
+        Map<List<String>, Passenger> known = new HashMap<>();
+        for (Passenger passenger : passengerRepository.findAllByPhoneNumberIn(phoneNumbers)) {
+            known.put(Arrays.asList(passenger.getFirstName(), passenger.getSecondName(), passenger.getLastName(), passenger.getPhoneNumber()), passenger);
+        }
+
+        List<Passenger> result = new ArrayList<>(passengerCreateDTOs.size());
+        List<Passenger> created = new ArrayList<>();
+        Set<List<String>> seen = new HashSet<>();
+        for (PassengerCreateDTO dto : passengerCreateDTOs) {
+            List<String> key = Arrays.asList(dto.firstName(), dto.secondName(), dto.lastName(), dto.phoneNumber());
+            if (!seen.add(key)) {
+                throw new BadRequestException("Passenger " + dto.firstName() + " " + dto.lastName() + " is listed more than once");
+            }
+            Passenger passenger = known.get(key);
+            if (passenger == null) {
+                passenger = passengerMapper.toEntity(dto);
+                created.add(passenger);
+            }
+            result.add(passenger);
+        }
+        passengerRepository.saveAll(created);
+        return result;
+    }
 }
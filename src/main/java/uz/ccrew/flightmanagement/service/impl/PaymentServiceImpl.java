@@ -5,6 +5,7 @@ import uz.ccrew.flightmanagement.util.AuthUtil;
 import uz.ccrew.flightmanagement.entity.Payment;
 import uz.ccrew.flightmanagement.mapper.PaymentMapper;
 import uz.ccrew.flightmanagement.service.PaymentService;
+import uz.ccrew.flightmanagement.service.SalesLedgerService;
 import uz.ccrew.flightmanagement.enums.PaymentStatusCode;
 import uz.ccrew.flightmanagement.exp.BadRequestException;
 import uz.ccrew.flightmanagement.repository.UserRepository;
@@ -27,6 +28,7 @@ public class PaymentServiceImpl implements PaymentService {
     private final PaymentMapper paymentMapper;
     private final UserRepository userRepository;
     private final PaymentRepository paymentRepository;
+    private final SalesLedgerService salesLedgerService;
     private final ReservationPaymentService reservationPaymentService;
     private final ReservationPaymentRepository reservationPaymentRepository;
 
@@ -48,6 +50,7 @@ public class PaymentServiceImpl implements PaymentService {
         userRepository.save(user);
 
         reservationPaymentService.confirmReservation(paymentId);
+        salesLedgerService.recordSale(paymentId);
 
         return paymentMapper.toDTO(payment);
     }
@@ -65,6 +68,7 @@ public class PaymentServiceImpl implements PaymentService {
         paymentRepository.save(payment);
 
         reservationPaymentService.reverseReservation(paymentId);
+        salesLedgerService.recordReversal(paymentId);
 
         User user = authUtil.loadLoggedUser();
         // cashbackAmount minus ham boladi,
@@ -1,11 +1,17 @@
 package uz.ccrew.flightmanagement.service.impl;
 
 import uz.ccrew.flightmanagement.entity.Passenger;
+import uz.ccrew.flightmanagement.exp.BadRequestException;
+import uz.ccrew.flightmanagement.util.CursorUtil;
+import uz.ccrew.flightmanagement.dto.CursorPage;
+import uz.ccrew.flightmanagement.entity.ItineraryReservation;
 import uz.ccrew.flightmanagement.service.ReportService;
+import uz.ccrew.flightmanagement.dto.report.FlightSalesDTO;
+import uz.ccrew.flightmanagement.dto.report.FlightRevenueDTO;
+import uz.ccrew.flightmanagement.service.SalesLedgerService;
 import uz.ccrew.flightmanagement.mapper.PassengerMapper;
 import uz.ccrew.flightmanagement.dto.passenger.PassengerDTO;
 import uz.ccrew.flightmanagement.repository.ReservationRepository;
-import uz.ccrew.flightmanagement.repository.ItineraryLegRepository;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
@@ -16,16 +22,18 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
+import java.time.LocalDate;
 
 @Service
 @RequiredArgsConstructor
 public class ReportServiceImpl implements ReportService {
+    private final CursorUtil cursorUtil;
     private final PassengerMapper passengerMapper;
+    private final SalesLedgerService salesLedgerService;
     private final ReservationRepository reservationRepository;
-    private final ItineraryLegRepository itineraryLegRepository;
 
     @Override
-    public Page<PassengerDTO> findPassengersWithReservedSeatsOnFlight(String flightNumber, int page, int size) {
+    public Page<PassengerDTO> findPassengersWithReservedSeatsOnFlight(Long flightNumber, int page, int size) {
         Pageable pageable = PageRequest.of(page, size);
 
         Page<Passenger> pageObj = reservationRepository.findPassengersWithReservedSeatsOnFlight(flightNumber, pageable);
@@ -34,8 +42,37 @@ public class ReportServiceImpl implements ReportService {
         return new PageImpl<>(dtoList, pageable, pageObj.getTotalElements());
     }
 
+    @Override
+    public CursorPage<PassengerDTO> findPassengersWithReservedSeatsOnFlight(Long flightNumber, String cursor, int size, boolean withCount) {
+        CursorUtil.TimeKey after = cursorUtil.decodeTimeKey(cursor, new CursorUtil.TimeKey(CursorUtil.MIN_TIME, 0L));
+
+        List<ItineraryReservation> rows = reservationRepository.findConfirmedOnFlightAfter(flightNumber, after.time(), after.id(), cursorUtil.window(size));
+        Long count = withCount ? reservationRepository.countConfirmedOnFlight(flightNumber, CursorUtil.COUNT_LIMIT) : null;
+
+        return cursorUtil.page(rows, size, reservation -> new Object[]{reservation.getDateReservationMade(), reservation.getReservationId()},
+                reservations -> passengerMapper.toDTOList(reservations.stream().map(ItineraryReservation::getPassenger).toList()), count);
+    }
+
     @Override
     public Long calculateTotalSalesByFlightNumber(Long flightNumber) {
-        return itineraryLegRepository.calculateTotalSalesByFlightNumber(flightNumber);
+        return salesLedgerService.getNetSales(flightNumber);
+    }
+
+    @Override
+    public FlightSalesDTO getFlightSales(Long flightNumber) {
+        return salesLedgerService.getFlightSales(flightNumber);
+    }
+
+    @Override
+    public void rebuildSalesLedger() {
+        salesLedgerService.rebuild();
+    }
+
+    @Override
+    public List<FlightRevenueDTO> getTopFlightsByRevenue(LocalDate from, LocalDate to, int limit) {
+        if (to.isBefore(from)) {
+            throw new BadRequestException("To date must be after from date");
+        }
+        return salesLedgerService.getTopFlights(from, to, limit);
     }
 }
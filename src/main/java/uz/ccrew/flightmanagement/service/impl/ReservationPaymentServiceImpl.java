@@ -4,9 +4,11 @@ import uz.ccrew.flightmanagement.entity.Payment;
 import uz.ccrew.flightmanagement.mapper.PaymentMapper;
 import uz.ccrew.flightmanagement.exp.BadRequestException;
 import uz.ccrew.flightmanagement.service.ReservationService;
+import uz.ccrew.flightmanagement.service.SeatHoldService;
 import uz.ccrew.flightmanagement.enums.ReservationStatusCode;
 import uz.ccrew.flightmanagement.entity.ItineraryReservation;
 import uz.ccrew.flightmanagement.repository.ReservationRepository;
+import uz.ccrew.flightmanagement.repository.ItineraryLegRepository;
 import uz.ccrew.flightmanagement.service.ReservationPaymentService;
 import uz.ccrew.flightmanagement.dto.reservationpayment.PaymentDTO;
 import uz.ccrew.flightmanagement.repository.ReservationPaymentRepository;
@@ -24,7 +26,9 @@ public class ReservationPaymentServiceImpl implements ReservationPaymentService
     private final AuthUtil authUtil;
     private final PaymentMapper paymentMapper;
     private final ReservationService reservationService;
+    private final SeatHoldService seatHoldService;
     private final ReservationRepository reservationRepository;
+    private final ItineraryLegRepository itineraryLegRepository;
     private final ReservationPaymentRepository reservationPaymentRepository;
 
     @Override
@@ -42,10 +46,13 @@ public class ReservationPaymentServiceImpl implements ReservationPaymentService
     public void confirmReservation(UUID paymentId) {
         List<ItineraryReservation> reservationList = reservationPaymentRepository.findByPaymentId(paymentId);
 
-        reservationList.parallelStream().forEach(reservation -> {
-            reservationService.checkToConfirmation(reservation.getReservationId(), reservation.getTravelClassCode());
-            reservation.setReservationStatusCode(ReservationStatusCode.CONFIRMED);
-        });
+        for (ItineraryReservation reservation : reservationList) {
+            if (reservation.getHoldExpiresAt() == null) {
+                reservationService.checkToConfirmation(reservation.getReservationId(), reservation.getTravelClassCode());
+            }
+            List<Long> flightNumbers = itineraryLegRepository.findFlightNumbersByReservationId(reservation.getReservationId());
+            seatHoldService.confirm(reservation, flightNumbers);
+        }
 
         reservationRepository.saveAll(reservationList);
     }
@@ -54,10 +61,13 @@ public class ReservationPaymentServiceImpl implements ReservationPaymentService
     public void reverseReservation(UUID paymentId) {
         List<ItineraryReservation> reservationList = reservationPaymentRepository.findByPaymentId(paymentId);
 
-        reservationList.parallelStream().forEach(reservation -> {
+        for (ItineraryReservation reservation : reservationList) {
             reservationService.reverseReservation(reservation.getReservationId());
+            if (ReservationStatusCode.CONFIRMED.equals(reservation.getReservationStatusCode())) {
+                seatHoldService.release(reservation, itineraryLegRepository.findFlightNumbersByReservationId(reservation.getReservationId()));
+            }
             reservation.setReservationStatusCode(ReservationStatusCode.REVERSED);
-        });
+        }
 
         reservationRepository.saveAll(reservationList);
     }
@@ -5,6 +5,8 @@ import uz.ccrew.flightmanagement.service.*;
 import uz.ccrew.flightmanagement.repository.*;
 import uz.ccrew.flightmanagement.util.AuthUtil;
 import uz.ccrew.flightmanagement.util.RandomUtil;
+import uz.ccrew.flightmanagement.util.CursorUtil;
+import uz.ccrew.flightmanagement.dto.CursorPage;
 import uz.ccrew.flightmanagement.dto.reservation.*;
 import uz.ccrew.flightmanagement.dto.flightSchedule.*;
 import uz.ccrew.flightmanagement.enums.TravelClassCode;
@@ -19,6 +21,7 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.*;
 import jakarta.transaction.Transactional;
 import org.springframework.stereotype.Service;
+import org.springframework.jdbc.core.JdbcTemplate;
 
 import java.util.*;
 import java.time.LocalDate;
@@ -27,15 +30,23 @@ import java.time.LocalDateTime;
 @Service
 @RequiredArgsConstructor
 public class ReservationServiceImpl implements ReservationService {
+    private static final String INSERT_RESERVATION_PAYMENT = """
+            insert into reservation_payments (reservation_id, payment_id, created_by, created_date, last_modified_by, last_modified_date)
+            values (?, ?, ?, ?, ?, ?)
+            """;
     private final AuthUtil authUtil;
+    private final JdbcTemplate jdbcTemplate;
     private final RandomUtil randomUtil;
+    private final CursorUtil cursorUtil;
     private final LegRepository legRepository;
     private final UserRepository userRepository;
+    private final SeatHoldService seatHoldService;
     private final PassengerService passengerService;
     private final AirportRepository airportRepository;
     private final ReservationMapper reservationMapper;
     private final PaymentRepository paymentRepository;
     private final FlightCostService flightCostService;
+    private final FlightGraphService flightGraphService;
     private final OneWayFlightService oneWayFlightService;
     private final ItineraryLegService itineraryLegService;
     private final FlightScheduleMapper flightScheduleMapper;
@@ -46,7 +57,6 @@ public class ReservationServiceImpl implements ReservationService {
     private final ItineraryLegRepository itineraryLegRepository;
     private final BookingAgentRepository bookingAgentRepository;
     private final FlightScheduleRepository flightScheduleRepository;
-    private final ReservationPaymentRepository reservationPaymentRepository;
     private final TravelClassCapacityRepository travelClassCapacityRepository;
 
     @Transactional
@@ -150,6 +160,7 @@ public class ReservationServiceImpl implements ReservationService {
                 .flightSchedule(flightSchedule)
                 .build();
         legRepository.save(leg);
+        flightGraphService.refresh(flightSchedule.getFlightNumber());
 
         BookingAgent bookingAgent = bookingAgentRepository.loadById(dto.mainDTO().bookingAgentId());
         Passenger passenger = passengerService.getPassenger(dto.mainDTO().passenger());
@@ -180,6 +191,62 @@ public class ReservationServiceImpl implements ReservationService {
         return reservationMapper.toDTO(reservation);
     }
 
+    /**
+     * Books every passenger of a group on the same itinerary in one transaction: one availability check for the
+     * whole group, one seat counter update of N per flight, and batched inserts for the passengers' reservations,
+     * legs and payments. Each passenger gets an own reservation and payment, so they can be paid and cancelled
+     * separately. Cashback is not applied to group bookings.
+     */
+    @Transactional
+    @Override
+    public List<ReservationDTO> makeGroup(GroupReservationCreateDTO dto) {
+        BookingAgent bookingAgent = bookingAgentRepository.loadById(dto.bookingAgentId());
+        List<Long> flightNumbers = dto.flightNumbers().stream().distinct().toList();
+        List<FlightSchedule> flights = new ArrayList<>(flightScheduleRepository.findAllById(flightNumbers));
+        if (flights.size() != flightNumbers.size()) {
+            throw new BadRequestException("Flight not found");
+        }
+        flights.sort(Comparator.comparingInt(flight -> flightNumbers.indexOf(flight.getFlightNumber())));
+
+        Map<TravelClassCode, Integer> availableSeats;
+        Map<TravelClassCode, Long> costList;
+        if (flights.size() == 1) {
+            OneWayFlightDTO oneWayFlight = oneWayFlightService.getOneWayFlight(flights.getFirst())
+                    .orElseThrow(() -> new BadRequestException("Invalid one way flight"));
+            availableSeats = oneWayFlight.travelClassAvailableSeats();
+            costList = oneWayFlight.travelClassCostList();
+        } else {
+            MultiCityFlightDTO multiCityFlight = multiCityFlightService.getMultiCityFlight(flights)
+                    .orElseThrow(() -> new BadRequestException("Invalid multi city flight"));
+            availableSeats = multiCityFlight.travelClassAvailableSeats();
+            costList = multiCityFlight.travelClassCostList();
+        }
+        //check
+        checkToAvailability(availableSeats, costList, dto.travelClassCode(), dto.passengers().size());
+
+        List<ItineraryReservation> reservations = new ArrayList<>(dto.passengers().size());
+        LocalDateTime now = LocalDateTime.now();
+        for (Passenger passenger : passengerService.getPassengers(dto.passengers())) {
+            reservations.add(ItineraryReservation.builder()
+                    .agent(bookingAgent)
+                    .passenger(passenger)
+                    .reservationStatusCode(ReservationStatusCode.CREATED)
+                    .dateReservationMade(now)
+                    .ticketTypeCode(dto.ticketTypeCode())
+                    .travelClassCode(dto.travelClassCode())
+                    .numberInParty(randomUtil.getRandomSeatNumber())
+                    .build());
+        }
+        seatHoldService.hold(reservations, dto.travelClassCode(), flightNumbers);
+        // flushed so the batches below can reference the reservations
+        reservationRepository.saveAllAndFlush(reservations);
+
+        itineraryLegService.addItineraryLegs(reservations, flightNumbers);
+        addPayments(reservations, costList.get(dto.travelClassCode()));
+
+        return reservationMapper.toDTOList(reservations);
+    }
+
     @Override
     public List<FlightScheduleDTO> getFlightList(Long reservationId) {
         List<FlightSchedule> flightList = reservationRepository.getFlightListByReservationId(reservationId, authUtil.loadLoggedUser().getId());
@@ -230,9 +297,13 @@ public class ReservationServiceImpl implements ReservationService {
     @Override
     public ReservationDTO cancel(Long reservationId) {
         ItineraryReservation reservation = reservationRepository.loadById(reservationId);
-        if (!reservation.getReservationStatusCode().equals(ReservationStatusCode.CREATED)) {
+        if (!reservation.getReservationStatusCode().equals(ReservationStatusCode.CREATED)
+                || reservationRepository.cancelCreated(reservationId) == 0) {
             throw new BadRequestException("Reservation status must be CREATED to cancel");
         }
+        if (reservation.getHoldExpiresAt() != null) {
+            seatHoldService.release(reservation, itineraryLegRepository.findFlightNumbersByReservationId(reservationId));
+        }
         reservation.setReservationStatusCode(ReservationStatusCode.CANCELED);
         reservationRepository.save(reservation);
 
@@ -249,8 +320,24 @@ public class ReservationServiceImpl implements ReservationService {
         return new PageImpl<>(dtoList, pageable, pageObj.getTotalElements());
     }
 
+    @Override
+    public CursorPage<ReservationDTO> getList(String cursor, int size, boolean withCount) {
+        Long customerId = authUtil.loadLoggedUser().getId();
+        CursorUtil.TimeKey after = cursorUtil.decodeTimeKey(cursor, new CursorUtil.TimeKey(CursorUtil.MAX_TIME, Long.MAX_VALUE));
+
+        List<ItineraryReservation> rows = reservationRepository.findByCreatedByBefore(customerId, after.time(), after.id(), cursorUtil.window(size));
+        Long count = withCount ? reservationRepository.countByCreatedBy(customerId, CursorUtil.COUNT_LIMIT) : null;
+
+        return cursorUtil.page(rows, size, reservation -> new Object[]{reservation.getDateReservationMade(), reservation.getReservationId()},
+                reservationMapper::toDTOList, count);
+    }
+
     private void checkToAvailability(Map<TravelClassCode, Integer> availableSeats, Map<TravelClassCode, Long> travelClassCostList, TravelClassCode travelClassCode) {
-        if (availableSeats.getOrDefault(travelClassCode, 0) < 1) {
+        checkToAvailability(availableSeats, travelClassCostList, travelClassCode, 1);
+    }
+
+    private void checkToAvailability(Map<TravelClassCode, Integer> availableSeats, Map<TravelClassCode, Long> travelClassCostList, TravelClassCode travelClassCode, int seats) {
+        if (availableSeats.getOrDefault(travelClassCode, 0) < seats) {
             throw new BadRequestException("There is no available seat for this one way flight with request travel class code");
         }
 
@@ -271,16 +358,18 @@ public class ReservationServiceImpl implements ReservationService {
                 .travelClassCode(mainDTO.travelClassCode())
                 .numberInParty(randomUtil.getRandomSeatNumber())
                 .build();
-        reservationRepository.save(reservation);
+        seatHoldService.hold(reservation, List.of(flightNumbers));
+        // flushed so the batches below can reference the reservation
+        reservationRepository.saveAndFlush(reservation);
 
-        itineraryLegService.addItineraryLegs(reservation, flightNumbers);
+        itineraryLegService.addItineraryLegs(List.of(reservation), List.of(flightNumbers));
 
         User user = authUtil.loadLoggedUser();
         if (mainDTO.useCashback() || user.getCashbackAmount() < 0) {
             paymentAmount = useCashback(paymentAmount);
         }
 
-        addPayment(reservation, paymentAmount);
+        addPayments(List.of(reservation), paymentAmount);
 
         return reservation;
     }
@@ -299,18 +388,23 @@ public class ReservationServiceImpl implements ReservationService {
         return paymentAmount;
     }
 
-    private void addPayment(ItineraryReservation reservation, Long paymentAmount) {
-        Payment payment = Payment.builder()
-                .paymentAmount(paymentAmount)
-                .paymentStatusCode(PaymentStatusCode.CREATED)
-                .build();
-        paymentRepository.save(payment);
-
-        ReservationPayment reservationPayment = ReservationPayment.builder()
-                .id(new ReservationPayment.ReservationPaymentId(reservation.getReservationId(), payment.getPaymentId()))
-                .payment(payment)
-                .reservation(reservation)
-                .build();
-        reservationPaymentRepository.save(reservationPayment);
+    private void addPayments(List<ItineraryReservation> reservations, Long paymentAmount) {
+        List<Payment> payments = new ArrayList<>(reservations.size());
+        for (int i = 0; i < reservations.size(); i++) {
+            payments.add(Payment.builder()
+                    .paymentAmount(paymentAmount)
+                    .paymentStatusCode(PaymentStatusCode.CREATED)
+                    .build());
+        }
+        // flushed so the batch below can reference the payments
+        paymentRepository.saveAllAndFlush(payments);
+
+        Long userId = authUtil.takeLoggedUser().map(User::getId).orElse(null);
+        LocalDateTime now = LocalDateTime.now();
+        List<Object[]> rows = new ArrayList<>(reservations.size());
+        for (int i = 0; i < reservations.size(); i++) {
+            rows.add(new Object[]{reservations.get(i).getReservationId(), payments.get(i).getPaymentId(), userId, now, userId, now});
+        }
+        jdbcTemplate.batchUpdate(INSERT_RESERVATION_PAYMENT, rows);
     }
-}
\ No newline at end of file
+}
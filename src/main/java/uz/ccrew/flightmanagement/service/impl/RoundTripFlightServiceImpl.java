@@ -1,8 +1,13 @@
 package uz.ccrew.flightmanagement.service.impl;
 
 import uz.ccrew.flightmanagement.util.FlightUtil;
+import uz.ccrew.flightmanagement.util.SearchExecutor;
+import uz.ccrew.flightmanagement.util.ClassAvailability;
+import uz.ccrew.flightmanagement.enums.AirlineCode;
+import uz.ccrew.flightmanagement.entity.FlightSchedule;
 import uz.ccrew.flightmanagement.dto.flightSchedule.*;
 import uz.ccrew.flightmanagement.mapper.FlightScheduleMapper;
+import uz.ccrew.flightmanagement.service.SeatInventoryService;
 import uz.ccrew.flightmanagement.service.RoundTripFlightService;
 import uz.ccrew.flightmanagement.repository.FlightScheduleRepository;
 
@@ -15,18 +20,56 @@ import java.util.*;
 @RequiredArgsConstructor
 public class RoundTripFlightServiceImpl implements RoundTripFlightService {
     private final FlightUtil flightUtil;
+    private final SearchExecutor searchExecutor;
     private final FlightScheduleRepository flightRepository;
     private final FlightScheduleMapper flightScheduleMapper;
+    private final SeatInventoryService seatInventoryService;
 
     @Override
     public List<RoundTripFlightDTO> getRoundTripFlights(FlightListRequestDTO dto) {
-        List<RoundTrip> roundTrips = flightRepository.findRoundTrip(dto.departureCity(), dto.arrivalCity(), dto.departureDate(), dto.returnDate());
+        List<FlightSchedule> flights = flightRepository.findOneWay(dto.departureCity(), dto.arrivalCity(), dto.departureDate());
+        List<FlightSchedule> returnFlights = flightRepository.findOneWay(dto.arrivalCity(), dto.departureCity(), dto.returnDate());
+        if (flights.isEmpty() || returnFlights.isEmpty()) {
+            return List.of();
+        }
+
+        Map<RoundTripKey, List<FlightSchedule>> returnFlightMap = new HashMap<>();
+        for (FlightSchedule returnFlight : returnFlights) {
+            RoundTripKey key = new RoundTripKey(returnFlight.getAirlineCode(), returnFlight.getDestinationAirport().getCity(), returnFlight.getOriginAirport().getCity());
+            returnFlightMap.computeIfAbsent(key, k -> new ArrayList<>()).add(returnFlight);
+        }
 
-        return roundTrips.parallelStream()
-                .map(this::getRoundTrip)
-                .filter(Optional::isPresent)
-                .map(Optional::get)
-                .toList();
+        Set<Long> flightNumbers = new HashSet<>();
+        flights.forEach(flight -> flightNumbers.add(flight.getFlightNumber()));
+        returnFlights.forEach(flight -> flightNumbers.add(flight.getFlightNumber()));
+        Map<Long, ClassAvailability> availabilityMap = seatInventoryService.getClassAvailability(flightNumbers);
+
+        // the aggregation is a few array operations, cheaper than handing each pair to another thread
+        List<RoundTripFlightDTO> result = new ArrayList<>();
+        for (FlightSchedule flight : flights) {
+            ClassAvailability availability = availabilityMap.get(flight.getFlightNumber());
+            if (availability == null) {
+                continue;
+            }
+            RoundTripKey key = new RoundTripKey(flight.getAirlineCode(), flight.getOriginAirport().getCity(), flight.getDestinationAirport().getCity());
+            for (FlightSchedule returnFlight : returnFlightMap.getOrDefault(key, List.of())) {
+                ClassAvailability returnAvailability = availabilityMap.get(returnFlight.getFlightNumber());
+                if (returnAvailability == null
+                        || returnFlight.getFlightNumber().equals(flight.getFlightNumber())
+                        || !flight.getDepartureDateTime().isBefore(returnFlight.getDepartureDateTime())) {
+                    continue;
+                }
+                ClassAvailability aggregation = ClassAvailability.aggregate(availability, returnAvailability);
+                if (aggregation == null) {
+                    continue;
+                }
+                result.add(toDTO(new RoundTrip(flight, returnFlight), aggregation.toDTO()));
+                if (result.size() >= searchExecutor.getMaxResults()) {
+                    return result;
+                }
+            }
+        }
+        return result;
     }
 
     @Override
@@ -36,12 +79,18 @@ public class RoundTripFlightServiceImpl implements RoundTripFlightService {
             return Optional.empty();
         }
 
-        RoundTripFlightDTO roundTripFlightDTO = RoundTripFlightDTO.builder()
+        return Optional.of(toDTO(roundTrip, travelClassAggregation));
+    }
+
+    private RoundTripFlightDTO toDTO(RoundTrip roundTrip, TravelClassAggregationDTO travelClassAggregation) {
+        return RoundTripFlightDTO.builder()
                 .flightDTO(flightScheduleMapper.toDTO(roundTrip.flight()))
                 .returnFlightDTO(flightScheduleMapper.toDTO(roundTrip.returnFlight()))
                 .travelClassCostList(travelClassAggregation.classCost())
                 .travelClassAvailableSeats(travelClassAggregation.classSeats())
                 .build();
-        return Optional.of(roundTripFlightDTO);
+    }
+
+    private record RoundTripKey(AirlineCode airlineCode, String originCity, String destinationCity) {
     }
 }
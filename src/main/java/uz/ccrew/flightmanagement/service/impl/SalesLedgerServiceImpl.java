@@ -0,0 +1,226 @@
+package uz.ccrew.flightmanagement.service.impl;
+
+import uz.ccrew.flightmanagement.entity.FlightSales;
+import uz.ccrew.flightmanagement.dto.report.SalesEntryDTO;
+import uz.ccrew.flightmanagement.enums.PaymentStatusCode;
+import uz.ccrew.flightmanagement.dto.report.FlightSalesDTO;
+import uz.ccrew.flightmanagement.dto.report.FlightRevenueDTO;
+import uz.ccrew.flightmanagement.service.SalesLedgerService;
+import uz.ccrew.flightmanagement.dto.report.TravelClassSalesDTO;
+import uz.ccrew.flightmanagement.dto.report.ReservationFlightDTO;
+import uz.ccrew.flightmanagement.repository.FlightSalesRepository;
+import uz.ccrew.flightmanagement.repository.ItineraryLegRepository;
+import uz.ccrew.flightmanagement.repository.FlightScheduleRepository;
+import uz.ccrew.flightmanagement.repository.ReservationPaymentRepository;
+
+import lombok.extern.slf4j.Slf4j;
+import lombok.RequiredArgsConstructor;
+import jakarta.transaction.Transactional;
+import org.springframework.stereotype.Service;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.*;
+import java.time.LocalDate;
+
+/**
+ * Keeps one sales row per flight and travel class, posted when a payment is paid or reversed.
+ * A payment covers every flight of its reservation, so its amount is split evenly across those flights
+ * (the remainder going to the lowest flight number) instead of being counted once per leg.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SalesLedgerServiceImpl implements SalesLedgerService {
+    private final FlightSalesRepository flightSalesRepository;
+    private final ItineraryLegRepository itineraryLegRepository;
+    private final FlightScheduleRepository flightScheduleRepository;
+    private final ReservationPaymentRepository reservationPaymentRepository;
+
+    /**
+     * Recomputes the ledger from the settled payments and corrects every row that drifted from it, for a ledger left
+     * partial or wrong by a crash, a restore or a manual fix. The existing rows are locked before the payments are
+     * read: a sale that committed earlier is in the totals, one still running waits and adds its amount on top of the
+     * corrected row. A missing row is created under its flight's lock, like a first sale, and skipped if a sale
+     * created it meanwhile.
+     */
+    @Transactional
+    @Override
+    public void rebuild() {
+        List<FlightSales> rows = flightSalesRepository.findAllForUpdate();
+
+        Map<Long, List<Long>> reservationFlights = new HashMap<>();
+        for (ReservationFlightDTO dto : itineraryLegRepository.findSettledReservationFlights()) {
+            reservationFlights.computeIfAbsent(dto.reservationId(), id -> new ArrayList<>()).add(dto.flightNumber());
+        }
+
+        Map<FlightSales.FlightSalesId, FlightSales> ledger = new HashMap<>();
+        for (SalesEntryDTO entry : reservationPaymentRepository.findSettledSalesEntries()) {
+            List<Long> flightNumbers = reservationFlights.getOrDefault(entry.reservationId(), List.of());
+            post(entry, flightNumbers, false, (id, amount) ->
+                    add(ledger.computeIfAbsent(id, this::emptyRow), amount, false));
+            if (entry.paymentStatusCode() == PaymentStatusCode.REVERSED) {
+                post(entry, flightNumbers, true, (id, amount) ->
+                        add(ledger.computeIfAbsent(id, this::emptyRow), amount, true));
+            }
+        }
+
+        int corrected = 0;
+        List<FlightSales> stale = new ArrayList<>();
+        for (FlightSales row : rows) {
+            FlightSales expected = ledger.remove(row.getId());
+            if (expected == null) {
+                if (row.getSoldCount() != 0 || row.getReversedCount() != 0) {
+                    stale.add(row);
+                }
+            } else if (!sameTotals(row, expected)) {
+                row.setGrossAmount(expected.getGrossAmount());
+                row.setReversedAmount(expected.getReversedAmount());
+                row.setSoldCount(expected.getSoldCount());
+                row.setReversedCount(expected.getReversedCount());
+                corrected++;
+            }
+        }
+        flightSalesRepository.deleteAll(stale);
+
+        List<FlightSales> missing = new ArrayList<>(ledger.values());
+        missing.sort(Comparator.comparing((FlightSales row) -> row.getId().getFlightNumber())
+                .thenComparing(row -> row.getId().getTravelClassCode()));
+        int added = 0;
+        for (FlightSales row : missing) {
+            flightScheduleRepository.lockById(row.getId().getFlightNumber());
+            if (flightSalesRepository.existsById(row.getId())) {
+                log.warn("Sales row {} {} was created during the rebuild and is left as is", row.getId().getFlightNumber(),
+                        row.getId().getTravelClassCode());
+                continue;
+            }
+            flightSalesRepository.save(row);
+            added++;
+        }
+
+        if (corrected + stale.size() + added > 0) {
+            log.info("Sales ledger reconciled: {} rows corrected, {} removed, {} added", corrected, stale.size(), added);
+        }
+    }
+
+    @Override
+    public void recordSale(UUID paymentId) {
+        record(paymentId, false);
+    }
+
+    @Override
+    public void recordReversal(UUID paymentId) {
+        record(paymentId, true);
+    }
+
+    @Override
+    public Long getNetSales(Long flightNumber) {
+        return flightSalesRepository.getNetAmountByFlightNumber(flightNumber);
+    }
+
+    @Override
+    public FlightSalesDTO getFlightSales(Long flightNumber) {
+        List<TravelClassSalesDTO> travelClasses = new ArrayList<>();
+        long gross = 0;
+        long reversed = 0;
+        for (FlightSales sales : flightSalesRepository.findById_FlightNumber(flightNumber)) {
+            gross += sales.getGrossAmount();
+            reversed += sales.getReversedAmount();
+            travelClasses.add(TravelClassSalesDTO.builder()
+                    .travelClassCode(sales.getId().getTravelClassCode())
+                    .grossAmount(sales.getGrossAmount())
+                    .reversedAmount(sales.getReversedAmount())
+                    .netAmount(sales.getGrossAmount() - sales.getReversedAmount())
+                    .soldCount(sales.getSoldCount())
+                    .reversedCount(sales.getReversedCount())
+                    .build());
+        }
+        travelClasses.sort(Comparator.comparing(TravelClassSalesDTO::travelClassCode));
+
+        return FlightSalesDTO.builder()
+                .flightNumber(flightNumber)
+                .grossAmount(gross)
+                .reversedAmount(reversed)
+                .netAmount(gross - reversed)
+                .travelClasses(travelClasses)
+                .build();
+    }
+
+    @Override
+    public List<FlightRevenueDTO> getTopFlights(LocalDate from, LocalDate to, int limit) {
+        return flightSalesRepository.findTopFlightsByRevenue(from.atStartOfDay(), to.plusDays(1).atStartOfDay(), PageRequest.of(0, limit));
+    }
+
+    private void record(UUID paymentId, boolean reversal) {
+        for (SalesEntryDTO entry : reservationPaymentRepository.findSalesEntriesByPaymentId(paymentId)) {
+            List<Long> flightNumbers = itineraryLegRepository.findFlightNumbersByReservationId(entry.reservationId());
+            post(entry, flightNumbers, reversal, (id, amount) -> {
+                if (addToRow(id, amount, reversal) == 0) {
+                    createRow(id, amount, reversal);
+                }
+            });
+        }
+    }
+
+    private int addToRow(FlightSales.FlightSalesId id, long amount, boolean reversal) {
+        return reversal
+                ? flightSalesRepository.addReversal(id.getFlightNumber(), id.getTravelClassCode(), amount)
+                : flightSalesRepository.addSale(id.getFlightNumber(), id.getTravelClassCode(), amount);
+    }
+
+    /**
+     * Creates the row of a flight's first sale in the caller's transaction. The flight row is locked first, so
+     * concurrent first sales of the same flight wait for each other and the later ones find the row on their retry
+     * instead of inserting it twice. Flights are posted in ascending order, so two payments cannot deadlock here.
+     */
+    private void createRow(FlightSales.FlightSalesId id, long amount, boolean reversal) {
+        flightScheduleRepository.lockById(id.getFlightNumber());
+        if (addToRow(id, amount, reversal) == 0) {
+            flightSalesRepository.insertEmpty(id.getFlightNumber(), id.getTravelClassCode().name());
+            addToRow(id, amount, reversal);
+        }
+    }
+
+    private void post(SalesEntryDTO entry, List<Long> flightNumbers, boolean reversal, Posting posting) {
+        if (flightNumbers.isEmpty()) {
+            return;
+        }
+        List<Long> sorted = flightNumbers.stream().sorted().toList();
+        long amount = entry.paymentAmount() == null ? 0 : entry.paymentAmount();
+        long share = amount / sorted.size();
+        long remainder = amount % sorted.size();
+        for (int i = 0; i < sorted.size(); i++) {
+            posting.post(new FlightSales.FlightSalesId(sorted.get(i), entry.travelClassCode()), i == 0 ? share + remainder : share);
+        }
+    }
+
+    private boolean sameTotals(FlightSales row, FlightSales expected) {
+        return row.getGrossAmount().equals(expected.getGrossAmount())
+                && row.getReversedAmount().equals(expected.getReversedAmount())
+                && row.getSoldCount().equals(expected.getSoldCount())
+                && row.getReversedCount().equals(expected.getReversedCount());
+    }
+
+    private FlightSales emptyRow(FlightSales.FlightSalesId id) {
+        return FlightSales.builder()
+                .id(id)
+                .grossAmount(0L)
+                .reversedAmount(0L)
+                .soldCount(0L)
+                .reversedCount(0L)
+                .build();
+    }
+
+    private void add(FlightSales row, long amount, boolean reversal) {
+        if (reversal) {
+            row.setReversedAmount(row.getReversedAmount() + amount);
+            row.setReversedCount(row.getReversedCount() + 1);
+        } else {
+            row.setGrossAmount(row.getGrossAmount() + amount);
+            row.setSoldCount(row.getSoldCount() + 1);
+        }
+    }
+
+    private interface Posting {
+        void post(FlightSales.FlightSalesId id, long amount);
+    }
+}
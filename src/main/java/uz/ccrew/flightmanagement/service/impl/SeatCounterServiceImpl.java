@@ -0,0 +1,124 @@
+package uz.ccrew.flightmanagement.service.impl;
+
+import uz.ccrew.flightmanagement.enums.TravelClassCode;
+import uz.ccrew.flightmanagement.entity.FlightSeatCounter;
+import uz.ccrew.flightmanagement.exp.BadRequestException;
+import uz.ccrew.flightmanagement.dto.flightcost.FlightCostDTO;
+import uz.ccrew.flightmanagement.service.SeatCounterService;
+import uz.ccrew.flightmanagement.service.SeatInventoryService;
+import uz.ccrew.flightmanagement.repository.FlightCostRepository;
+import uz.ccrew.flightmanagement.dto.reservation.FlightClassSeatDTO;
+import uz.ccrew.flightmanagement.repository.ItineraryLegRepository;
+import uz.ccrew.flightmanagement.repository.FlightSeatCounterRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import jakarta.transaction.Transactional;
+import org.springframework.stereotype.Service;
+import org.springframework.context.event.EventListener;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+
+import java.util.*;
+import java.util.function.Predicate;
+
+/**
+ * Keeps the number of confirmed seats per flight and travel class in one row each. A seat is taken with a
+ * single conditional update that only succeeds while seats are left, so concurrent confirmations on the same
+ * flight serialize on that row instead of all passing a check made against a stale count.
+ * <p>
+ * Rows are created together with a flight's cost, before the flight can be booked, so taking a seat never
+ * has to insert one under contention.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SeatCounterServiceImpl implements SeatCounterService {
+    private final SeatInventoryService seatInventoryService;
+    private final FlightCostRepository flightCostRepository;
+    private final ItineraryLegRepository itineraryLegRepository;
+    private final FlightSeatCounterRepository flightSeatCounterRepository;
+
+    /**
+     * Creates the missing counters and recounts the existing ones from confirmed reservations and live holds, in the
+     * database, so counters that drifted while the application was down are corrected on the next start.
+     */
+    @Transactional
+    @Override
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        Set<Long> flightNumbers = new HashSet<>();
+        for (FlightCostDTO cost : flightCostRepository.findAllCosts()) {
+            flightNumbers.add(cost.flightNumber());
+        }
+        Map<FlightSeatCounter.FlightSeatCounterId, Integer> reservedSeats = new HashMap<>();
+        for (FlightClassSeatDTO seat : itineraryLegRepository.getReservedSeats()) {
+            flightNumbers.add(seat.flightNumber());
+            reservedSeats.put(new FlightSeatCounter.FlightSeatCounterId(seat.flightNumber(), seat.travelClassCode()), seat.reservedSeats().intValue());
+        }
+        Set<FlightSeatCounter.FlightSeatCounterId> existing = new HashSet<>();
+        flightSeatCounterRepository.findAll().forEach(counter -> existing.add(counter.getId()));
+        createMissing(flightNumbers, reservedSeats, existing::contains);
+
+        int corrected = flightSeatCounterRepository.recount();
+        if (corrected > 0) {
+            log.info("Seat counters reconciled: {} rows corrected", corrected);
+        }
+    }
+
+    @Transactional
+    @Override
+    public void createCounters(Long flightNumber) {
+        Map<FlightSeatCounter.FlightSeatCounterId, Integer> reservedSeats = new HashMap<>();
+        for (FlightClassSeatDTO seat : itineraryLegRepository.getReservedSeatsByFlights(List.of(flightNumber))) {
+            reservedSeats.put(new FlightSeatCounter.FlightSeatCounterId(seat.flightNumber(), seat.travelClassCode()), seat.reservedSeats().intValue());
+        }
+        createMissing(Set.of(flightNumber), reservedSeats, flightSeatCounterRepository::existsById);
+    }
+
+    @Transactional
+    @Override
+    public void reserve(List<Long> flightNumbers, TravelClassCode travelClassCode) {
+        reserve(flightNumbers, travelClassCode, 1);
+    }
+
+    /**
+     * Takes {@code seats} seats on every flight, or none: a flight without that many seats left fails the whole
+     * call and the caller's transaction rolls the other flights back. Flights are updated in ascending order so two
+     * itineraries sharing flights cannot deadlock on each other's rows.
+     */
+    @Transactional
+    @Override
+    public void reserve(List<Long> flightNumbers, TravelClassCode travelClassCode, int seats) {
+        for (Long flightNumber : flightNumbers.stream().distinct().sorted().toList()) {
+            int totalSeats = seatInventoryService.getTotalSeats(flightNumber, travelClassCode);
+            if (flightSeatCounterRepository.reserve(flightNumber, travelClassCode, seats, totalSeats) == 0) {
+                throw new BadRequestException("There is no available seat on flight " + flightNumber + " for " + travelClassCode + " class");
+            }
+        }
+    }
+
+    @Transactional
+    @Override
+    public void release(List<Long> flightNumbers, TravelClassCode travelClassCode) {
+        for (Long flightNumber : flightNumbers.stream().distinct().sorted().toList()) {
+            flightSeatCounterRepository.release(flightNumber, travelClassCode);
+        }
+    }
+
+    private void createMissing(Set<Long> flightNumbers, Map<FlightSeatCounter.FlightSeatCounterId, Integer> reservedSeats,
+                               Predicate<FlightSeatCounter.FlightSeatCounterId> exists) {
+        List<FlightSeatCounter> counters = new ArrayList<>();
+        for (Long flightNumber : flightNumbers) {
+            for (TravelClassCode travelClassCode : TravelClassCode.values()) {
+                FlightSeatCounter.FlightSeatCounterId id = new FlightSeatCounter.FlightSeatCounterId(flightNumber, travelClassCode);
+                if (!exists.test(id)) {
+                    counters.add(FlightSeatCounter.builder()
+                            .id(id)
+                            .reservedSeats(reservedSeats.getOrDefault(id, 0))
+                            .build());
+                }
+            }
+        }
+        flightSeatCounterRepository.saveAll(counters);
+    }
+}
@@ -0,0 +1,144 @@
+package uz.ccrew.flightmanagement.service.impl;
+
+import uz.ccrew.flightmanagement.enums.TravelClassCode;
+import uz.ccrew.flightmanagement.exp.BadRequestException;
+import uz.ccrew.flightmanagement.service.SeatHoldService;
+import uz.ccrew.flightmanagement.entity.ItineraryReservation;
+import uz.ccrew.flightmanagement.service.SeatCounterService;
+import uz.ccrew.flightmanagement.enums.ReservationStatusCode;
+import uz.ccrew.flightmanagement.service.SeatInventoryService;
+import uz.ccrew.flightmanagement.repository.ReservationRepository;
+import uz.ccrew.flightmanagement.dto.reservation.FlightClassSeatDTO;
+import uz.ccrew.flightmanagement.repository.ItineraryLegRepository;
+import uz.ccrew.flightmanagement.repository.FlightSeatCounterRepository;
+
+import lombok.extern.slf4j.Slf4j;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Service;
+import io.micrometer.core.instrument.DistributionSummary;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A CREATED reservation holds its seats for {@code reservation.hold.ttl}. The seats are taken from the seat
+ * counters when the reservation is made, so they count against availability until the hold is paid, cancelled
+ * or swept. The sweeper expires overdue holds in batches, each batch one transaction: lock the overdue rows,
+ * mark them EXPIRED with one update and give their seats back grouped per flight and class. Rows locked by a
+ * sweeper on another instance are skipped rather than waited for.
+ */
+@Slf4j
+@Service
+public class SeatHoldServiceImpl implements SeatHoldService {
+    private final SeatCounterService seatCounterService;
+    private final SeatInventoryService seatInventoryService;
+    private final ReservationRepository reservationRepository;
+    private final ItineraryLegRepository itineraryLegRepository;
+    private final FlightSeatCounterRepository flightSeatCounterRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration ttl;
+    private final int batchSize;
+    private final DistributionSummary expiredPerRun;
+    private final AtomicLong lagMillis = new AtomicLong();
+
+    public SeatHoldServiceImpl(SeatCounterService seatCounterService, SeatInventoryService seatInventoryService,
+                               ReservationRepository reservationRepository, ItineraryLegRepository itineraryLegRepository,
+                               FlightSeatCounterRepository flightSeatCounterRepository, PlatformTransactionManager transactionManager,
+                               MeterRegistry meterRegistry,
+                               @Value("${reservation.hold.ttl:15m}") Duration ttl,
+                               @Value("${reservation.hold.batch-size:500}") int batchSize) {
+        this.seatCounterService = seatCounterService;
+        this.seatInventoryService = seatInventoryService;
+        this.reservationRepository = reservationRepository;
+        this.itineraryLegRepository = itineraryLegRepository;
+        this.flightSeatCounterRepository = flightSeatCounterRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.ttl = ttl;
+        this.batchSize = batchSize;
+        this.expiredPerRun = DistributionSummary.builder("reservation.hold.expired").register(meterRegistry);
+        Gauge.builder("reservation.hold.sweep.lag", lagMillis, AtomicLong::get)
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void hold(ItineraryReservation reservation, List<Long> flightNumbers) {
+        hold(List.of(reservation), reservation.getTravelClassCode(), flightNumbers);
+    }
+
+    /**
+     * Holds one seat per reservation with a single counter update per flight, so a group either gets all of its
+     * seats or none of them.
+     */
+    @Override
+    public void hold(List<ItineraryReservation> reservations, TravelClassCode travelClassCode, List<Long> flightNumbers) {
+        seatCounterService.reserve(flightNumbers, travelClassCode, reservations.size());
+        seatInventoryService.reserve(flightNumbers, travelClassCode, reservations.size());
+        LocalDateTime holdExpiresAt = LocalDateTime.now().plus(ttl);
+        reservations.forEach(reservation -> reservation.setHoldExpiresAt(holdExpiresAt));
+    }
+
+    @Override
+    public void confirm(ItineraryReservation reservation, List<Long> flightNumbers) {
+        if (!ReservationStatusCode.CREATED.equals(reservation.getReservationStatusCode())) {
+            throw new BadRequestException("Reservation status must be CREATED to confirm");
+        }
+        if (reservation.getHoldExpiresAt() == null) {
+            // made before seats were held on creation, take the seat now
+            seatCounterService.reserve(flightNumbers, reservation.getTravelClassCode());
+            seatInventoryService.reserve(flightNumbers, reservation.getTravelClassCode());
+        } else if (reservationRepository.confirmHold(reservation.getReservationId(), LocalDateTime.now()) == 0) {
+            throw new BadRequestException("Reservation hold has expired");
+        }
+        reservation.setReservationStatusCode(ReservationStatusCode.CONFIRMED);
+    }
+
+    @Override
+    public void release(ItineraryReservation reservation, List<Long> flightNumbers) {
+        seatCounterService.release(flightNumbers, reservation.getTravelClassCode());
+        seatInventoryService.release(flightNumbers, reservation.getTravelClassCode());
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${reservation.hold.sweep-interval:PT30S}")
+    public int expireHolds() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime oldest = reservationRepository.findOldestExpiredHold(now);
+        lagMillis.set(oldest == null ? 0 : Duration.between(oldest, now).toMillis());
+
+        int expired = 0;
+        int batch;
+        do {
+            batch = transactionTemplate.execute(status -> expireBatch(now));
+            expired += batch;
+        } while (batch == batchSize);
+
+        expiredPerRun.record(expired);
+        if (expired > 0) {
+            log.info("Expired {} seat holds, oldest was {} ms overdue", expired, lagMillis.get());
+        }
+        return expired;
+    }
+
+    private int expireBatch(LocalDateTime now) {
+        List<Long> reservationIds = reservationRepository.lockExpiredHoldIds(now, batchSize);
+        if (reservationIds.isEmpty()) {
+            return 0;
+        }
+
+        int expired = reservationRepository.expireHolds(reservationIds, now);
+        for (FlightClassSeatDTO seat : itineraryLegRepository.getSeatsByReservations(reservationIds, ReservationStatusCode.EXPIRED)) {
+            int seats = seat.reservedSeats().intValue();
+            flightSeatCounterRepository.release(seat.flightNumber(), seat.travelClassCode(), seats);
+            seatInventoryService.release(seat.flightNumber(), seat.travelClassCode(), seats);
+        }
+        return expired;
+    }
+}
@@ -0,0 +1,308 @@
+package uz.ccrew.flightmanagement.service.impl;
+
+import uz.ccrew.flightmanagement.util.CapacityMatrix;
+import uz.ccrew.flightmanagement.util.ClassAvailability;
+import uz.ccrew.flightmanagement.util.TransactionUtil;
+import uz.ccrew.flightmanagement.enums.TravelClassCode;
+import uz.ccrew.flightmanagement.entity.TravelClassCapacity;
+import uz.ccrew.flightmanagement.dto.flightcost.FlightCostDTO;
+import uz.ccrew.flightmanagement.service.SeatInventoryService;
+import uz.ccrew.flightmanagement.repository.FlightCostRepository;
+import uz.ccrew.flightmanagement.dto.reservation.FlightClassSeatDTO;
+import uz.ccrew.flightmanagement.repository.ItineraryLegRepository;
+import uz.ccrew.flightmanagement.repository.TravelClassCapacityRepository;
+import uz.ccrew.flightmanagement.dto.flightSchedule.TravelClassAggregationDTO;
+import uz.ccrew.flightmanagement.dto.travelclasscapacity.TravelClassCapacityDTO;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+
+import java.util.*;
+import java.time.LocalDate;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+@Service
+@RequiredArgsConstructor
+public class SeatInventoryServiceImpl implements SeatInventoryService {
+    private final TransactionUtil transactionUtil;
+    private final FlightCostRepository flightCostRepository;
+    private final ItineraryLegRepository itineraryLegRepository;
+    private final TravelClassCapacityRepository travelClassCapacityRepository;
+
+    private volatile Map<Long, FlightInventory> inventories = new ConcurrentHashMap<>();
+    private volatile CapacityMatrix capacities = CapacityMatrix.EMPTY;
+
+    @Override
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        CapacityMatrix capacityMatrix = CapacityMatrix.EMPTY;
+        for (TravelClassCapacity capacity : travelClassCapacityRepository.findAll()) {
+            capacityMatrix = capacityMatrix.with(capacity.getId().getAircraftTypeCode(), capacity.getId().getTravelClassCode(), capacity.getSeatCapacity());
+        }
+
+        Map<Long, FlightInventory> inventoryMap = new ConcurrentHashMap<>();
+        fill(inventoryMap, flightCostRepository.findAllCosts(), itineraryLegRepository.getReservedSeats());
+
+        capacities = capacityMatrix;
+        inventories = inventoryMap;
+    }
+
+    @Override
+    public Optional<TravelClassAggregationDTO> getAvailability(Long flightNumber) {
+        return Optional.ofNullable(getAvailability(List.of(flightNumber)).get(flightNumber));
+    }
+
+    @Override
+    public Map<Long, TravelClassAggregationDTO> getAvailability(Collection<Long> flightNumbers) {
+        Map<Long, TravelClassAggregationDTO> result = new HashMap<>();
+        getClassAvailability(flightNumbers).forEach((flightNumber, availability) -> result.put(flightNumber, availability.toDTO()));
+        return result;
+    }
+
+    @Override
+    public Optional<ClassAvailability> getClassAvailability(Long flightNumber) {
+        return Optional.ofNullable(getClassAvailability(List.of(flightNumber)).get(flightNumber));
+    }
+
+    @Override
+    public Map<Long, ClassAvailability> getClassAvailability(Collection<Long> flightNumbers) {
+        Map<Long, FlightInventory> loaded = loadMissing(flightNumbers);
+        Map<Long, FlightInventory> inventoryMap = inventories;
+
+        LocalDate now = LocalDate.now();
+        Map<Long, ClassAvailability> result = new HashMap<>();
+        for (Long flightNumber : flightNumbers) {
+            FlightInventory inventory = loaded.get(flightNumber);
+            ClassAvailability availability = compute(inventory == null ? inventoryMap.get(flightNumber) : inventory, now);
+            if (availability != null) {
+                result.put(flightNumber, availability);
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public int getTotalSeats(Long flightNumber, TravelClassCode travelClassCode) {
+        FlightInventory inventory = loadMissing(List.of(flightNumber)).get(flightNumber);
+        if (inventory == null) {
+            inventory = inventories.get(flightNumber);
+        }
+        if (inventory == null) {
+            return 0;
+        }
+
+        LocalDate now = LocalDate.now();
+        CapacityMatrix capacityMatrix = capacities;
+        int totalSeats = 0;
+        for (FlightCostDTO cost : inventory.costs) {
+            if (cost.validFromDate().isAfter(now) || cost.validToDate().isBefore(now)) {
+                continue;
+            }
+            totalSeats += capacityMatrix.seats(cost.aircraftTypeCode(), travelClassCode);
+        }
+        return totalSeats;
+    }
+
+    @Override
+    public void reserve(List<Long> flightNumbers, TravelClassCode travelClassCode) {
+        reserve(flightNumbers, travelClassCode, 1);
+    }
+
+    @Override
+    public void reserve(List<Long> flightNumbers, TravelClassCode travelClassCode, int seats) {
+        transactionUtil.afterCommit(() -> flightNumbers.forEach(flightNumber ->
+                inventories.computeIfAbsent(flightNumber, key -> new FlightInventory(false))
+                        .reservedSeats.addAndGet(travelClassCode.ordinal(), seats)));
+    }
+
+    @Override
+    public void release(List<Long> flightNumbers, TravelClassCode travelClassCode) {
+        transactionUtil.afterCommit(() -> flightNumbers.forEach(flightNumber -> {
+            FlightInventory inventory = inventories.get(flightNumber);
+            if (inventory != null) {
+                inventory.release(travelClassCode.ordinal(), 1);
+            }
+        }));
+    }
+
+    @Override
+    public void release(Long flightNumber, TravelClassCode travelClassCode, int seats) {
+        transactionUtil.afterCommit(() -> {
+            FlightInventory inventory = inventories.get(flightNumber);
+            if (inventory != null) {
+                inventory.release(travelClassCode.ordinal(), seats);
+            }
+        });
+    }
+
+    @Override
+    public void putCost(FlightCostDTO dto) {
+        transactionUtil.afterCommit(() -> inventories.computeIfAbsent(dto.flightNumber(), key -> new FlightInventory(false)).putCost(dto));
+    }
+
+    @Override
+    public void putCapacity(TravelClassCapacityDTO dto) {
+        transactionUtil.afterCommit(() -> {
+            synchronized (this) {
+                capacities = capacities.with(dto.aircraftTypeCode(), dto.travelClassCode(), dto.seatCapacity());
+            }
+        });
+    }
+
+    @Override
+    public void evict(Long flightNumber) {
+        transactionUtil.afterCommit(() -> inventories.remove(flightNumber));
+    }
+
+    /**
+     * Drops the flights whose costs have all expired, they have nothing left to sell, and the entries that were never
+     * loaded. Everything dropped is in the database and is read again on the next lookup.
+     */
+    @Override
+    @Scheduled(fixedDelayString = "${seat.inventory.evict-interval:PT10M}")
+    public void evictExpired() {
+        LocalDate now = LocalDate.now();
+        inventories.values().removeIf(inventory -> !inventory.loaded
+                || inventory.costs.stream().allMatch(cost -> cost.validToDate().isBefore(now)));
+    }
+
+    /**
+     * Loads the flights that are not cached yet, or were only touched by {@link #reserve} or {@link #putCost} so far,
+     * and returns them. The database snapshot replaces the seats such an entry counted before the query, which the
+     * snapshot already holds; only the seats counted while the query ran are added on top. Flights without costs are
+     * returned but not cached, so unknown flight numbers do not pile up in the map.
+     */
+    private Map<Long, FlightInventory> loadMissing(Collection<Long> flightNumbers) {
+        Map<Long, FlightInventory> inventoryMap = inventories;
+
+        Map<Long, int[]> countedBefore = new HashMap<>();
+        for (Long flightNumber : flightNumbers) {
+            FlightInventory inventory = inventoryMap.get(flightNumber);
+            if (inventory == null) {
+                countedBefore.put(flightNumber, new int[TravelClassCode.values().length]);
+            } else if (!inventory.loaded) {
+                countedBefore.put(flightNumber, inventory.reservedSeats());
+            }
+        }
+        if (countedBefore.isEmpty()) {
+            return Map.of();
+        }
+
+        Set<Long> missing = countedBefore.keySet();
+        Map<Long, FlightInventory> loaded = new HashMap<>();
+        fill(loaded, flightCostRepository.findCostsByFlightNumbers(missing), itineraryLegRepository.getReservedSeatsByFlights(missing));
+        Map<Long, FlightInventory> result = new HashMap<>();
+        loaded.forEach((flightNumber, inventory) -> result.put(flightNumber, inventory.costs.isEmpty()
+                ? inventory
+                : inventoryMap.merge(flightNumber, inventory, (current, snapshot) -> current.absorb(snapshot, countedBefore.get(flightNumber)))));
+        return result;
+    }
+
+    private void fill(Map<Long, FlightInventory> inventoryMap, List<FlightCostDTO> costs, List<FlightClassSeatDTO> reservedSeats) {
+        for (FlightCostDTO cost : costs) {
+            inventoryMap.computeIfAbsent(cost.flightNumber(), flightNumber -> new FlightInventory(true)).putCost(cost);
+        }
+        for (FlightClassSeatDTO seat : reservedSeats) {
+            inventoryMap.computeIfAbsent(seat.flightNumber(), flightNumber -> new FlightInventory(true))
+                    .reservedSeats.set(seat.travelClassCode().ordinal(), seat.reservedSeats().intValue());
+        }
+    }
+
+    private ClassAvailability compute(FlightInventory inventory, LocalDate now) {
+        if (inventory == null) {
+            return null;
+        }
+
+        CapacityMatrix capacityMatrix = capacities;
+        long[] classCosts = new long[CapacityMatrix.CLASSES];
+        int[] seats = new int[CapacityMatrix.CLASSES];
+        int classes = 0;
+        for (FlightCostDTO cost : inventory.costs) {
+            if (cost.validFromDate().isAfter(now) || cost.validToDate().isBefore(now)) {
+                continue;
+            }
+            int aircraftClasses = capacityMatrix.classMask(cost.aircraftTypeCode());
+            classes |= aircraftClasses;
+            for (int travelClass = 0; travelClass < CapacityMatrix.CLASSES; travelClass++) {
+                if ((aircraftClasses & 1 << travelClass) != 0) {
+                    seats[travelClass] += capacityMatrix.seats(cost.aircraftTypeCode(), travelClass);
+                    classCosts[travelClass] = cost.flightCost();
+                }
+            }
+        }
+
+        int seatClasses = 0;
+        for (int travelClass = 0; travelClass < CapacityMatrix.CLASSES; travelClass++) {
+            if ((classes & 1 << travelClass) == 0) {
+                continue;
+            }
+            seats[travelClass] -= inventory.reservedSeats.get(travelClass);
+            if (seats[travelClass] > 0) {
+                seatClasses |= 1 << travelClass;
+            }
+        }
+        if (seatClasses == 0) {
+            return null;
+        }
+        return new ClassAvailability(classes, classCosts, seatClasses, seats);
+    }
+
+    private static class FlightInventory {
+        private final AtomicIntegerArray reservedSeats = new AtomicIntegerArray(TravelClassCode.values().length);
+        private volatile List<FlightCostDTO> costs = List.of();
+        private volatile boolean loaded;
+
+        private FlightInventory(boolean loaded) {
+            this.loaded = loaded;
+        }
+
+        // Rebases the seats counted by this entry on a loaded snapshot, keeping what was counted after countedBefore
+        private synchronized FlightInventory absorb(FlightInventory snapshot, int[] countedBefore) {
+            if (loaded) {
+                return this;
+            }
+            for (int travelClass = 0; travelClass < reservedSeats.length(); travelClass++) {
+                int base = snapshot.reservedSeats.get(travelClass) - countedBefore[travelClass];
+                reservedSeats.updateAndGet(travelClass, reserved -> Math.max(reserved + base, 0));
+            }
+            List<FlightCostDTO> costList = new ArrayList<>(costs);
+            for (FlightCostDTO cost : snapshot.costs) {
+                if (costs.stream().noneMatch(current -> current.aircraftTypeCode().equals(cost.aircraftTypeCode())
+                        && current.validFromDate().equals(cost.validFromDate()))) {
+                    costList.add(cost);
+                }
+            }
+            costs = List.copyOf(costList);
+            loaded = true;
+            return this;
+        }
+
+        private int[] reservedSeats() {
+            int[] seats = new int[reservedSeats.length()];
+            for (int travelClass = 0; travelClass < seats.length; travelClass++) {
+                seats[travelClass] = reservedSeats.get(travelClass);
+            }
+            return seats;
+        }
+
+        // Entries that were never loaded only hold deltas, which may go below zero until they are rebased
+        private void release(int travelClass, int seats) {
+            reservedSeats.updateAndGet(travelClass, reserved -> loaded ? Math.max(reserved - seats, 0) : reserved - seats);
+        }
+
+        private synchronized void putCost(FlightCostDTO dto) {
+            List<FlightCostDTO> costList = new ArrayList<>(costs.size() + 1);
+            for (FlightCostDTO cost : costs) {
+                if (!cost.aircraftTypeCode().equals(dto.aircraftTypeCode()) || !cost.validFromDate().equals(dto.validFromDate())) {
+                    costList.add(cost);
+                }
+            }
+            costList.add(dto);
+            costs = List.copyOf(costList);
+        }
+    }
+}
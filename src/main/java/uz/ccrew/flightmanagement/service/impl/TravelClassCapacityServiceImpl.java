@@ -1,6 +1,7 @@
 package uz.ccrew.flightmanagement.service.impl;
 
 import uz.ccrew.flightmanagement.entity.TravelClassCapacity;
+import uz.ccrew.flightmanagement.service.SeatInventoryService;
 import uz.ccrew.flightmanagement.mapper.TravelClassCapacityMapper;
 import uz.ccrew.flightmanagement.service.TravelClassCapacityService;
 import uz.ccrew.flightmanagement.repository.TravelClassCapacityRepository;
@@ -13,6 +14,7 @@ import org.springframework.stereotype.Service;
 @Service
 @RequiredArgsConstructor
 public class TravelClassCapacityServiceImpl implements TravelClassCapacityService {
+    private final SeatInventoryService seatInventoryService;
     private final TravelClassCapacityMapper travelClassCapacityMapper;
     private final TravelClassCapacityRepository travelClassCapacityRepository;
 
@@ -20,6 +22,8 @@ public class TravelClassCapacityServiceImpl implements TravelClassCapacityServic
     public TravelClassCapacityDTO add(TravelClassCapacityCreateDTO dto) {
         TravelClassCapacity entity = travelClassCapacityMapper.toEntity(dto);
         travelClassCapacityRepository.save(entity);
-        return travelClassCapacityMapper.toDTO(entity);
+        TravelClassCapacityDTO result = travelClassCapacityMapper.toDTO(entity);
+        seatInventoryService.putCapacity(result);
+        return result;
     }
 }
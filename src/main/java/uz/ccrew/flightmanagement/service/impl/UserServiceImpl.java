@@ -2,6 +2,8 @@ package uz.ccrew.flightmanagement.service.impl;
 
 import uz.ccrew.flightmanagement.entity.User;
 import uz.ccrew.flightmanagement.util.AuthUtil;
+import uz.ccrew.flightmanagement.dto.CursorPage;
+import uz.ccrew.flightmanagement.util.CursorUtil;
 import uz.ccrew.flightmanagement.dto.user.UserDTO;
 import uz.ccrew.flightmanagement.mapper.UserMapper;
 import uz.ccrew.flightmanagement.service.UserService;
@@ -23,6 +25,7 @@ import java.time.LocalDateTime;
 public class UserServiceImpl implements UserService {
     private final AuthUtil authUtil;
     private final UserMapper userMapper;
+    private final CursorUtil cursorUtil;
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
 
@@ -76,6 +79,16 @@ public class UserServiceImpl implements UserService {
         return new PageImpl<>(dtoList, pageable, pageObj.getTotalElements());
     }
 
+    @Override
+    public CursorPage<UserDTO> getList(String cursor, int size, boolean withCount) {
+        Long after = cursor == null ? Long.MAX_VALUE : cursorUtil.decode(cursor, 1, values -> Long.valueOf(values.getFirst()));
+
+        List<User> rows = userRepository.findByIdLessThanOrderByIdDesc(after, cursorUtil.window(size));
+        Long count = withCount ? userRepository.countUsers(CursorUtil.COUNT_LIMIT) : null;
+
+        return cursorUtil.page(rows, size, user -> new Object[]{user.getId()}, userMapper::toDTOList, count);
+    }
+
     private void update(User user, UserUpdateDTO dto) {
         boolean different = false;
 
@@ -88,12 +101,9 @@ public class UserServiceImpl implements UserService {
             different = true;
         }
 
-        if (dto.password() != null) {
-            String password = passwordEncoder.encode(dto.password());
-            if (!user.getPassword().equals(password)) {
-                user.setPassword(password);
-                different = true;
-            }
+        if (dto.password() != null && !passwordEncoder.matches(dto.password(), user.getPassword())) {
+            user.setPassword(passwordEncoder.encode(dto.password()));
+            different = true;
         }
 
         if (dto.role() != null && !user.getRole().equals(dto.role())) {
@@ -0,0 +1,43 @@
+package uz.ccrew.flightmanagement.util;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class AvailabilityContext {
+    private final Function<Long, Optional<ClassAvailability>> loader;
+    private final Map<Long, Optional<ClassAvailability>> cache = new ConcurrentHashMap<>();
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public AvailabilityContext(Function<Long, Optional<ClassAvailability>> loader) {
+        this.loader = loader;
+    }
+
+    public Optional<ClassAvailability> get(Long flightNumber) {
+        requests.increment();
+        return cache.computeIfAbsent(flightNumber, key -> {
+            misses.increment();
+            return loader.apply(key);
+        });
+    }
+
+    public int size() {
+        return cache.size();
+    }
+
+    public long hits() {
+        return requests.sum() - misses.sum();
+    }
+
+    public long misses() {
+        return misses.sum();
+    }
+
+    public double hitRatio() {
+        long total = requests.sum();
+        return total == 0 ? 0 : (double) (total - misses.sum()) / total;
+    }
+}
@@ -0,0 +1,48 @@
+package uz.ccrew.flightmanagement.util;
+
+import uz.ccrew.flightmanagement.enums.TravelClassCode;
+import uz.ccrew.flightmanagement.enums.AircraftTypeCode;
+
+import java.util.Arrays;
+
+/**
+ * Immutable seat capacities of every aircraft type and travel class in one flat array indexed by
+ * {@code aircraftTypeCode.ordinal() * classes + travelClassCode.ordinal()}, with a bitmask per aircraft type of the
+ * classes it is configured with. A change produces a new matrix, so readers never see a half-applied update.
+ */
+public final class CapacityMatrix {
+    public static final int CLASSES = TravelClassCode.values().length;
+    public static final CapacityMatrix EMPTY = new CapacityMatrix(new int[AircraftTypeCode.values().length * CLASSES],
+            new int[AircraftTypeCode.values().length]);
+    private final int[] seats;
+    private final int[] classMasks;
+
+    private CapacityMatrix(int[] seats, int[] classMasks) {
+        this.seats = seats;
+        this.classMasks = classMasks;
+    }
+
+    public CapacityMatrix with(AircraftTypeCode aircraftTypeCode, TravelClassCode travelClassCode, int seatCapacity) {
+        int[] newSeats = Arrays.copyOf(seats, seats.length);
+        int[] newClassMasks = Arrays.copyOf(classMasks, classMasks.length);
+        newSeats[aircraftTypeCode.ordinal() * CLASSES + travelClassCode.ordinal()] = seatCapacity;
+        newClassMasks[aircraftTypeCode.ordinal()] |= 1 << travelClassCode.ordinal();
+        return new CapacityMatrix(newSeats, newClassMasks);
+    }
+
+    public int seats(AircraftTypeCode aircraftTypeCode, TravelClassCode travelClassCode) {
+        return seats(aircraftTypeCode, travelClassCode.ordinal());
+    }
+
+    public int seats(AircraftTypeCode aircraftTypeCode, int travelClass) {
+        return seats[aircraftTypeCode.ordinal() * CLASSES + travelClass];
+    }
+
+    /**
+     * Bit {@code travelClassCode.ordinal()} is set for every class configured on the aircraft type, including
+     * classes configured with no seats.
+     */
+    public int classMask(AircraftTypeCode aircraftTypeCode) {
+        return classMasks[aircraftTypeCode.ordinal()];
+    }
+}
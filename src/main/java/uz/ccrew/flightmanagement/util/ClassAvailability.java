@@ -0,0 +1,114 @@
+package uz.ccrew.flightmanagement.util;
+
+import uz.ccrew.flightmanagement.enums.TravelClassCode;
+import uz.ccrew.flightmanagement.dto.flightSchedule.TravelClassAggregationDTO;
+
+import java.util.List;
+import java.util.Arrays;
+import java.util.HashMap;
+
+/**
+ * Cost and available seats per travel class of a flight or a whole route, in primitive arrays indexed by
+ * {@code TravelClassCode.ordinal()}. {@code costClasses} marks the classes that have a cost and {@code seatClasses}
+ * the classes that have seats left; array slots outside the masks carry no meaning.
+ * <p>
+ * A route is aggregated without boxing: the class masks are intersected, costs are summed and seats take the
+ * minimum. A route with no common class is rejected before anything is allocated. The DTO maps are only built
+ * by {@link #toDTO()} when a route makes it into a response.
+ */
+public final class ClassAvailability {
+    private static final TravelClassCode[] TRAVEL_CLASS_CODES = TravelClassCode.values();
+    private static final int CLASSES = TRAVEL_CLASS_CODES.length;
+    private static final int ALL_CLASSES = (1 << CLASSES) - 1;
+    private final int costClasses;
+    private final long[] costs;
+    private final int seatClasses;
+    private final int[] seats;
+
+    public ClassAvailability(int costClasses, long[] costs, int seatClasses, int[] seats) {
+        this.costClasses = costClasses;
+        this.costs = costs;
+        this.seatClasses = seatClasses;
+        this.seats = seats;
+    }
+
+    public int getCostClasses() {
+        return costClasses;
+    }
+
+    public int getSeatClasses() {
+        return seatClasses;
+    }
+
+    public long getCost(TravelClassCode travelClassCode) {
+        return costs[travelClassCode.ordinal()];
+    }
+
+    public int getSeats(TravelClassCode travelClassCode) {
+        return seats[travelClassCode.ordinal()];
+    }
+
+    public static ClassAvailability aggregate(ClassAvailability first, ClassAvailability second) {
+        if (first == null || second == null) {
+            return null;
+        }
+        int costClasses = first.costClasses & second.costClasses;
+        int seatClasses = first.seatClasses & second.seatClasses;
+        if (costClasses == 0 || seatClasses == 0) {
+            return null;
+        }
+
+        long[] costs = new long[CLASSES];
+        int[] seats = new int[CLASSES];
+        for (int travelClass = 0; travelClass < CLASSES; travelClass++) {
+            costs[travelClass] = first.costs[travelClass] + second.costs[travelClass];
+            seats[travelClass] = Math.min(first.seats[travelClass], second.seats[travelClass]);
+        }
+        return new ClassAvailability(costClasses, costs, seatClasses, seats);
+    }
+
+    public static ClassAvailability aggregate(List<ClassAvailability> availabilities) {
+        int costClasses = availabilities.isEmpty() ? 0 : ALL_CLASSES;
+        int seatClasses = costClasses;
+        for (ClassAvailability availability : availabilities) {
+            if (availability == null) {
+                return null;
+            }
+            costClasses &= availability.costClasses;
+            seatClasses &= availability.seatClasses;
+            if (costClasses == 0 || seatClasses == 0) {
+                return null;
+            }
+        }
+
+        long[] costs = new long[CLASSES];
+        int[] seats = new int[CLASSES];
+        Arrays.fill(seats, Integer.MAX_VALUE);
+        for (ClassAvailability availability : availabilities) {
+            for (int travelClass = 0; travelClass < CLASSES; travelClass++) {
+                costs[travelClass] += availability.costs[travelClass];
+                seats[travelClass] = Math.min(seats[travelClass], availability.seats[travelClass]);
+            }
+        }
+        return new ClassAvailability(costClasses, costs, seatClasses, seats);
+    }
+
+    public TravelClassAggregationDTO toDTO() {
+        HashMap<TravelClassCode, Long> classCost = new HashMap<>();
+        HashMap<TravelClassCode, Integer> classSeats = new HashMap<>();
+        for (TravelClassCode travelClassCode : TRAVEL_CLASS_CODES) {
+            int classBit = 1 << travelClassCode.ordinal();
+            if ((costClasses & classBit) != 0) {
+                classCost.put(travelClassCode, costs[travelClassCode.ordinal()]);
+            }
+            if ((seatClasses & classBit) != 0) {
+                classSeats.put(travelClassCode, seats[travelClassCode.ordinal()]);
+            }
+        }
+
+        return TravelClassAggregationDTO.builder()
+                .classCost(classCost)
+                .classSeats(classSeats)
+                .build();
+    }
+}
@@ -0,0 +1,81 @@
+package uz.ccrew.flightmanagement.util;
+
+import uz.ccrew.flightmanagement.dto.CursorPage;
+import uz.ccrew.flightmanagement.exp.BadRequestException;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Base64;
+import java.util.Arrays;
+import java.time.LocalDateTime;
+import java.util.function.Function;
+import java.nio.charset.StandardCharsets;
+
+@Component
+public class CursorUtil {
+    private static final String SEPARATOR = "|";
+    /**
+     * Approximate counts are exact up to this many rows and are capped at it beyond that,
+     * so a count never scans more than a bounded window of the index.
+     */
+    public static final int COUNT_LIMIT = 1000;
+    /**
+     * Keys a first page starts from, chosen inside the timestamp range of both Postgres and H2.
+     */
+    public static final LocalDateTime MIN_TIME = LocalDateTime.of(1970, 1, 1, 0, 0);
+    public static final LocalDateTime MAX_TIME = LocalDateTime.of(9999, 12, 31, 0, 0);
+
+    public String encode(Object... values) {
+        String joined = String.join(SEPARATOR, Arrays.stream(values).map(String::valueOf).toList());
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(joined.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public <T> T decode(String cursor, int size, Function<List<String>, T> parser) {
+        try {
+            String joined = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            List<String> values = List.of(joined.split("\\" + SEPARATOR, -1));
+            if (values.size() != size) {
+                throw new BadRequestException("Invalid cursor");
+            }
+            return parser.apply(values);
+        } catch (RuntimeException e) {
+            throw new BadRequestException("Invalid cursor");
+        }
+    }
+
+    /**
+     * Cuts a keyset page fetched with {@link #window(int)} down to {@code size} rows and encodes the
+     * key of the last returned row as the continuation cursor, or {@code null} on the last page.
+     */
+    public <E, D> CursorPage<D> page(List<E> rows, int size, Function<E, Object[]> key,
+                                     Function<List<E>, List<D>> mapper, Long approximateCount) {
+        if (rows.size() <= size) {
+            return new CursorPage<>(mapper.apply(rows), null, approximateCount);
+        }
+        List<E> content = rows.subList(0, size);
+        return new CursorPage<>(mapper.apply(content), encode(key.apply(content.getLast())), approximateCount);
+    }
+
+    /**
+     * Decodes a {@code (timestamp, id)} cursor, or returns {@code start} when the client asks for the first page.
+     */
+    public TimeKey decodeTimeKey(String cursor, TimeKey start) {
+        if (cursor == null) {
+            return start;
+        }
+        return decode(cursor, 2, values -> new TimeKey(LocalDateTime.parse(values.get(0)), Long.valueOf(values.get(1))));
+    }
+
+    public Pageable window(int size) {
+        return PageRequest.of(0, size + 1);
+    }
+
+    public record TimeKey(LocalDateTime time, Long id) {
+        public Object[] values() {
+            return new Object[]{time, id};
+        }
+    }
+}
@@ -1,90 +1,40 @@
 package uz.ccrew.flightmanagement.util;
 
 import uz.ccrew.flightmanagement.entity.FlightSchedule;
-import uz.ccrew.flightmanagement.enums.TravelClassCode;
-import uz.ccrew.flightmanagement.service.OneWayFlightService;
-import uz.ccrew.flightmanagement.dto.flightSchedule.OneWayFlightDTO;
+import uz.ccrew.flightmanagement.service.SeatInventoryService;
 import uz.ccrew.flightmanagement.dto.flightSchedule.TravelClassAggregationDTO;
 
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
-import java.util.*;
+import java.util.List;
+import java.util.Optional;
+import java.util.ArrayList;
 
 @Component
 @RequiredArgsConstructor
 public class FlightUtil {
-    private final OneWayFlightService oneWayFlightService;
+    private final SeatInventoryService seatInventoryService;
 
     public TravelClassAggregationDTO getTravelClassAggregation(List<FlightSchedule> flights) {
-        Set<TravelClassCode> commonClassCost = null;
-        Set<TravelClassCode> commonClassSeats = null;
-        HashMap<TravelClassCode, Long> combinedClassCostMap = new HashMap<>();
-        HashMap<TravelClassCode, Integer> combinedClassSeatsMap = new HashMap<>();
-
-        for (FlightSchedule flight : flights) {
-            Optional<OneWayFlightDTO> oneWayFlightOptional = oneWayFlightService.getOneWayFlight(flight);
-            if (oneWayFlightOptional.isEmpty()) {
-                return null;
-            }
-            OneWayFlightDTO oneWayFlight = oneWayFlightOptional.get();
-
-            combinedClassCostMap = processCostIntersections(oneWayFlight.travelClassCostList(), commonClassCost, combinedClassCostMap);
-            combinedClassSeatsMap = processSeatIntersections(oneWayFlight.travelClassAvailableSeats(), commonClassSeats, combinedClassSeatsMap);
-            commonClassCost = combinedClassCostMap.keySet();
-            commonClassSeats = combinedClassSeatsMap.keySet();
-
-            if (commonClassCost.isEmpty() || commonClassSeats.isEmpty()) {
-                return null;
-            }
-        }
-
-        return TravelClassAggregationDTO.builder()
-                .classCost(combinedClassCostMap)
-                .classSeats(combinedClassSeatsMap)
-                .build();
+        return getTravelClassAggregation(flights, newAvailabilityContext());
     }
 
-    public HashMap<TravelClassCode, Integer> processSeatIntersections(HashMap<TravelClassCode, Integer> classMap, Set<TravelClassCode> set, HashMap<TravelClassCode, Integer> map) {
-        Set<TravelClassCode> travelClassCodes = classMap.keySet();
-
-        if (set == null) {
-            set = new HashSet<>(travelClassCodes);
-        } else {
-            set.retainAll(travelClassCodes);
-        }
-
-        for (TravelClassCode travelClassCode : set) {
-            Integer seatCount = classMap.get(travelClassCode);
-            map.compute(travelClassCode, (key, old) -> {
-                if (old == null) {
-                    return seatCount;
-                }
-                return Math.min(seatCount, old);
-            });
-        }
-        return map;
+    public AvailabilityContext newAvailabilityContext() {
+        return new AvailabilityContext(seatInventoryService::getClassAvailability);
     }
 
-    public HashMap<TravelClassCode, Long> processCostIntersections(HashMap<TravelClassCode, Long> classMap, Set<TravelClassCode> set, HashMap<TravelClassCode, Long> map) {
-        Set<TravelClassCode> travelClassCodes = classMap.keySet();
-
-        if (set == null) {
-            set = new HashSet<>(travelClassCodes);
-        } else {
-            set.retainAll(travelClassCodes);
-        }
-
-        for (TravelClassCode travelClassCode : set) {
-            Long cost = classMap.get(travelClassCode);
-            map.compute(travelClassCode, (key, old) -> {
-                if (old == null) {
-                    return cost;
-                }
-                return cost + old;
-            });
+    public TravelClassAggregationDTO getTravelClassAggregation(List<FlightSchedule> flights, AvailabilityContext context) {
+        List<ClassAvailability> availabilities = new ArrayList<>(flights.size());
+        for (FlightSchedule flight : flights) {
+            Optional<ClassAvailability> availability = context.get(flight.getFlightNumber());
+            if (availability.isEmpty()) {
+                return null;
+            }
+            availabilities.add(availability.get());
         }
 
-        return map;
+        ClassAvailability aggregation = ClassAvailability.aggregate(availabilities);
+        return aggregation == null ? null : aggregation.toDTO();
     }
 }
@@ -0,0 +1,146 @@
+package uz.ccrew.flightmanagement.util;
+
+import uz.ccrew.flightmanagement.exp.BadRequestException;
+import uz.ccrew.flightmanagement.exp.ServiceUnavailableException;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+import org.springframework.beans.factory.annotation.Value;
+
+import java.util.Map;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.function.Supplier;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Remembers the results of requests sent with an {@value #HEADER} header, per user and operation, for
+ * {@code idempotency.ttl}. A retry with the same key gets the stored result without running the operation again,
+ * and a duplicate that arrives while the first execution is still running waits for it and gets the same result.
+ * Failed executions are forgotten so the client can retry them.
+ * <p>
+ * The store is kept in memory, so keys are only recognised by the instance that served the first request.
+ */
+@Component
+public class IdempotencyStore {
+    public static final String HEADER = "Idempotency-Key";
+    private static final int MAX_KEY_LENGTH = 255;
+    private final Map<Key, Entry> entries = new ConcurrentHashMap<>();
+    private final AuthUtil authUtil;
+    private final int maxSize;
+    private final long ttlNanos;
+    private final Duration waitTimeout;
+    private final Counter executed;
+    private final Counter replayed;
+    private final Counter coalesced;
+
+    public IdempotencyStore(AuthUtil authUtil, MeterRegistry meterRegistry,
+                            @Value("${idempotency.max-size:10000}") int maxSize,
+                            @Value("${idempotency.ttl:1h}") Duration ttl,
+                            @Value("${idempotency.wait-timeout:30s}") Duration waitTimeout) {
+        this.authUtil = authUtil;
+        this.maxSize = maxSize;
+        this.ttlNanos = ttl.toNanos();
+        this.waitTimeout = waitTimeout;
+        this.executed = Counter.builder("idempotency.requests").tag("result", "executed").register(meterRegistry);
+        this.replayed = Counter.builder("idempotency.requests").tag("result", "replayed").register(meterRegistry);
+        this.coalesced = Counter.builder("idempotency.requests").tag("result", "coalesced").register(meterRegistry);
+        Gauge.builder("idempotency.store.size", entries, Map::size).register(meterRegistry);
+    }
+
+    /**
+     * Runs {@code action} once per {@code idempotencyKey} of the logged user and {@code operation}. Without a key the
+     * action simply runs. Reusing a key with a different {@code request} is rejected.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String idempotencyKey, String operation, Object request, Supplier<T> action) {
+        if (idempotencyKey == null || idempotencyKey.isBlank()) {
+            return action.get();
+        }
+        if (idempotencyKey.length() > MAX_KEY_LENGTH) {
+            throw new BadRequestException(HEADER + " must not be longer than " + MAX_KEY_LENGTH + " characters");
+        }
+
+        Key key = new Key(authUtil.loadLoggedUser().getId(), operation, idempotencyKey);
+        Entry entry = new Entry(request);
+        Entry existing;
+        while ((existing = entries.putIfAbsent(key, entry)) != null && existing.isExpired(System.nanoTime(), ttlNanos)) {
+            entries.remove(key, existing);
+        }
+
+        if (existing != null) {
+            if (!existing.request.equals(request)) {
+                throw new BadRequestException(HEADER + " was already used with a different request");
+            }
+            (existing.result.isDone() ? replayed : coalesced).increment();
+            return (T) await(existing.result);
+        }
+
+        if (entries.size() > maxSize) {
+            shrink();
+        }
+        executed.increment();
+        try {
+            T result = action.get();
+            entry.completedAt = System.nanoTime();
+            entry.result.complete(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            entries.remove(key, entry);
+            entry.result.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    private Object await(CompletableFuture<Object> result) {
+        try {
+            return result.get(waitTimeout.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            throw new ServiceUnavailableException("Request with the same " + HEADER + " is still in progress");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServiceUnavailableException("Request with the same " + HEADER + " is still in progress");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private void shrink() {
+        long now = System.nanoTime();
+        entries.values().removeIf(entry -> entry.isExpired(now, ttlNanos));
+
+        // Entries still in flight are kept, duplicates of them must keep coalescing
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (entries.size() > maxSize && iterator.hasNext()) {
+            if (iterator.next().result.isDone()) {
+                iterator.remove();
+            }
+        }
+    }
+
+    private record Key(Long userId, String operation, String idempotencyKey) {
+    }
+
+    private static final class Entry {
+        private final Object request;
+        private final CompletableFuture<Object> result = new CompletableFuture<>();
+        private volatile long completedAt;
+
+        private Entry(Object request) {
+            this.request = request;
+        }
+
+        private boolean isExpired(long now, long ttlNanos) {
+            return result.isDone() && now - completedAt > ttlNanos;
+        }
+    }
+}
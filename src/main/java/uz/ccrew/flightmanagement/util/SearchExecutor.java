@@ -0,0 +1,181 @@
+package uz.ccrew.flightmanagement.util;
+
+import uz.ccrew.flightmanagement.exp.ServiceUnavailableException;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.List;
+import java.util.Optional;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.function.Function;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs the per-candidate work of a search on a dedicated executor instead of the JVM-wide common pool.
+ * With {@code spring.threads.virtual.enabled} every subtask gets its own virtual thread, otherwise a fixed
+ * pool of platform threads is used. Either way at most {@code maxConcurrency} subtasks run at once across
+ * all requests, so a fan-out that falls through to the database cannot take more connections than the
+ * pool can spare for it.
+ * <p>
+ * Each call also keeps at most {@code perSearchConcurrency} of its own subtasks submitted and submits the next
+ * candidate only as one completes. A search with thousands of candidates therefore holds a bounded slice of the
+ * executor queue, and concurrent searches take turns on it instead of waiting behind the largest one.
+ * <p>
+ * {@link #search} treats the subtasks of one request as a unit: they see the caller's security context,
+ * a failure in one cancels its siblings, and once the deadline passes or enough results are found the
+ * outstanding ones are cancelled and whatever has completed is returned.
+ */
+@Component
+public class SearchExecutor implements DisposableBean {
+    private final ExecutorService pool;
+    private final ExecutorService executor;
+    private final Semaphore permits;
+    private final int maxConcurrency;
+    private final int perSearchConcurrency;
+    private final Duration deadline;
+    private final int maxResults;
+    private final Counter deadlineExceeded;
+    private final Counter limitReached;
+
+    public SearchExecutor(MeterRegistry meterRegistry,
+                          @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads,
+                          @Value("${flight.search.max-concurrency:0}") int maxConcurrency,
+                          @Value("${flight.search.per-search-concurrency:0}") int perSearchConcurrency,
+                          @Value("${spring.datasource.hikari.maximum-pool-size:10}") int connectionPoolSize,
+                          @Value("${flight.search.deadline:2s}") Duration deadline,
+                          @Value("${flight.search.max-results:500}") int maxResults) {
+        this.deadline = deadline;
+        this.maxResults = maxResults;
+        // Unless set explicitly, leave half of the connection pool to the request threads themselves
+        this.maxConcurrency = maxConcurrency > 0 ? maxConcurrency : Math.max(1, connectionPoolSize / 2);
+        // Unless set explicitly, one search may use half of the global limit, so two large ones still leave room
+        this.perSearchConcurrency = Math.min(this.maxConcurrency,
+                perSearchConcurrency > 0 ? perSearchConcurrency : Math.max(1, this.maxConcurrency / 2));
+        this.permits = new Semaphore(this.maxConcurrency);
+        this.pool = virtualThreads
+                ? Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("search-", 1).factory())
+                : Executors.newFixedThreadPool(this.maxConcurrency, platformThreadFactory());
+        this.executor = ExecutorServiceMetrics.monitor(meterRegistry, pool, "flight.search");
+        Gauge.builder("flight.search.active", permits, semaphore -> this.maxConcurrency - semaphore.availablePermits())
+                .register(meterRegistry);
+        this.deadlineExceeded = Counter.builder("flight.search.truncated").tag("reason", "deadline").register(meterRegistry);
+        this.limitReached = Counter.builder("flight.search.truncated").tag("reason", "limit").register(meterRegistry);
+    }
+
+    public int getMaxConcurrency() {
+        return maxConcurrency;
+    }
+
+    public int getPerSearchConcurrency() {
+        return perSearchConcurrency;
+    }
+
+    public int getMaxResults() {
+        return maxResults;
+    }
+
+    public <T, R> List<R> search(List<T> candidates, Function<T, Optional<R>> evaluator) {
+        return search(candidates, evaluator, deadline, maxResults);
+    }
+
+    /**
+     * Evaluates every candidate as a subtask of the calling request and returns the present results in the
+     * order of the candidates. At most {@code perSearchConcurrency} subtasks are submitted at a time. Stops
+     * early, cancelling the subtasks still queued or running, when {@code limit} results are found or
+     * {@code timeout} elapses; the results found so far are returned.
+     */
+    public <T, R> List<R> search(List<T> candidates, Function<T, Optional<R>> evaluator, Duration timeout, int limit) {
+        long deadlineNanos = System.nanoTime() + timeout.toNanos();
+        SecurityContext securityContext = SecurityContextHolder.getContext();
+
+        CompletionService<Candidate<R>> completionService = new ExecutorCompletionService<>(executor);
+        List<Future<Candidate<R>>> futures = new ArrayList<>(candidates.size());
+        List<Candidate<R>> found = new ArrayList<>();
+        try {
+            int next = 0;
+            while (next < candidates.size() && next < perSearchConcurrency) {
+                futures.add(submit(completionService, next, candidates.get(next), evaluator, securityContext));
+                next++;
+            }
+
+            for (int completed = 0; completed < futures.size(); completed++) {
+                Future<Candidate<R>> future = completionService.poll(deadlineNanos - System.nanoTime(), TimeUnit.NANOSECONDS);
+                if (future == null) {
+                    deadlineExceeded.increment();
+                    break;
+                }
+                if (next < candidates.size()) {
+                    futures.add(submit(completionService, next, candidates.get(next), evaluator, securityContext));
+                    next++;
+                }
+                Candidate<R> result = future.get();
+                if (result.value().isPresent()) {
+                    found.add(result);
+                    if (found.size() >= limit) {
+                        limitReached.increment();
+                        break;
+                    }
+                }
+            }
+        } catch (RejectedExecutionException e) {
+            throw new ServiceUnavailableException("Search executor is shutting down");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServiceUnavailableException("Search interrupted");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        } finally {
+            futures.forEach(future -> future.cancel(true));
+        }
+
+        found.sort((first, second) -> Integer.compare(first.index(), second.index()));
+        return found.stream().map(candidate -> candidate.value().get()).toList();
+    }
+
+    @Override
+    public void destroy() {
+        pool.shutdownNow();
+    }
+
+    private <T, R> Future<Candidate<R>> submit(CompletionService<Candidate<R>> completionService, int index, T candidate,
+                                                Function<T, Optional<R>> evaluator, SecurityContext securityContext) {
+        return completionService.submit(() -> evaluate(index, candidate, evaluator, securityContext));
+    }
+
+    private <T, R> Candidate<R> evaluate(int index, T candidate, Function<T, Optional<R>> evaluator,
+                                         SecurityContext securityContext) throws InterruptedException {
+        permits.acquire();
+        SecurityContextHolder.setContext(securityContext);
+        try {
+            return new Candidate<>(index, evaluator.apply(candidate));
+        } finally {
+            SecurityContextHolder.clearContext();
+            permits.release();
+        }
+    }
+
+    private static ThreadFactory platformThreadFactory() {
+        AtomicInteger threadNumber = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "search-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private record Candidate<R>(int index, Optional<R> value) {
+    }
+}
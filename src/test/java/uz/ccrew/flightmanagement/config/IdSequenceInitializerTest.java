@@ -0,0 +1,41 @@
+package uz.ccrew.flightmanagement.config;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.AfterEach;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class IdSequenceInitializerTest {
+    private static final long MAX_ID = 5_000_000L;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private IdSequenceInitializer idSequenceInitializer;
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("delete from users where id = ?", MAX_ID);
+    }
+
+    @Test
+    void sequenceIsMovedPastExistingIdsWithoutConsumingValues() {
+        jdbcTemplate.update("insert into users (id, login, password, role, cashback_amount) values (?, 'sequence', 'secret', 'CUSTOMER', 0)", MAX_ID);
+
+        idSequenceInitializer.afterPropertiesSet();
+        long next = baseValue();
+        idSequenceInitializer.afterPropertiesSet();
+
+        assertEquals(MAX_ID + 50, next);
+        assertEquals(next, baseValue());
+    }
+
+    private long baseValue() {
+        return jdbcTemplate.queryForObject("select base_value from information_schema.sequences where lower(sequence_name) = 'users_seq'", Long.class);
+    }
+}
@@ -0,0 +1,91 @@
+package uz.ccrew.flightmanagement.repository;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.BeforeEach;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.data.domain.PageRequest;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.List;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the search repository queries, captures the SQL Hibernate generates for them and checks that H2 plans it
+ * on the indexes declared on the entities.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector=uz.ccrew.flightmanagement.repository.SearchIndexTest$SqlCapture")
+@ActiveProfiles("test")
+class SearchIndexTest {
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 10, 1, 0, 0);
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private ReservationRepository reservationRepository;
+    @Autowired
+    private ItineraryLegRepository itineraryLegRepository;
+    @Autowired
+    private FlightScheduleRepository flightScheduleRepository;
+
+    @BeforeEach
+    void setUp() {
+        SqlCapture.STATEMENTS.clear();
+    }
+
+    @Test
+    void findOneWayUsesIndexes() {
+        flightScheduleRepository.findOneWay("TASHKENT", "LONDON", LocalDate.of(2024, 10, 1));
+
+        String plan = explain("TASHKENT", NOW, NOW.plusDays(1), "LONDON");
+        assertTrue(plan.contains("AIRPORTS_I1"), plan);
+        assertTrue(plan.contains("FLIGHT_SCHEDULES_I"), plan);
+        assertTrue(plan.contains("LEGS_I1"), plan);
+        assertTrue(plan.contains("FLIGHT_COSTS_I1"), plan);
+    }
+
+    @Test
+    void reservedSeatsOnFlightsProbeLegId() {
+        itineraryLegRepository.getReservedSeatsByFlights(List.of(1L));
+
+        String plan = explain(1L);
+        assertTrue(plan.contains("LEG_ID = L1_0.LEG_ID */"), plan);
+        assertFalse(plan.contains("ITINERARY_LEGS.tableScan"), plan);
+    }
+
+    @Test
+    void reservationFlightsUseReservationId() {
+        itineraryLegRepository.findFlightNumbersByReservationId(1L);
+
+        String plan = explain(1L);
+        assertTrue(plan.contains("ITINERARY_LEGS_I2"), plan);
+    }
+
+    @Test
+    void customerReservationsUseCreatedBy() {
+        reservationRepository.findByCreatedByBefore(1L, NOW, 1L, PageRequest.ofSize(10));
+
+        String plan = explain(1L, NOW, NOW, 1L, 10);
+        assertTrue(plan.contains("ITINERARY_RESERVATIONS_I2"), plan);
+    }
+
+    private String explain(Object... args) {
+        assertEquals(1, SqlCapture.STATEMENTS.size(), SqlCapture.STATEMENTS::toString);
+        return jdbcTemplate.queryForObject("explain " + SqlCapture.STATEMENTS.getFirst(), String.class, args);
+    }
+
+    public static class SqlCapture implements StatementInspector {
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+}
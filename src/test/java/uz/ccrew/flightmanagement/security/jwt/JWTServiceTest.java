@@ -1,10 +1,13 @@
 package uz.ccrew.flightmanagement.security.jwt;
 
+import uz.ccrew.flightmanagement.exp.unauthorized.TokenExpiredException;
+
 import io.jsonwebtoken.Jwts;
 import org.junit.jupiter.api.Test;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
 import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.SignatureException;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.test.context.SpringBootTest;
@@ -103,4 +106,43 @@ public class JWTServiceTest {
         String extractedUsername = jwtService.extractRefreshTokenLogin(token);
         assertEquals(username, extractedUsername);
     }
+
+    @Test
+    void testVerifyAccessToken() {
+        String username = "Azimjon";
+        String token = jwtService.generateAccessToken(username);
+
+        VerifiedToken verifiedToken = jwtService.verifyAccessToken(token);
+        assertEquals(username, verifiedToken.subject());
+        assertEquals(jwtService.getGeneratedTime(token), verifiedToken.issuedAt());
+        assertTrue(verifiedToken.expiresAt().after(new Date()));
+    }
+
+    @Test
+    void testVerifyExpiredAccessToken() {
+        Key key = Keys.hmacShaKeyFor(Decoders.BASE64.decode(ACCESS_TOKEN_SECRET_KEY));
+        String token = Jwts.builder()
+                .setSubject("Azimjon")
+                .setIssuedAt(new Date(System.currentTimeMillis() - 10000))
+                .setExpiration(new Date(System.currentTimeMillis() - 5000))
+                .signWith(key, SignatureAlgorithm.HS256)
+                .compact();
+
+        TokenExpiredException exception = assertThrows(TokenExpiredException.class, () -> jwtService.verifyAccessToken(token));
+        assertTrue(exception.getMessage().contains("JWT expired at"));
+    }
+
+    @Test
+    void testVerifyRefreshTokenAsAccessToken() {
+        String token = jwtService.generateRefreshToken("Azimjon");
+
+        assertThrows(SignatureException.class, () -> jwtService.verifyAccessToken(token));
+    }
+
+    @Test
+    void testVerifyAccessTokenCached() {
+        String token = jwtService.generateAccessToken("Azimjon");
+
+        assertSame(jwtService.verifyAccessToken(token), jwtService.verifyAccessToken(token));
+    }
 }
@@ -1,5 +1,6 @@
 package uz.ccrew.flightmanagement.security.user;
 
+import uz.ccrew.flightmanagement.entity.User;
 import uz.ccrew.flightmanagement.service.AuthService;
 import uz.ccrew.flightmanagement.dto.auth.RegisterDTO;
 import uz.ccrew.flightmanagement.repository.UserRepository;
@@ -12,6 +13,8 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 
+import java.time.LocalDateTime;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 @SpringBootTest
@@ -45,4 +48,22 @@ class UserDetailsServiceImplTest {
         assertNotNull(userDetails);
         assertEquals(login.toLowerCase(), userDetails.getUsername());
     }
-}
\ No newline at end of file
+
+    @Test
+    void loadUserByUsernameEvictedOnChange() {
+        String login = "Azimjon";
+        register(login);
+
+        UserDetailsImpl first = (UserDetailsImpl) userDetailsService.loadUserByUsername(login);
+        UserDetailsImpl second = (UserDetailsImpl) userDetailsService.loadUserByUsername(login);
+        assertNotSame(first.getUser(), second.getUser());
+        assertEquals(first.getUser().getId(), second.getUser().getId());
+
+        User user = userRepository.loadById(first.getUser().getId());
+        user.setCredentialsModifiedDate(LocalDateTime.now().plusMinutes(1));
+        userRepository.save(user);
+
+        UserDetailsImpl third = (UserDetailsImpl) userDetailsService.loadUserByUsername(login);
+        assertTrue(third.getUser().getCredentialsModifiedDate().isAfter(first.getUser().getCredentialsModifiedDate()));
+    }
+}
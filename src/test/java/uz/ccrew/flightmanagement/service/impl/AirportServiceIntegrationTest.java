@@ -3,8 +3,12 @@ package uz.ccrew.flightmanagement.service.impl;
 import uz.ccrew.flightmanagement.dto.airport.AirportCreateDTO;
 import uz.ccrew.flightmanagement.dto.airport.AirportDTO;
 import uz.ccrew.flightmanagement.service.AirportService;
+import uz.ccrew.flightmanagement.config.ReferenceDataCacheConfig;
 
+import org.hibernate.SessionFactory;
 import org.junit.jupiter.api.Test;
+import org.hibernate.stat.Statistics;
+import jakarta.persistence.EntityManagerFactory;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -14,6 +18,7 @@ import java.util.List;
 import static org.hibernate.validator.internal.util.Contracts.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @SpringBootTest
 @ActiveProfiles("test")
@@ -21,6 +26,8 @@ public class AirportServiceIntegrationTest {
 
     @Autowired
     private AirportService airportService;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
 
     @Test
     public void testAddAirportIntegration() {
@@ -44,4 +51,24 @@ public class AirportServiceIntegrationTest {
         assertNotNull(cities);
         assertFalse(cities.isEmpty());
     }
+
+    @Test
+    public void cityListIsCachedUntilAirportIsAdded() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        airportService.getCityList();
+
+        long hits = statistics.getQueryRegionStatistics(ReferenceDataCacheConfig.REFERENCE_QUERIES).getHitCount();
+        airportService.getCityList();
+        assertEquals(hits + 1, statistics.getQueryRegionStatistics(ReferenceDataCacheConfig.REFERENCE_QUERIES).getHitCount());
+
+        airportService.addAirport(AirportCreateDTO.builder()
+                .airportCode("NRT")
+                .airportName("Narita International")
+                .airportLocation("Japan Narita")
+                .city("Tokyo")
+                .build());
+        long misses = statistics.getQueryRegionStatistics(ReferenceDataCacheConfig.REFERENCE_QUERIES).getMissCount();
+        assertTrue(airportService.getCityList().contains("TOKYO"));
+        assertEquals(misses + 1, statistics.getQueryRegionStatistics(ReferenceDataCacheConfig.REFERENCE_QUERIES).getMissCount());
+    }
 }
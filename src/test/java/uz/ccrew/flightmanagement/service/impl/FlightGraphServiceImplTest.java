@@ -0,0 +1,154 @@
+package uz.ccrew.flightmanagement.service.impl;
+
+import uz.ccrew.flightmanagement.entity.*;
+import uz.ccrew.flightmanagement.repository.*;
+import uz.ccrew.flightmanagement.enums.AirlineCode;
+import uz.ccrew.flightmanagement.enums.AircraftTypeCode;
+import uz.ccrew.flightmanagement.service.FlightGraphService;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.List;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class FlightGraphServiceImplTest {
+    @Autowired
+    private FlightGraphService flightGraphService;
+    @Autowired
+    private LegRepository legRepository;
+    @Autowired
+    private AirportRepository airportRepository;
+    @Autowired
+    private FlightCostRepository flightCostRepository;
+    @Autowired
+    private RefCalendarRepository refCalendarRepository;
+    @Autowired
+    private FlightScheduleRepository flightScheduleRepository;
+    private Long DIRECT_FLIGHT;
+    private Long FIRST_FLIGHT;
+    private Long SECOND_FLIGHT;
+    private Long DEPARTED_FLIGHT;
+
+    @BeforeEach
+    void setUp() {
+        Airport tashkent = airport("TAS", "TASHKENT");
+        Airport istanbul = airport("IST", "ISTANBUL");
+        Airport london = airport("LHR", "LONDON");
+
+        RefCalendar validFrom = refCalendarRepository.save(RefCalendar.builder().dayDate(LocalDate.now().minusDays(1)).dayNumber(1).businessDayYn(true).build());
+        refCalendarRepository.save(RefCalendar.builder().dayDate(LocalDate.now().plusDays(10)).dayNumber(1).businessDayYn(true).build());
+
+        LocalDateTime departure = LocalDate.now().plusDays(1).atTime(8, 0);
+        FIRST_FLIGHT = flight(tashkent, istanbul, departure, departure.plusHours(4), 300L, validFrom);
+        SECOND_FLIGHT = flight(istanbul, london, departure.plusHours(5).plusMinutes(30), departure.plusHours(9), 200L, validFrom);
+        DIRECT_FLIGHT = flight(tashkent, london, departure, departure.plusHours(7), 700L, validFrom);
+        flight(istanbul, london, departure.plusHours(8), departure.plusHours(12), 100L, validFrom);
+        DEPARTED_FLIGHT = flight(tashkent, london, LocalDateTime.now().minusHours(3), LocalDateTime.now().plusHours(4), 100L, validFrom);
+
+        flightGraphService.load();
+    }
+
+    @AfterEach
+    void tearDown() {
+        flightCostRepository.deleteAll();
+        legRepository.deleteAll();
+        flightScheduleRepository.deleteAll();
+        refCalendarRepository.deleteAll();
+        airportRepository.deleteAllById(List.of("TAS", "IST", "LHR"));
+        ReflectionTestUtils.setField(flightGraphService, "maxRoutes", 200);
+        flightGraphService.load();
+    }
+
+    @Test
+    void findRoutes() {
+        List<List<FlightSchedule>> routes = flightGraphService.findRoutes("TASHKENT", "LONDON", 3);
+
+        assertEquals(2, routes.size());
+        assertEquals(List.of(DIRECT_FLIGHT), routes.get(0).stream().map(FlightSchedule::getFlightNumber).toList());
+        assertEquals(List.of(FIRST_FLIGHT, SECOND_FLIGHT), routes.get(1).stream().map(FlightSchedule::getFlightNumber).toList());
+    }
+
+    @Test
+    void departedFlightsAreNotLoaded() {
+        List<List<FlightSchedule>> routes = flightGraphService.findRoutes("TASHKENT", "LONDON", 3);
+
+        assertTrue(routes.stream().flatMap(List::stream).noneMatch(flight -> flight.getFlightNumber().equals(DEPARTED_FLIGHT)));
+
+        flightGraphService.refresh(DEPARTED_FLIGHT);
+        assertEquals(2, flightGraphService.findRoutes("TASHKENT", "LONDON", 3).size());
+    }
+
+    @Test
+    void onlyBestRoutesAreKept() {
+        ReflectionTestUtils.setField(flightGraphService, "maxRoutes", 1);
+
+        List<List<FlightSchedule>> routes = flightGraphService.findRoutes("TASHKENT", "LONDON", 3);
+
+        assertEquals(1, routes.size());
+        assertEquals(List.of(DIRECT_FLIGHT), routes.get(0).stream().map(FlightSchedule::getFlightNumber).toList());
+    }
+
+    @Test
+    void evictDeparted() {
+        FlightSchedule direct = flightGraphService.findRoutes("TASHKENT", "LONDON", 3).get(0).get(0);
+        direct.setDepartureDateTime(LocalDateTime.now().minusMinutes(1));
+
+        flightGraphService.evictDeparted();
+
+        List<List<FlightSchedule>> routes = flightGraphService.findRoutes("TASHKENT", "LONDON", 3);
+        assertEquals(1, routes.size());
+        assertEquals(List.of(FIRST_FLIGHT, SECOND_FLIGHT), routes.get(0).stream().map(FlightSchedule::getFlightNumber).toList());
+    }
+
+    @Test
+    void remove() {
+        flightGraphService.remove(SECOND_FLIGHT);
+
+        List<List<FlightSchedule>> routes = flightGraphService.findRoutes("TASHKENT", "LONDON", 3);
+        assertEquals(1, routes.size());
+    }
+
+    private Airport airport(String code, String city) {
+        return airportRepository.save(Airport.builder()
+                .airportCode(code)
+                .airportName(code + " International")
+                .airportLocation(city)
+                .city(city)
+                .build());
+    }
+
+    private Long flight(Airport origin, Airport destination, LocalDateTime departure, LocalDateTime arrival, Long cost, RefCalendar validFrom) {
+        FlightSchedule flight = flightScheduleRepository.save(FlightSchedule.builder()
+                .airlineCode(AirlineCode.DL)
+                .usualAircraftTypeCode(AircraftTypeCode.B738)
+                .originAirport(origin)
+                .destinationAirport(destination)
+                .departureDateTime(departure)
+                .arrivalDateTime(arrival)
+                .build());
+        legRepository.save(Leg.builder()
+                .flightSchedule(flight)
+                .originAirport(origin.getAirportCode())
+                .destinationAirport(destination.getAirportCode())
+                .build());
+        flightCostRepository.save(FlightCost.builder()
+                .id(new FlightCost.FlightCostsId(flight.getFlightNumber(), AircraftTypeCode.B738, validFrom.getDayDate()))
+                .flightSchedule(flight)
+                .validFromRefCalendar(validFrom)
+                .validToDate(LocalDate.now().plusDays(10))
+                .flightCost(cost)
+                .build());
+        return flight.getFlightNumber();
+    }
+}
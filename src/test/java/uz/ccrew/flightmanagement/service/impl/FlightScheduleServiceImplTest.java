@@ -0,0 +1,113 @@
+package uz.ccrew.flightmanagement.service.impl;
+
+import uz.ccrew.flightmanagement.entity.Airport;
+import uz.ccrew.flightmanagement.dto.CursorPage;
+import uz.ccrew.flightmanagement.enums.AirlineCode;
+import uz.ccrew.flightmanagement.entity.FlightSchedule;
+import uz.ccrew.flightmanagement.enums.AircraftTypeCode;
+import uz.ccrew.flightmanagement.exp.BadRequestException;
+import uz.ccrew.flightmanagement.repository.AirportRepository;
+import uz.ccrew.flightmanagement.service.FlightScheduleService;
+import uz.ccrew.flightmanagement.dto.flightSchedule.FlightScheduleDTO;
+import uz.ccrew.flightmanagement.repository.FlightScheduleRepository;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.springframework.data.domain.Page;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.List;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class FlightScheduleServiceImplTest {
+    @Autowired
+    private AirportRepository airportRepository;
+    @Autowired
+    private FlightScheduleService flightScheduleService;
+    @Autowired
+    private FlightScheduleRepository flightScheduleRepository;
+    private List<Long> NEAREST_FIRST;
+
+    @BeforeEach
+    void setUp() {
+        Airport tashkent = airport("TAS", "TASHKENT");
+        Airport istanbul = airport("IST", "ISTANBUL");
+
+        LocalDateTime now = LocalDateTime.now();
+        Long pastFar = flight(tashkent, istanbul, now.minusHours(3));
+        Long pastNear = flight(tashkent, istanbul, now.minusHours(1));
+        Long upcomingNear = flight(tashkent, istanbul, now.plusMinutes(30));
+        Long upcomingMiddle = flight(tashkent, istanbul, now.plusHours(2));
+        Long upcomingFar = flight(tashkent, istanbul, now.plusHours(5));
+        flight(istanbul, tashkent, now);
+
+        NEAREST_FIRST = List.of(upcomingNear, pastNear, upcomingMiddle, pastFar, upcomingFar);
+    }
+
+    @AfterEach
+    void tearDown() {
+        flightScheduleRepository.deleteAll();
+        airportRepository.deleteAllById(List.of("TAS", "IST"));
+    }
+
+    @Test
+    void getAllFlightSchedulesByAirportCode() {
+        CursorPage<FlightScheduleDTO> first = flightScheduleService.getAllFlightSchedulesByAirportCode("TAS", null, 2);
+        CursorPage<FlightScheduleDTO> second = flightScheduleService.getAllFlightSchedulesByAirportCode("TAS", first.nextCursor(), 2);
+        CursorPage<FlightScheduleDTO> third = flightScheduleService.getAllFlightSchedulesByAirportCode("TAS", second.nextCursor(), 2);
+
+        assertEquals(NEAREST_FIRST.subList(0, 2), first.content().stream().map(FlightScheduleDTO::flightNumber).toList());
+        assertEquals(NEAREST_FIRST.subList(2, 4), second.content().stream().map(FlightScheduleDTO::flightNumber).toList());
+        assertEquals(NEAREST_FIRST.subList(4, 5), third.content().stream().map(FlightScheduleDTO::flightNumber).toList());
+        assertNull(third.nextCursor());
+    }
+
+    @Test
+    void getAllFlightSchedulesByAirportCodePaged() {
+        Page<FlightScheduleDTO> first = flightScheduleService.getAllFlightSchedulesByAirportCode("TAS", 0, 2);
+
+        assertEquals(NEAREST_FIRST.subList(0, 2), first.getContent().stream().map(FlightScheduleDTO::flightNumber).toList());
+        assertEquals(5, first.getTotalElements());
+    }
+
+    @Test
+    void approximateCountIsCapped() {
+        assertEquals(6L, flightScheduleService.getList(null, 2, true).approximateCount());
+        assertEquals(4L, flightScheduleRepository.countFlights(4));
+        assertEquals(0L, flightScheduleService.getOnTimeFlights(null, 2, true).approximateCount());
+        assertEquals(0L, flightScheduleService.getDelayedFlights(null, 2, true).approximateCount());
+    }
+
+    @Test
+    void getAllFlightSchedulesByAirportCodeInvalidCursor() {
+        assertThrows(BadRequestException.class, () -> flightScheduleService.getAllFlightSchedulesByAirportCode("TAS", "invalid", 2));
+    }
+
+    private Airport airport(String code, String city) {
+        return airportRepository.save(Airport.builder()
+                .airportCode(code)
+                .airportName(code + " International")
+                .airportLocation(city)
+                .city(city)
+                .build());
+    }
+
+    private Long flight(Airport origin, Airport destination, LocalDateTime departure) {
+        FlightSchedule flight = flightScheduleRepository.save(FlightSchedule.builder()
+                .airlineCode(AirlineCode.DL)
+                .usualAircraftTypeCode(AircraftTypeCode.B738)
+                .originAirport(origin)
+                .destinationAirport(destination)
+                .departureDateTime(departure)
+                .arrivalDateTime(departure.plusHours(4))
+                .build());
+        return flight.getFlightNumber();
+    }
+}
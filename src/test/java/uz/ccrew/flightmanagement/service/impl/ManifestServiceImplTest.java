@@ -0,0 +1,118 @@
+package uz.ccrew.flightmanagement.service.impl;
+
+import uz.ccrew.flightmanagement.enums.ManifestFormat;
+import uz.ccrew.flightmanagement.service.ManifestService;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.List;
+import java.time.LocalDateTime;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class ManifestServiceImplTest {
+    private static final long FLIGHT = 940_001L;
+    private static final long EMPTY_FLIGHT = 940_002L;
+    private static final long FIRST_ID = 940_000L;
+    private static final String CSV_HEADER = "passengerId,firstName,secondName,lastName,phoneNumber,emailAddress,addressLines,city,"
+            + "stateProvinceCountry,country,otherPassengerDetails\r\n";
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private ManifestService manifestService;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("insert into airports (airport_code, airport_name, airport_location, city) values ('MFA', 'Manifest A', 'A', 'MANIFEST A')");
+        jdbcTemplate.update("insert into airports (airport_code, airport_name, airport_location, city) values ('MFB', 'Manifest B', 'B', 'MANIFEST B')");
+        jdbcTemplate.update("insert into booking_agents (agent_id, agent_name) values (?, 'manifest')", FIRST_ID);
+        for (long flightNumber : List.of(FLIGHT, EMPTY_FLIGHT)) {
+            LocalDateTime departure = LocalDateTime.of(2031, 4, 1, 8, 0);
+            jdbcTemplate.update("""
+                    insert into flight_schedules (flight_number, airline_code, usual_aircraft_type_code, origin_airport_code,
+                                                  destination_airport_code, departure_date_time, arrival_date_time)
+                    values (?, 'DL', 'B738', 'MFA', 'MFB', ?, ?)
+                    """, flightNumber, departure, departure.plusHours(2));
+            jdbcTemplate.update("insert into legs (leg_id, flight_number, origin_airport, destination_airport) values (?, ?, 'MFA', 'MFB')",
+                    flightNumber, flightNumber);
+        }
+        passenger(FIRST_ID, "Anna", "12 Main St, Apt \"B\"", "CONFIRMED", LocalDateTime.of(2031, 3, 1, 10, 0));
+        passenger(FIRST_ID + 1, "Line\nBreak", "Street 2", "CONFIRMED", LocalDateTime.of(2031, 3, 2, 10, 0));
+        passenger(FIRST_ID + 2, "Canceled", "Street 3", "CANCELED", LocalDateTime.of(2031, 3, 3, 10, 0));
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("delete from itinerary_legs where reservation_id >= ?", FIRST_ID);
+        jdbcTemplate.update("delete from itinerary_reservations where reservation_id >= ?", FIRST_ID);
+        jdbcTemplate.update("delete from passengers where passenger_id >= ?", FIRST_ID);
+        jdbcTemplate.update("delete from legs where flight_number in (?, ?)", FLIGHT, EMPTY_FLIGHT);
+        jdbcTemplate.update("delete from flight_schedules where flight_number in (?, ?)", FLIGHT, EMPTY_FLIGHT);
+        jdbcTemplate.update("delete from booking_agents where agent_id = ?", FIRST_ID);
+        jdbcTemplate.update("delete from airports where airport_code in ('MFA', 'MFB')");
+    }
+
+    @Test
+    void csvQuotesSpecialCharacters() {
+        String csv = write(FLIGHT, ManifestFormat.CSV);
+
+        assertEquals(CSV_HEADER
+                + FIRST_ID + ",Anna,,Manifest,+998900000000,,\"12 Main St, Apt \"\"B\"\"\",Tashkent,,UZ,\r\n"
+                + (FIRST_ID + 1) + ",\"Line\nBreak\",,Manifest,+998900000000,,Street 2,Tashkent,,UZ,\r\n", csv);
+    }
+
+    @Test
+    void ndjsonWritesOneObjectPerLine() throws Exception {
+        String ndjson = write(FLIGHT, ManifestFormat.NDJSON);
+
+        assertTrue(ndjson.endsWith("\n"), ndjson);
+        String[] lines = ndjson.split("\n");
+        assertEquals(2, lines.length, ndjson);
+        JsonNode first = objectMapper.readTree(lines[0]);
+        assertEquals(11, first.size());
+        assertEquals(FIRST_ID, first.get("passengerId").asLong());
+        assertEquals("12 Main St, Apt \"B\"", first.get("addressLines").asText());
+        assertTrue(first.get("emailAddress").isNull());
+        JsonNode second = objectMapper.readTree(lines[1]);
+        assertEquals("Line\nBreak", second.get("firstName").asText());
+    }
+
+    @Test
+    void emptyManifest() {
+        assertEquals(CSV_HEADER, write(EMPTY_FLIGHT, ManifestFormat.CSV));
+        assertEquals("", write(EMPTY_FLIGHT, ManifestFormat.NDJSON));
+    }
+
+    private String write(long flightNumber, ManifestFormat format) {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        manifestService.writePassengerManifest(flightNumber, format, outputStream);
+        return outputStream.toString(StandardCharsets.UTF_8);
+    }
+
+    private void passenger(long id, String firstName, String addressLines, String status, LocalDateTime madeAt) {
+        jdbcTemplate.update("""
+                insert into passengers (passenger_id, first_name, last_name, phone_number, address_lines, city, country)
+                values (?, ?, 'Manifest', '+998900000000', ?, 'Tashkent', 'UZ')
+                """, id, firstName, addressLines);
+        jdbcTemplate.update("""
+                insert into itinerary_reservations (reservation_id, agent_id, passenger_id, reservation_status_code,
+                                                    travel_class_code, date_reservation_made)
+                values (?, ?, ?, ?, 'ECONOMY', ?)
+                """, id, FIRST_ID, id, status, madeAt);
+        jdbcTemplate.update("insert into itinerary_legs (reservation_id, leg_id) values (?, ?)", id, FLIGHT);
+    }
+}
@@ -0,0 +1,57 @@
+package uz.ccrew.flightmanagement.service.impl;
+
+import uz.ccrew.flightmanagement.entity.Airport;
+import uz.ccrew.flightmanagement.util.FlightUtil;
+import uz.ccrew.flightmanagement.util.SearchExecutor;
+import uz.ccrew.flightmanagement.enums.TravelClassCode;
+import uz.ccrew.flightmanagement.entity.FlightSchedule;
+import uz.ccrew.flightmanagement.util.ClassAvailability;
+import uz.ccrew.flightmanagement.mapper.FlightScheduleMapper;
+import uz.ccrew.flightmanagement.service.FlightGraphService;
+import uz.ccrew.flightmanagement.service.SeatInventoryService;
+import uz.ccrew.flightmanagement.dto.flightSchedule.FlightListRequestDTO;
+
+import org.junit.jupiter.api.Test;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import java.util.List;
+import java.util.Optional;
+import java.time.Duration;
+
+import static org.mockito.Mockito.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class MultiCityFlightServiceImplTest {
+    @Test
+    void availabilityMemoIsMetered() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        SeatInventoryService seatInventoryService = mock(SeatInventoryService.class);
+        FlightGraphService flightGraphService = mock(FlightGraphService.class);
+        int economy = 1 << TravelClassCode.ECONOMY.ordinal();
+        long[] costs = new long[TravelClassCode.values().length];
+        int[] seats = new int[TravelClassCode.values().length];
+        costs[TravelClassCode.ECONOMY.ordinal()] = 100;
+        seats[TravelClassCode.ECONOMY.ordinal()] = 10;
+        when(seatInventoryService.getClassAvailability(anyLong())).thenReturn(Optional.of(new ClassAvailability(economy, costs, economy, seats)));
+        FlightSchedule first = flight(1L);
+        when(flightGraphService.findRoutes("A", "C", 1)).thenReturn(List.of(List.of(first, flight(2L)), List.of(first, flight(3L))));
+        SearchExecutor searchExecutor = new SearchExecutor(meterRegistry, false, 1, 0, 10, Duration.ofSeconds(10), 100);
+        MultiCityFlightServiceImpl multiCityFlightService = new MultiCityFlightServiceImpl(new FlightUtil(seatInventoryService),
+                searchExecutor, new FlightScheduleMapper(), flightGraphService, meterRegistry);
+
+        multiCityFlightService.getMultiCityFlights(FlightListRequestDTO.builder().departureCity("A").arrivalCity("C").maxStops(1).build());
+
+        assertEquals(1, meterRegistry.get("flight.search.availability").tag("result", "hit").counter().count());
+        assertEquals(3, meterRegistry.get("flight.search.availability").tag("result", "miss").counter().count());
+        searchExecutor.destroy();
+    }
+
+    private static FlightSchedule flight(long flightNumber) {
+        Airport airport = Airport.builder().airportCode("A" + flightNumber).build();
+        return FlightSchedule.builder()
+                .flightNumber(flightNumber)
+                .originAirport(airport)
+                .destinationAirport(airport)
+                .build();
+    }
+}
@@ -0,0 +1,152 @@
+package uz.ccrew.flightmanagement.service.impl;
+
+import uz.ccrew.flightmanagement.entity.Airport;
+import uz.ccrew.flightmanagement.util.FlightUtil;
+import uz.ccrew.flightmanagement.enums.AirlineCode;
+import uz.ccrew.flightmanagement.util.SearchExecutor;
+import uz.ccrew.flightmanagement.enums.TravelClassCode;
+import uz.ccrew.flightmanagement.entity.FlightSchedule;
+import uz.ccrew.flightmanagement.util.ClassAvailability;
+import uz.ccrew.flightmanagement.mapper.FlightScheduleMapper;
+import uz.ccrew.flightmanagement.service.SeatInventoryService;
+import uz.ccrew.flightmanagement.dto.flightSchedule.RoundTripFlightDTO;
+import uz.ccrew.flightmanagement.repository.FlightScheduleRepository;
+import uz.ccrew.flightmanagement.dto.flightSchedule.FlightListRequestDTO;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import java.util.Map;
+import java.util.List;
+import java.util.HashMap;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.mockito.Mockito.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class RoundTripFlightServiceImplTest {
+    private static final LocalDate DEPARTURE_DATE = LocalDate.now().plusDays(1);
+    private static final LocalDate RETURN_DATE = DEPARTURE_DATE.plusDays(1);
+    private static final Airport TASHKENT = Airport.builder().airportCode("TAS").city("TASHKENT").build();
+    private static final Airport ISTANBUL = Airport.builder().airportCode("IST").city("ISTANBUL").build();
+
+    private final SeatInventoryService seatInventoryService = mock(SeatInventoryService.class);
+    private final FlightScheduleRepository flightScheduleRepository = mock(FlightScheduleRepository.class);
+    private final Map<Long, ClassAvailability> availabilityMap = new HashMap<>();
+    private SearchExecutor searchExecutor;
+    private RoundTripFlightServiceImpl roundTripFlightService;
+
+    @BeforeEach
+    void setUp() {
+        searchExecutor = new SearchExecutor(new SimpleMeterRegistry(), false, 1, 0, 10, Duration.ofSeconds(10), 100);
+        roundTripFlightService = new RoundTripFlightServiceImpl(new FlightUtil(seatInventoryService), searchExecutor,
+                flightScheduleRepository, new FlightScheduleMapper(), seatInventoryService);
+        when(seatInventoryService.getClassAvailability(anyCollection())).thenReturn(availabilityMap);
+    }
+
+    @AfterEach
+    void tearDown() {
+        searchExecutor.destroy();
+    }
+
+    @Test
+    void pairsSameAirlineOnReversedRoute() {
+        FlightSchedule flight = flight(1L, AirlineCode.DL, TASHKENT, ISTANBUL, DEPARTURE_DATE.atTime(8, 0));
+        FlightSchedule returnFlight = flight(2L, AirlineCode.DL, ISTANBUL, TASHKENT, RETURN_DATE.atTime(8, 0));
+        FlightSchedule otherAirline = flight(3L, AirlineCode.LH, ISTANBUL, TASHKENT, RETURN_DATE.atTime(10, 0));
+        when(flightScheduleRepository.findOneWay("TASHKENT", "ISTANBUL", DEPARTURE_DATE)).thenReturn(List.of(flight));
+        when(flightScheduleRepository.findOneWay("ISTANBUL", "TASHKENT", RETURN_DATE)).thenReturn(List.of(returnFlight, otherAirline));
+
+        List<RoundTripFlightDTO> roundTrips = roundTripFlightService.getRoundTripFlights(request("TASHKENT", "ISTANBUL"));
+
+        assertEquals(List.of(List.of(1L, 2L)), pairs(roundTrips));
+        assertEquals(300L, roundTrips.get(0).travelClassCostList().get(TravelClassCode.ECONOMY));
+        assertEquals(10, roundTrips.get(0).travelClassAvailableSeats().get(TravelClassCode.ECONOMY));
+    }
+
+    @Test
+    void dropsReturnDepartingBeforeOutbound() {
+        FlightSchedule early = flight(1L, AirlineCode.DL, TASHKENT, ISTANBUL, DEPARTURE_DATE.atTime(8, 0));
+        FlightSchedule late = flight(2L, AirlineCode.DL, TASHKENT, ISTANBUL, DEPARTURE_DATE.atTime(20, 0));
+        FlightSchedule returnFlight = flight(3L, AirlineCode.DL, ISTANBUL, TASHKENT, DEPARTURE_DATE.atTime(14, 0));
+        when(flightScheduleRepository.findOneWay("TASHKENT", "ISTANBUL", DEPARTURE_DATE)).thenReturn(List.of(early, late));
+        when(flightScheduleRepository.findOneWay("ISTANBUL", "TASHKENT", DEPARTURE_DATE)).thenReturn(List.of(returnFlight));
+
+        List<RoundTripFlightDTO> roundTrips = roundTripFlightService.getRoundTripFlights(FlightListRequestDTO.builder()
+                .departureCity("TASHKENT")
+                .arrivalCity("ISTANBUL")
+                .departureDate(DEPARTURE_DATE)
+                .returnDate(DEPARTURE_DATE)
+                .build());
+
+        assertEquals(List.of(List.of(1L, 3L)), pairs(roundTrips));
+    }
+
+    @Test
+    void dropsSameFlightPair() {
+        FlightSchedule first = flight(1L, AirlineCode.DL, TASHKENT, TASHKENT, DEPARTURE_DATE.atTime(8, 0));
+        FlightSchedule second = flight(2L, AirlineCode.DL, TASHKENT, TASHKENT, DEPARTURE_DATE.atTime(20, 0));
+        when(flightScheduleRepository.findOneWay("TASHKENT", "TASHKENT", DEPARTURE_DATE)).thenReturn(List.of(first, second));
+
+        List<RoundTripFlightDTO> roundTrips = roundTripFlightService.getRoundTripFlights(FlightListRequestDTO.builder()
+                .departureCity("TASHKENT")
+                .arrivalCity("TASHKENT")
+                .departureDate(DEPARTURE_DATE)
+                .returnDate(DEPARTURE_DATE)
+                .build());
+
+        assertEquals(List.of(List.of(1L, 2L)), pairs(roundTrips));
+    }
+
+    @Test
+    void dropsPairsWithoutAvailability() {
+        FlightSchedule flight = flight(1L, AirlineCode.DL, TASHKENT, ISTANBUL, DEPARTURE_DATE.atTime(8, 0));
+        FlightSchedule soldOutFlight = flight(2L, AirlineCode.DL, TASHKENT, ISTANBUL, DEPARTURE_DATE.atTime(10, 0));
+        FlightSchedule returnFlight = flight(3L, AirlineCode.DL, ISTANBUL, TASHKENT, RETURN_DATE.atTime(8, 0));
+        FlightSchedule soldOutReturn = flight(4L, AirlineCode.DL, ISTANBUL, TASHKENT, RETURN_DATE.atTime(10, 0));
+        when(flightScheduleRepository.findOneWay("TASHKENT", "ISTANBUL", DEPARTURE_DATE)).thenReturn(List.of(flight, soldOutFlight));
+        when(flightScheduleRepository.findOneWay("ISTANBUL", "TASHKENT", RETURN_DATE)).thenReturn(List.of(returnFlight, soldOutReturn));
+        availabilityMap.remove(2L);
+        availabilityMap.remove(4L);
+
+        List<RoundTripFlightDTO> roundTrips = roundTripFlightService.getRoundTripFlights(request("TASHKENT", "ISTANBUL"));
+
+        assertEquals(List.of(List.of(1L, 3L)), pairs(roundTrips));
+    }
+
+    private FlightSchedule flight(long flightNumber, AirlineCode airlineCode, Airport origin, Airport destination, LocalDateTime departure) {
+        int economy = 1 << TravelClassCode.ECONOMY.ordinal();
+        long[] costs = new long[TravelClassCode.values().length];
+        int[] seats = new int[TravelClassCode.values().length];
+        costs[TravelClassCode.ECONOMY.ordinal()] = 100 * flightNumber;
+        seats[TravelClassCode.ECONOMY.ordinal()] = 10;
+        availabilityMap.put(flightNumber, new ClassAvailability(economy, costs, economy, seats));
+        return FlightSchedule.builder()
+                .flightNumber(flightNumber)
+                .airlineCode(airlineCode)
+                .originAirport(origin)
+                .destinationAirport(destination)
+                .departureDateTime(departure)
+                .arrivalDateTime(departure.plusHours(4))
+                .build();
+    }
+
+    private static FlightListRequestDTO request(String departureCity, String arrivalCity) {
+        return FlightListRequestDTO.builder()
+                .departureCity(departureCity)
+                .arrivalCity(arrivalCity)
+                .departureDate(DEPARTURE_DATE)
+                .returnDate(RETURN_DATE)
+                .build();
+    }
+
+    private static List<List<Long>> pairs(List<RoundTripFlightDTO> roundTrips) {
+        return roundTrips.stream()
+                .map(roundTrip -> List.of(roundTrip.flightDTO().flightNumber(), roundTrip.returnFlightDTO().flightNumber()))
+                .toList();
+    }
+}
@@ -0,0 +1,229 @@
+package uz.ccrew.flightmanagement.service.impl;
+
+import uz.ccrew.flightmanagement.entity.FlightSales;
+import uz.ccrew.flightmanagement.enums.TravelClassCode;
+import uz.ccrew.flightmanagement.dto.report.FlightSalesDTO;
+import uz.ccrew.flightmanagement.service.SalesLedgerService;
+import uz.ccrew.flightmanagement.dto.report.FlightRevenueDTO;
+import uz.ccrew.flightmanagement.repository.FlightSalesRepository;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.concurrent.Future;
+import java.util.concurrent.Executors;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class SalesLedgerServiceImplTest {
+    private static final long FIRST_FLIGHT = 930_001L;
+    private static final long SECOND_FLIGHT = 930_002L;
+    private static final long THIRD_FLIGHT = 930_003L;
+    private static final long FIRST_ID = 930_000L;
+    private static final LocalDate DAY = LocalDate.of(2031, 3, 14);
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private SalesLedgerService salesLedgerService;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private FlightSalesRepository flightSalesRepository;
+    private long nextReservationId;
+
+    @BeforeEach
+    void setUp() {
+        nextReservationId = FIRST_ID;
+        jdbcTemplate.update("insert into airports (airport_code, airport_name, airport_location, city) values ('SLA', 'Ledger A', 'A', 'LEDGER A')");
+        jdbcTemplate.update("insert into airports (airport_code, airport_name, airport_location, city) values ('SLB', 'Ledger B', 'B', 'LEDGER B')");
+        jdbcTemplate.update("insert into booking_agents (agent_id, agent_name) values (?, 'ledger')", FIRST_ID);
+        jdbcTemplate.update("""
+                insert into passengers (passenger_id, first_name, last_name, phone_number, address_lines, city, country)
+                values (?, 'Ledger', 'Test', '+998900000000', 'Street 1', 'Tashkent', 'UZ')
+                """, FIRST_ID);
+        for (long flightNumber : List.of(FIRST_FLIGHT, SECOND_FLIGHT, THIRD_FLIGHT)) {
+            LocalDateTime departure = DAY.atTime(8, 0).plusHours(flightNumber - FIRST_FLIGHT);
+            jdbcTemplate.update("""
+                    insert into flight_schedules (flight_number, airline_code, usual_aircraft_type_code, origin_airport_code,
+                                                  destination_airport_code, departure_date_time, arrival_date_time)
+                    values (?, 'DL', 'B738', 'SLA', 'SLB', ?, ?)
+                    """, flightNumber, departure, departure.plusHours(2));
+            jdbcTemplate.update("insert into legs (leg_id, flight_number, origin_airport, destination_airport) values (?, ?, 'SLA', 'SLB')",
+                    flightNumber, flightNumber);
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("delete from flight_sales where flight_number between ? and ?", FIRST_FLIGHT, THIRD_FLIGHT);
+        jdbcTemplate.update("delete from itinerary_legs where reservation_id >= ?", FIRST_ID);
+        jdbcTemplate.update("delete from reservation_payments where reservation_id >= ?", FIRST_ID);
+        jdbcTemplate.update("delete from payments where payment_id not in (select payment_id from reservation_payments)");
+        jdbcTemplate.update("delete from itinerary_reservations where reservation_id >= ?", FIRST_ID);
+        jdbcTemplate.update("delete from legs where flight_number between ? and ?", FIRST_FLIGHT, THIRD_FLIGHT);
+        jdbcTemplate.update("delete from flight_schedules where flight_number between ? and ?", FIRST_FLIGHT, THIRD_FLIGHT);
+        jdbcTemplate.update("delete from passengers where passenger_id = ?", FIRST_ID);
+        jdbcTemplate.update("delete from booking_agents where agent_id = ?", FIRST_ID);
+        jdbcTemplate.update("delete from airports where airport_code in ('SLA', 'SLB')");
+    }
+
+    @Test
+    void paymentIsSplitAcrossReservationFlights() {
+        UUID paymentId = pay(TravelClassCode.ECONOMY, 1001L, SECOND_FLIGHT, FIRST_FLIGHT);
+
+        recordSale(paymentId);
+
+        FlightSalesDTO first = salesLedgerService.getFlightSales(FIRST_FLIGHT);
+        FlightSalesDTO second = salesLedgerService.getFlightSales(SECOND_FLIGHT);
+        assertEquals(501L, first.grossAmount());
+        assertEquals(500L, second.grossAmount());
+        assertEquals(1L, first.travelClasses().getFirst().soldCount());
+        assertEquals(TravelClassCode.ECONOMY, second.travelClasses().getFirst().travelClassCode());
+        assertEquals(0L, salesLedgerService.getNetSales(THIRD_FLIGHT));
+    }
+
+    @Test
+    void reversalKeepsGrossAndReducesNet() {
+        UUID paymentId = pay(TravelClassCode.BUSINESS, 800L, FIRST_FLIGHT);
+        recordSale(paymentId);
+
+        jdbcTemplate.update("update payments set payment_status_code = 'REVERSED' where payment_id = ?", paymentId);
+        recordReversal(paymentId);
+
+        FlightSalesDTO sales = salesLedgerService.getFlightSales(FIRST_FLIGHT);
+        assertEquals(800L, sales.grossAmount());
+        assertEquals(800L, sales.reversedAmount());
+        assertEquals(0L, sales.netAmount());
+        assertEquals(1L, sales.travelClasses().getFirst().reversedCount());
+    }
+
+    @Test
+    void topFlightsAreRankedByNetRevenue() {
+        recordSale(pay(TravelClassCode.ECONOMY, 300L, FIRST_FLIGHT));
+        recordSale(pay(TravelClassCode.ECONOMY, 900L, SECOND_FLIGHT));
+        recordSale(pay(TravelClassCode.BUSINESS, 500L, THIRD_FLIGHT));
+        recordSale(pay(TravelClassCode.ECONOMY, 200L, THIRD_FLIGHT));
+
+        List<FlightRevenueDTO> top = salesLedgerService.getTopFlights(DAY, DAY, 2);
+
+        assertEquals(List.of(SECOND_FLIGHT, THIRD_FLIGHT), top.stream().map(FlightRevenueDTO::flightNumber).toList());
+        assertEquals(700L, top.get(1).netAmount());
+    }
+
+    @Test
+    void rebuildReconcilesPartialLedger() {
+        recordSale(pay(TravelClassCode.ECONOMY, 1001L, FIRST_FLIGHT, SECOND_FLIGHT));
+        recordSale(pay(TravelClassCode.ECONOMY, 400L, THIRD_FLIGHT));
+        jdbcTemplate.update("update flight_sales set gross_amount = 1, sold_count = 7 where flight_number = ?", FIRST_FLIGHT);
+        jdbcTemplate.update("delete from flight_sales where flight_number = ?", SECOND_FLIGHT);
+        jdbcTemplate.update("""
+                insert into flight_sales (flight_number, travel_class_code, gross_amount, reversed_amount, sold_count, reversed_count)
+                values (?, 'BUSINESS', 999, 0, 1, 0)
+                """, THIRD_FLIGHT);
+
+        salesLedgerService.rebuild();
+
+        assertTotals(FIRST_FLIGHT, TravelClassCode.ECONOMY, 501L, 1L);
+        assertTotals(SECOND_FLIGHT, TravelClassCode.ECONOMY, 500L, 1L);
+        assertTotals(THIRD_FLIGHT, TravelClassCode.ECONOMY, 400L, 1L);
+        assertFalse(flightSalesRepository.existsById(new FlightSales.FlightSalesId(THIRD_FLIGHT, TravelClassCode.BUSINESS)));
+    }
+
+    @Test
+    void saleDuringRebuildIsNotOverwritten() throws Exception {
+        recordSale(pay(TravelClassCode.ECONOMY, 300L, FIRST_FLIGHT));
+        jdbcTemplate.update("update flight_sales set gross_amount = 1 where flight_number = ?", FIRST_FLIGHT);
+
+        CountDownLatch locked = new CountDownLatch(1);
+        ExecutorService rebuilder = Executors.newSingleThreadExecutor();
+        Future<?> rebuild = rebuilder.submit(() -> transactionTemplate.executeWithoutResult(status -> {
+            salesLedgerService.rebuild();
+            locked.countDown();
+            sleep(300);
+        }));
+        locked.await();
+        transactionTemplate.executeWithoutResult(status -> salesLedgerService.recordSale(pay(TravelClassCode.ECONOMY, 200L, FIRST_FLIGHT)));
+        rebuild.get();
+        rebuilder.shutdown();
+
+        assertTotals(FIRST_FLIGHT, TravelClassCode.ECONOMY, 500L, 2L);
+    }
+
+    @Test
+    void concurrentFirstSalesAreAllCounted() throws Exception {
+        int payments = 8;
+        List<UUID> paymentIds = new ArrayList<>();
+        for (int i = 0; i < payments; i++) {
+            paymentIds.add(pay(TravelClassCode.COMFORT, 100L, FIRST_FLIGHT));
+        }
+
+        ExecutorService payers = Executors.newFixedThreadPool(payments);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (UUID paymentId : paymentIds) {
+            futures.add(payers.submit(() -> {
+                start.await();
+                recordSale(paymentId);
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        payers.shutdown();
+
+        assertTotals(FIRST_FLIGHT, TravelClassCode.COMFORT, 100L * payments, payments);
+    }
+
+    private UUID pay(TravelClassCode travelClassCode, long amount, long... flightNumbers) {
+        long reservationId = nextReservationId++;
+        UUID paymentId = UUID.randomUUID();
+        jdbcTemplate.update("""
+                insert into itinerary_reservations (reservation_id, agent_id, passenger_id, reservation_status_code, travel_class_code)
+                values (?, ?, ?, 'CONFIRMED', ?)
+                """, reservationId, FIRST_ID, FIRST_ID, travelClassCode.name());
+        jdbcTemplate.update("insert into payments (payment_id, payment_status_code, payment_amount) values (?, 'PAYED', ?)",
+                paymentId, amount);
+        jdbcTemplate.update("insert into reservation_payments (reservation_id, payment_id) values (?, ?)", reservationId, paymentId);
+        for (long flightNumber : flightNumbers) {
+            jdbcTemplate.update("insert into itinerary_legs (reservation_id, leg_id) values (?, ?)", reservationId, flightNumber);
+        }
+        return paymentId;
+    }
+
+    private void recordSale(UUID paymentId) {
+        transactionTemplate.executeWithoutResult(status -> salesLedgerService.recordSale(paymentId));
+    }
+
+    private void recordReversal(UUID paymentId) {
+        transactionTemplate.executeWithoutResult(status -> salesLedgerService.recordReversal(paymentId));
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void assertTotals(long flightNumber, TravelClassCode travelClassCode, long grossAmount, long soldCount) {
+        FlightSales row = flightSalesRepository.findById(new FlightSales.FlightSalesId(flightNumber, travelClassCode)).orElseThrow();
+        assertEquals(grossAmount, row.getGrossAmount());
+        assertEquals(soldCount, row.getSoldCount());
+    }
+}
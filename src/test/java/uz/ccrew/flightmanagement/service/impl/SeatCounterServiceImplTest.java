@@ -0,0 +1,136 @@
+package uz.ccrew.flightmanagement.service.impl;
+
+import uz.ccrew.flightmanagement.enums.TravelClassCode;
+import uz.ccrew.flightmanagement.enums.AircraftTypeCode;
+import uz.ccrew.flightmanagement.entity.FlightSeatCounter;
+import uz.ccrew.flightmanagement.exp.BadRequestException;
+import uz.ccrew.flightmanagement.dto.flightcost.FlightCostDTO;
+import uz.ccrew.flightmanagement.service.SeatCounterService;
+import uz.ccrew.flightmanagement.service.SeatInventoryService;
+import uz.ccrew.flightmanagement.repository.FlightSeatCounterRepository;
+import uz.ccrew.flightmanagement.dto.travelclasscapacity.TravelClassCapacityDTO;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.BeforeEach;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.List;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.concurrent.Future;
+import java.util.concurrent.Executors;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class SeatCounterServiceImplTest {
+    private static final Long FLIGHT_NUMBER = 910_001L;
+    private static final Long RETURN_FLIGHT_NUMBER = 910_002L;
+    private static final int CAPACITY = 37;
+    private static final int BOOKERS = 500;
+    @Autowired
+    private SeatCounterService seatCounterService;
+    @Autowired
+    private SeatInventoryService seatInventoryService;
+    @Autowired
+    private FlightSeatCounterRepository flightSeatCounterRepository;
+
+    @BeforeEach
+    void setUp() {
+        flightSeatCounterRepository.deleteAll();
+        seatInventoryService.putCapacity(new TravelClassCapacityDTO(AircraftTypeCode.B77W, TravelClassCode.COMFORT, CAPACITY));
+        for (Long flightNumber : List.of(FLIGHT_NUMBER, RETURN_FLIGHT_NUMBER)) {
+            seatInventoryService.evict(flightNumber);
+            seatInventoryService.putCost(FlightCostDTO.builder()
+                    .flightNumber(flightNumber)
+                    .aircraftTypeCode(AircraftTypeCode.B77W)
+                    .validFromDate(LocalDate.now().minusDays(1))
+                    .validToDate(LocalDate.now().plusDays(1))
+                    .flightCost(300L)
+                    .build());
+            seatCounterService.createCounters(flightNumber);
+        }
+    }
+
+    @Test
+    void parallelBookersNeverOversell() throws Exception {
+        ExecutorService bookers = Executors.newFixedThreadPool(64);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger booked = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < BOOKERS; i++) {
+            futures.add(bookers.submit(() -> {
+                start.await();
+                try {
+                    seatCounterService.reserve(List.of(FLIGHT_NUMBER), TravelClassCode.COMFORT);
+                    booked.incrementAndGet();
+                } catch (BadRequestException e) {
+                    rejected.incrementAndGet();
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        bookers.shutdown();
+
+        assertEquals(CAPACITY, booked.get());
+        assertEquals(BOOKERS - CAPACITY, rejected.get());
+        assertEquals(CAPACITY, reservedSeats(FLIGHT_NUMBER));
+    }
+
+    @Test
+    void fullFlightRollsBackWholeItinerary() {
+        for (int i = 0; i < CAPACITY; i++) {
+            seatCounterService.reserve(List.of(RETURN_FLIGHT_NUMBER), TravelClassCode.COMFORT);
+        }
+
+        assertThrows(BadRequestException.class, () ->
+                seatCounterService.reserve(List.of(FLIGHT_NUMBER, RETURN_FLIGHT_NUMBER), TravelClassCode.COMFORT));
+        assertEquals(0, reservedSeats(FLIGHT_NUMBER));
+
+        seatCounterService.release(List.of(RETURN_FLIGHT_NUMBER), TravelClassCode.COMFORT);
+        seatCounterService.reserve(List.of(FLIGHT_NUMBER, RETURN_FLIGHT_NUMBER), TravelClassCode.COMFORT);
+        assertEquals(1, reservedSeats(FLIGHT_NUMBER));
+        assertEquals(CAPACITY, reservedSeats(RETURN_FLIGHT_NUMBER));
+    }
+
+    @Test
+    void groupGetsAllSeatsOrNone() {
+        seatCounterService.reserve(List.of(FLIGHT_NUMBER, RETURN_FLIGHT_NUMBER), TravelClassCode.COMFORT, 30);
+
+        assertThrows(BadRequestException.class, () ->
+                seatCounterService.reserve(List.of(FLIGHT_NUMBER, RETURN_FLIGHT_NUMBER), TravelClassCode.COMFORT, CAPACITY - 29));
+        assertEquals(30, reservedSeats(FLIGHT_NUMBER));
+        assertEquals(30, reservedSeats(RETURN_FLIGHT_NUMBER));
+
+        seatCounterService.reserve(List.of(FLIGHT_NUMBER, RETURN_FLIGHT_NUMBER), TravelClassCode.COMFORT, CAPACITY - 30);
+        assertEquals(CAPACITY, reservedSeats(FLIGHT_NUMBER));
+        assertEquals(CAPACITY, reservedSeats(RETURN_FLIGHT_NUMBER));
+    }
+
+    @Test
+    void rebuildRecountsExistingCounters() {
+        seatCounterService.reserve(List.of(FLIGHT_NUMBER, RETURN_FLIGHT_NUMBER), TravelClassCode.COMFORT, 5);
+
+        seatCounterService.rebuild();
+
+        assertEquals(0, reservedSeats(FLIGHT_NUMBER));
+        assertEquals(0, reservedSeats(RETURN_FLIGHT_NUMBER));
+    }
+
+    private int reservedSeats(Long flightNumber) {
+        return flightSeatCounterRepository.loadById(new FlightSeatCounter.FlightSeatCounterId(flightNumber, TravelClassCode.COMFORT))
+                .getReservedSeats();
+    }
+}
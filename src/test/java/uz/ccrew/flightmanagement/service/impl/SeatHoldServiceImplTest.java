@@ -0,0 +1,249 @@
+package uz.ccrew.flightmanagement.service.impl;
+
+import uz.ccrew.flightmanagement.entity.*;
+import uz.ccrew.flightmanagement.repository.*;
+import uz.ccrew.flightmanagement.enums.UserRole;
+import uz.ccrew.flightmanagement.enums.AirlineCode;
+import uz.ccrew.flightmanagement.enums.TicketTypeCode;
+import uz.ccrew.flightmanagement.enums.TravelClassCode;
+import uz.ccrew.flightmanagement.enums.AircraftTypeCode;
+import uz.ccrew.flightmanagement.service.SeatHoldService;
+import uz.ccrew.flightmanagement.exp.BadRequestException;
+import uz.ccrew.flightmanagement.service.SeatCounterService;
+import uz.ccrew.flightmanagement.enums.ReservationStatusCode;
+import uz.ccrew.flightmanagement.service.SeatInventoryService;
+import uz.ccrew.flightmanagement.dto.travelclasscapacity.TravelClassCapacityDTO;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class SeatHoldServiceImplTest {
+    @Autowired
+    private SeatHoldService seatHoldService;
+    @Autowired
+    private SeatCounterService seatCounterService;
+    @Autowired
+    private SeatInventoryService seatInventoryService;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private LegRepository legRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private AirportRepository airportRepository;
+    @Autowired
+    private PassengerRepository passengerRepository;
+    @Autowired
+    private FlightCostRepository flightCostRepository;
+    @Autowired
+    private RefCalendarRepository refCalendarRepository;
+    @Autowired
+    private ReservationRepository reservationRepository;
+    @Autowired
+    private BookingAgentRepository bookingAgentRepository;
+    @Autowired
+    private ItineraryLegRepository itineraryLegRepository;
+    @Autowired
+    private FlightScheduleRepository flightScheduleRepository;
+    @Autowired
+    private FlightSeatCounterRepository flightSeatCounterRepository;
+    private User user;
+    private Passenger passenger;
+    private BookingAgent agent;
+    private FlightSchedule flight;
+    private Long flightNumber;
+    private Long expiredId;
+    private Long heldId;
+    private final List<Long> reservationIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        user = userRepository.save(User.builder()
+                .login("hold-owner")
+                .password("200622az")
+                .cashbackAmount(0L)
+                .role(UserRole.CUSTOMER)
+                .credentialsModifiedDate(LocalDateTime.now())
+                .build());
+        passenger = passengerRepository.save(Passenger.builder()
+                .firstName("Azimjon")
+                .lastName("Nazarov")
+                .phoneNumber("998901234567")
+                .addressLines("Chilonzor 1")
+                .city("TASHKENT")
+                .country("UZBEKISTAN")
+                .customerId(user.getId())
+                .build());
+        agent = bookingAgentRepository.save(BookingAgent.builder().agentName("hold-agent").build());
+        Airport origin = airport("HLA", "SAMARKAND");
+        Airport destination = airport("HLB", "BUKHARA");
+
+        flight = flightScheduleRepository.save(FlightSchedule.builder()
+                .airlineCode(AirlineCode.DL)
+                .usualAircraftTypeCode(AircraftTypeCode.B738)
+                .originAirport(origin)
+                .destinationAirport(destination)
+                .departureDateTime(LocalDateTime.now().plusDays(2))
+                .arrivalDateTime(LocalDateTime.now().plusDays(2).plusHours(1))
+                .build());
+        flightNumber = flight.getFlightNumber();
+
+        expiredId = reservation(agent, passenger, flight, LocalDateTime.now().minusMinutes(1));
+        heldId = reservation(agent, passenger, flight, LocalDateTime.now().plusMinutes(15));
+        seatCounterService.createCounters(flightNumber);
+
+        // three economy seats, two of them held by the reservations above
+        seatInventoryService.putCapacity(new TravelClassCapacityDTO(AircraftTypeCode.B738, TravelClassCode.ECONOMY, 3));
+        RefCalendar validFrom = refCalendarRepository.save(RefCalendar.builder().dayDate(LocalDate.now().minusDays(1)).dayNumber(1).businessDayYn(true).build());
+        refCalendarRepository.save(RefCalendar.builder().dayDate(LocalDate.now().plusDays(3)).dayNumber(1).businessDayYn(true).build());
+        flightCostRepository.save(FlightCost.builder()
+                .id(new FlightCost.FlightCostsId(flightNumber, AircraftTypeCode.B738, validFrom.getDayDate()))
+                .flightSchedule(flight)
+                .validFromRefCalendar(validFrom)
+                .validToDate(LocalDate.now().plusDays(3))
+                .flightCost(100L)
+                .build());
+        seatInventoryService.evict(flightNumber);
+    }
+
+    @AfterEach
+    void tearDown() {
+        itineraryLegRepository.deleteAll();
+        reservationRepository.deleteAllById(reservationIds);
+        legRepository.deleteAll();
+        flightCostRepository.deleteAll();
+        flightScheduleRepository.deleteById(flightNumber);
+        refCalendarRepository.deleteAll();
+        airportRepository.deleteAllById(List.of("HLA", "HLB"));
+        bookingAgentRepository.delete(agent);
+        passengerRepository.delete(passenger);
+        userRepository.delete(user);
+        flightSeatCounterRepository.deleteAll();
+        seatInventoryService.load();
+    }
+
+    @Test
+    void expireHoldsReleasesOverdueSeats() {
+        assertEquals(2, reservedSeats());
+
+        seatHoldService.expireHolds();
+
+        assertEquals(ReservationStatusCode.EXPIRED, reservationRepository.loadById(expiredId).getReservationStatusCode());
+        assertEquals(ReservationStatusCode.CREATED, reservationRepository.loadById(heldId).getReservationStatusCode());
+        assertEquals(1, reservedSeats());
+        assertEquals(0, seatHoldService.expireHolds());
+        assertEquals(1, reservedSeats());
+    }
+
+    @Test
+    void holdTakesSeatsUntilTheFlightIsFull() {
+        Long reservationId = reservation(agent, passenger, flight, null);
+
+        transactionTemplate.executeWithoutResult(status ->
+                seatHoldService.hold(reservationRepository.loadById(reservationId), List.of(flightNumber)));
+
+        assertEquals(3, reservedSeats());
+        LocalDateTime holdExpiresAt = reservationRepository.loadById(reservationId).getHoldExpiresAt();
+        assertTrue(holdExpiresAt.isAfter(LocalDateTime.now().plusMinutes(10)), holdExpiresAt::toString);
+
+        Long fullId = reservation(agent, passenger, flight, null);
+        assertThrows(BadRequestException.class, () -> transactionTemplate.executeWithoutResult(status ->
+                seatHoldService.hold(reservationRepository.loadById(fullId), List.of(flightNumber))));
+        assertEquals(3, reservedSeats());
+        assertNull(reservationRepository.loadById(fullId).getHoldExpiresAt());
+    }
+
+    @Test
+    void confirmKeepsHeldSeat() {
+        confirm(heldId);
+
+        assertEquals(ReservationStatusCode.CONFIRMED, reservationRepository.loadById(heldId).getReservationStatusCode());
+        assertEquals(2, reservedSeats());
+    }
+
+    @Test
+    void confirmExpiredHoldFails() {
+        BadRequestException exception = assertThrows(BadRequestException.class, () -> confirm(expiredId));
+
+        assertEquals("Reservation hold has expired", exception.getMessage());
+        assertEquals(ReservationStatusCode.CREATED, reservationRepository.loadById(expiredId).getReservationStatusCode());
+        assertEquals(2, reservedSeats());
+    }
+
+    @Test
+    void confirmLegacyReservationTakesSeat() {
+        Long legacyId = reservation(agent, passenger, flight, null);
+
+        confirm(legacyId);
+
+        assertEquals(ReservationStatusCode.CONFIRMED, reservationRepository.loadById(legacyId).getReservationStatusCode());
+        assertEquals(3, reservedSeats());
+    }
+
+    @Test
+    void releaseGivesSeatBack() {
+        transactionTemplate.executeWithoutResult(status ->
+                seatHoldService.release(reservationRepository.loadById(heldId), List.of(flightNumber)));
+
+        assertEquals(1, reservedSeats());
+    }
+
+    private void confirm(Long reservationId) {
+        transactionTemplate.executeWithoutResult(status ->
+                seatHoldService.confirm(reservationRepository.loadById(reservationId), List.of(flightNumber)));
+    }
+
+    private int reservedSeats() {
+        return flightSeatCounterRepository.loadById(new FlightSeatCounter.FlightSeatCounterId(flightNumber, TravelClassCode.ECONOMY))
+                .getReservedSeats();
+    }
+
+    private Long reservation(BookingAgent agent, Passenger passenger, FlightSchedule flight, LocalDateTime holdExpiresAt) {
+        ItineraryReservation reservation = reservationRepository.save(ItineraryReservation.builder()
+                .agent(agent)
+                .passenger(passenger)
+                .reservationStatusCode(ReservationStatusCode.CREATED)
+                .ticketTypeCode(TicketTypeCode.TYPE1)
+                .travelClassCode(TravelClassCode.ECONOMY)
+                .dateReservationMade(LocalDateTime.now())
+                .numberInParty(1)
+                .holdExpiresAt(holdExpiresAt)
+                .build());
+        reservationIds.add(reservation.getReservationId());
+        Leg leg = legRepository.save(Leg.builder()
+                .flightSchedule(flight)
+                .originAirport(flight.getOriginAirport().getAirportCode())
+                .destinationAirport(flight.getDestinationAirport().getAirportCode() + reservation.getReservationId())
+                .build());
+        itineraryLegRepository.save(ItineraryLeg.builder()
+                .id(new ItineraryLeg.ItineraryLegId(reservation.getReservationId(), leg.getLegId()))
+                .reservation(reservation)
+                .leg(leg)
+                .build());
+        return reservation.getReservationId();
+    }
+
+    private Airport airport(String code, String city) {
+        return airportRepository.save(Airport.builder()
+                .airportCode(code)
+                .airportName(code + " International")
+                .airportLocation(city)
+                .city(city)
+                .build());
+    }
+}
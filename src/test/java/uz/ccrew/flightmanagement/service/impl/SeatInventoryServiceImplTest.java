@@ -0,0 +1,181 @@
+package uz.ccrew.flightmanagement.service.impl;
+
+import uz.ccrew.flightmanagement.util.TransactionUtil;
+import uz.ccrew.flightmanagement.enums.TravelClassCode;
+import uz.ccrew.flightmanagement.enums.AircraftTypeCode;
+import uz.ccrew.flightmanagement.entity.TravelClassCapacity;
+import uz.ccrew.flightmanagement.dto.flightcost.FlightCostDTO;
+import uz.ccrew.flightmanagement.service.SeatInventoryService;
+import uz.ccrew.flightmanagement.repository.FlightCostRepository;
+import uz.ccrew.flightmanagement.dto.reservation.FlightClassSeatDTO;
+import uz.ccrew.flightmanagement.repository.ItineraryLegRepository;
+import uz.ccrew.flightmanagement.repository.TravelClassCapacityRepository;
+import uz.ccrew.flightmanagement.dto.flightSchedule.TravelClassAggregationDTO;
+import uz.ccrew.flightmanagement.dto.travelclasscapacity.TravelClassCapacityDTO;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.BeforeEach;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.List;
+import java.time.LocalDate;
+
+import static org.mockito.Mockito.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class SeatInventoryServiceImplTest {
+    private static final Long FLIGHT_NUMBER = 900_001L;
+    @Autowired
+    private SeatInventoryService seatInventoryService;
+
+    @BeforeEach
+    void setUp() {
+        seatInventoryService.load();
+        seatInventoryService.putCapacity(new TravelClassCapacityDTO(AircraftTypeCode.A350, TravelClassCode.BUSINESS, 2));
+        seatInventoryService.putCost(FlightCostDTO.builder()
+                .flightNumber(FLIGHT_NUMBER)
+                .aircraftTypeCode(AircraftTypeCode.A350)
+                .validFromDate(LocalDate.now().minusDays(1))
+                .validToDate(LocalDate.now().plusDays(1))
+                .flightCost(500L)
+                .build());
+    }
+
+    @Test
+    void getAvailability() {
+        TravelClassAggregationDTO availability = seatInventoryService.getAvailability(FLIGHT_NUMBER).orElseThrow();
+
+        assertEquals(500L, availability.classCost().get(TravelClassCode.BUSINESS));
+        assertEquals(2, availability.classSeats().get(TravelClassCode.BUSINESS));
+    }
+
+    @Test
+    void getAvailabilityBatch() {
+        Map<Long, TravelClassAggregationDTO> availability = seatInventoryService.getAvailability(List.of(FLIGHT_NUMBER, 900_002L));
+
+        assertEquals(1, availability.size());
+        assertTrue(availability.containsKey(FLIGHT_NUMBER));
+    }
+
+    @Test
+    void reserveAndRelease() {
+        seatInventoryService.reserve(List.of(FLIGHT_NUMBER), TravelClassCode.BUSINESS);
+        assertEquals(1, seatInventoryService.getAvailability(FLIGHT_NUMBER).orElseThrow().classSeats().get(TravelClassCode.BUSINESS));
+
+        seatInventoryService.reserve(List.of(FLIGHT_NUMBER), TravelClassCode.BUSINESS);
+        assertTrue(seatInventoryService.getAvailability(FLIGHT_NUMBER).isEmpty());
+
+        seatInventoryService.release(List.of(FLIGHT_NUMBER), TravelClassCode.BUSINESS);
+        assertEquals(1, seatInventoryService.getAvailability(FLIGHT_NUMBER).orElseThrow().classSeats().get(TravelClassCode.BUSINESS));
+    }
+
+    @Test
+    void expiredCostIsIgnored() {
+        seatInventoryService.evict(FLIGHT_NUMBER);
+        seatInventoryService.putCost(FlightCostDTO.builder()
+                .flightNumber(FLIGHT_NUMBER)
+                .aircraftTypeCode(AircraftTypeCode.A350)
+                .validFromDate(LocalDate.now().minusDays(10))
+                .validToDate(LocalDate.now().minusDays(1))
+                .flightCost(500L)
+                .build());
+
+        assertTrue(seatInventoryService.getAvailability(FLIGHT_NUMBER).isEmpty());
+    }
+
+    @Test
+    void lazyLoadDoesNotCountCommittedSeatsTwice() {
+        FlightCostRepository flightCostRepository = mock(FlightCostRepository.class);
+        ItineraryLegRepository itineraryLegRepository = mock(ItineraryLegRepository.class);
+        SeatInventoryServiceImpl inventory = inventory(flightCostRepository, itineraryLegRepository);
+        when(flightCostRepository.findCostsByFlightNumbers(any())).thenReturn(List.of(cost()));
+        when(itineraryLegRepository.getReservedSeatsByFlights(any()))
+                .thenReturn(List.of(new FlightClassSeatDTO(FLIGHT_NUMBER, TravelClassCode.BUSINESS, 2L)));
+
+        // committed before the first read, so the two seats read from the database already include it
+        inventory.reserve(List.of(FLIGHT_NUMBER), TravelClassCode.BUSINESS);
+
+        assertEquals(3, inventory.getAvailability(FLIGHT_NUMBER).orElseThrow().classSeats().get(TravelClassCode.BUSINESS));
+        assertEquals(5, inventory.getTotalSeats(FLIGHT_NUMBER, TravelClassCode.BUSINESS));
+        verify(flightCostRepository, times(1)).findCostsByFlightNumbers(any());
+    }
+
+    @Test
+    void lazyLoadKeepsSeatsReservedWhileItRuns() {
+        FlightCostRepository flightCostRepository = mock(FlightCostRepository.class);
+        ItineraryLegRepository itineraryLegRepository = mock(ItineraryLegRepository.class);
+        SeatInventoryServiceImpl inventory = inventory(flightCostRepository, itineraryLegRepository);
+        when(flightCostRepository.findCostsByFlightNumbers(any())).thenReturn(List.of(cost()));
+        when(itineraryLegRepository.getReservedSeatsByFlights(any())).thenAnswer(invocation -> {
+            // committed after the query read its rows
+            inventory.reserve(List.of(FLIGHT_NUMBER), TravelClassCode.BUSINESS);
+            return List.of(new FlightClassSeatDTO(FLIGHT_NUMBER, TravelClassCode.BUSINESS, 2L));
+        });
+
+        inventory.reserve(List.of(FLIGHT_NUMBER), TravelClassCode.BUSINESS);
+        inventory.release(FLIGHT_NUMBER, TravelClassCode.BUSINESS, 1);
+
+        assertEquals(2, inventory.getAvailability(FLIGHT_NUMBER).orElseThrow().classSeats().get(TravelClassCode.BUSINESS));
+    }
+
+    @Test
+    void evictExpiredDropsExpiredAndUnloadedFlights() {
+        FlightCostRepository flightCostRepository = mock(FlightCostRepository.class);
+        ItineraryLegRepository itineraryLegRepository = mock(ItineraryLegRepository.class);
+        FlightCostDTO expired = FlightCostDTO.builder()
+                .flightNumber(2L)
+                .aircraftTypeCode(AircraftTypeCode.A350)
+                .validFromDate(LocalDate.now().minusDays(10))
+                .validToDate(LocalDate.now().minusDays(1))
+                .flightCost(500L)
+                .build();
+        when(flightCostRepository.findAllCosts()).thenReturn(List.of(cost(), expired));
+        SeatInventoryServiceImpl inventory = inventory(flightCostRepository, itineraryLegRepository);
+        inventory.reserve(List.of(3L), TravelClassCode.BUSINESS);
+
+        inventory.evictExpired();
+
+        Map<?, ?> inventories = (Map<?, ?>) ReflectionTestUtils.getField(inventory, "inventories");
+        assertEquals(Set.of(FLIGHT_NUMBER), inventories.keySet());
+    }
+
+    @Test
+    void unknownFlightsAreNotCached() {
+        FlightCostRepository flightCostRepository = mock(FlightCostRepository.class);
+        ItineraryLegRepository itineraryLegRepository = mock(ItineraryLegRepository.class);
+        SeatInventoryServiceImpl inventory = inventory(flightCostRepository, itineraryLegRepository);
+
+        assertTrue(inventory.getAvailability(List.of(1L, 2L, 3L)).isEmpty());
+        assertEquals(0, inventory.getTotalSeats(1L, TravelClassCode.BUSINESS));
+        assertEquals(Map.of(), ReflectionTestUtils.getField(inventory, "inventories"));
+    }
+
+    private static FlightCostDTO cost() {
+        return FlightCostDTO.builder()
+                .flightNumber(FLIGHT_NUMBER)
+                .aircraftTypeCode(AircraftTypeCode.A350)
+                .validFromDate(LocalDate.now().minusDays(1))
+                .validToDate(LocalDate.now().plusDays(1))
+                .flightCost(500L)
+                .build();
+    }
+
+    private SeatInventoryServiceImpl inventory(FlightCostRepository flightCostRepository, ItineraryLegRepository itineraryLegRepository) {
+        TravelClassCapacityRepository travelClassCapacityRepository = mock(TravelClassCapacityRepository.class);
+        when(travelClassCapacityRepository.findAll()).thenReturn(List.of(TravelClassCapacity.builder()
+                .id(new TravelClassCapacity.TravelClassCapacityId(AircraftTypeCode.A350, TravelClassCode.BUSINESS))
+                .seatCapacity(5)
+                .build()));
+        SeatInventoryServiceImpl inventory = new SeatInventoryServiceImpl(new TransactionUtil(), flightCostRepository,
+                itineraryLegRepository, travelClassCapacityRepository);
+        inventory.load();
+        return inventory;
+    }
+}
@@ -1,6 +1,7 @@
 package uz.ccrew.flightmanagement.service.impl;
 
 import uz.ccrew.flightmanagement.entity.User;
+import uz.ccrew.flightmanagement.dto.CursorPage;
 import uz.ccrew.flightmanagement.enums.UserRole;
 import uz.ccrew.flightmanagement.dto.user.UserDTO;
 import uz.ccrew.flightmanagement.service.UserService;
@@ -23,6 +24,7 @@ import org.springframework.security.authentication.UsernamePasswordAuthenticatio
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Comparator;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -126,4 +128,26 @@ class UserServiceImplTest {
 
         assertEquals(list.size(), page.getTotalElements());
     }
-}
\ No newline at end of file
+
+    @Test
+    void getListByCursor() {
+        for (String login : List.of("first", "second")) {
+            userRepository.save(User.builder().login(login)
+                    .password("200622az")
+                    .role(UserRole.CUSTOMER)
+                    .cashbackAmount(0L)
+                    .credentialsModifiedDate(LocalDateTime.now())
+                    .build());
+        }
+        List<Long> expected = userRepository.findAll().stream().map(User::getId).sorted(Comparator.reverseOrder()).toList();
+
+        CursorPage<UserDTO> first = userService.getList(null, 2, true);
+        CursorPage<UserDTO> second = userService.getList(first.nextCursor(), 2, false);
+
+        assertEquals(expected.subList(0, 2), first.content().stream().map(UserDTO::id).toList());
+        assertEquals(expected.subList(2, 3), second.content().stream().map(UserDTO::id).toList());
+        assertEquals(3L, first.approximateCount());
+        assertNull(second.approximateCount());
+        assertNull(second.nextCursor());
+    }
+}
@@ -0,0 +1,34 @@
+package uz.ccrew.flightmanagement.util;
+
+import uz.ccrew.flightmanagement.enums.TravelClassCode;
+import uz.ccrew.flightmanagement.enums.AircraftTypeCode;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CapacityMatrixTest {
+    @Test
+    void withReturnsUpdatedCopy() {
+        CapacityMatrix capacityMatrix = CapacityMatrix.EMPTY
+                .with(AircraftTypeCode.B738, TravelClassCode.ECONOMY, 150)
+                .with(AircraftTypeCode.B738, TravelClassCode.BUSINESS, 0)
+                .with(AircraftTypeCode.A350, TravelClassCode.COMFORT, 40);
+
+        assertEquals(150, capacityMatrix.seats(AircraftTypeCode.B738, TravelClassCode.ECONOMY));
+        assertEquals(40, capacityMatrix.seats(AircraftTypeCode.A350, TravelClassCode.COMFORT));
+        assertEquals(0, capacityMatrix.seats(AircraftTypeCode.A320, TravelClassCode.ECONOMY));
+        assertEquals(0, CapacityMatrix.EMPTY.seats(AircraftTypeCode.B738, TravelClassCode.ECONOMY));
+    }
+
+    @Test
+    void classMaskMarksConfiguredClasses() {
+        CapacityMatrix capacityMatrix = CapacityMatrix.EMPTY
+                .with(AircraftTypeCode.B738, TravelClassCode.ECONOMY, 150)
+                .with(AircraftTypeCode.B738, TravelClassCode.BUSINESS, 0);
+
+        assertEquals(1 << TravelClassCode.ECONOMY.ordinal() | 1 << TravelClassCode.BUSINESS.ordinal(),
+                capacityMatrix.classMask(AircraftTypeCode.B738));
+        assertEquals(0, capacityMatrix.classMask(AircraftTypeCode.A320));
+    }
+}
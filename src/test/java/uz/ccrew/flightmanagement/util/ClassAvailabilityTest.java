@@ -0,0 +1,54 @@
+package uz.ccrew.flightmanagement.util;
+
+import uz.ccrew.flightmanagement.enums.TravelClassCode;
+import uz.ccrew.flightmanagement.dto.flightSchedule.TravelClassAggregationDTO;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ClassAvailabilityTest {
+    private static final int ECONOMY = 1 << TravelClassCode.ECONOMY.ordinal();
+    private static final int COMFORT = 1 << TravelClassCode.COMFORT.ordinal();
+    private static final int BUSINESS = 1 << TravelClassCode.BUSINESS.ordinal();
+
+    @Test
+    void aggregateSumsCostsAndTakesFewestSeats() {
+        ClassAvailability first = new ClassAvailability(ECONOMY | BUSINESS, new long[]{100, 0, 400},
+                ECONOMY | BUSINESS, new int[]{50, 0, 4});
+        ClassAvailability second = new ClassAvailability(ECONOMY | COMFORT | BUSINESS, new long[]{150, 250, 500},
+                ECONOMY | COMFORT | BUSINESS, new int[]{20, 10, 8});
+
+        TravelClassAggregationDTO aggregation = ClassAvailability.aggregate(first, second).toDTO();
+
+        assertEquals(Map.of(TravelClassCode.ECONOMY, 250L, TravelClassCode.BUSINESS, 900L), aggregation.classCost());
+        assertEquals(Map.of(TravelClassCode.ECONOMY, 20, TravelClassCode.BUSINESS, 4), aggregation.classSeats());
+        assertEquals(aggregation, ClassAvailability.aggregate(List.of(first, second)).toDTO());
+    }
+
+    @Test
+    void soldOutClassKeepsItsCost() {
+        ClassAvailability first = new ClassAvailability(ECONOMY | BUSINESS, new long[]{100, 0, 400},
+                ECONOMY, new int[]{50, 0, 0});
+        ClassAvailability second = new ClassAvailability(ECONOMY | BUSINESS, new long[]{150, 0, 500},
+                ECONOMY | BUSINESS, new int[]{20, 0, 8});
+
+        TravelClassAggregationDTO aggregation = ClassAvailability.aggregate(List.of(first, second)).toDTO();
+
+        assertEquals(Map.of(TravelClassCode.ECONOMY, 250L, TravelClassCode.BUSINESS, 900L), aggregation.classCost());
+        assertEquals(Map.of(TravelClassCode.ECONOMY, 20), aggregation.classSeats());
+    }
+
+    @Test
+    void routeWithoutCommonClassIsRejected() {
+        ClassAvailability economy = new ClassAvailability(ECONOMY, new long[]{100, 0, 0}, ECONOMY, new int[]{50, 0, 0});
+        ClassAvailability business = new ClassAvailability(BUSINESS, new long[]{0, 0, 400}, BUSINESS, new int[]{0, 0, 4});
+
+        assertNull(ClassAvailability.aggregate(economy, business));
+        assertNull(ClassAvailability.aggregate(List.of(economy, economy, business)));
+        assertNull(ClassAvailability.aggregate(economy, null));
+    }
+}
@@ -0,0 +1,127 @@
+package uz.ccrew.flightmanagement.util;
+
+import uz.ccrew.flightmanagement.entity.User;
+import uz.ccrew.flightmanagement.exp.BadRequestException;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.BeforeEach;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import java.util.List;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.concurrent.Future;
+import java.util.concurrent.Executors;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.junit.jupiter.api.Assertions.*;
+
+class IdempotencyStoreTest {
+    private AuthUtil authUtil;
+    private IdempotencyStore idempotencyStore;
+
+    @BeforeEach
+    void setUp() {
+        authUtil = mock(AuthUtil.class);
+        when(authUtil.loadLoggedUser()).thenReturn(User.builder().id(1L).build());
+        idempotencyStore = new IdempotencyStore(authUtil, new SimpleMeterRegistry(), 100, Duration.ofHours(1), Duration.ofSeconds(10));
+    }
+
+    @Test
+    void retryReturnsStoredResult() {
+        AtomicInteger executions = new AtomicInteger();
+
+        Integer first = idempotencyStore.execute("key", "pay", "request", executions::incrementAndGet);
+        Integer second = idempotencyStore.execute("key", "pay", "request", executions::incrementAndGet);
+
+        assertEquals(1, first);
+        assertEquals(1, second);
+        assertEquals(1, executions.get());
+    }
+
+    @Test
+    void keysAreScopedByUserAndOperation() {
+        AtomicInteger executions = new AtomicInteger();
+
+        idempotencyStore.execute("key", "pay", "request", executions::incrementAndGet);
+        idempotencyStore.execute("key", "reserve", "request", executions::incrementAndGet);
+        when(authUtil.loadLoggedUser()).thenReturn(User.builder().id(2L).build());
+        idempotencyStore.execute("key", "pay", "request", executions::incrementAndGet);
+
+        assertEquals(3, executions.get());
+    }
+
+    @Test
+    void missingKeyAlwaysExecutes() {
+        AtomicInteger executions = new AtomicInteger();
+
+        idempotencyStore.execute(null, "pay", "request", executions::incrementAndGet);
+        idempotencyStore.execute(null, "pay", "request", executions::incrementAndGet);
+
+        assertEquals(2, executions.get());
+    }
+
+    @Test
+    void reusedKeyWithDifferentRequestIsRejected() {
+        idempotencyStore.execute("key", "pay", "request", () -> 1);
+
+        assertThrows(BadRequestException.class, () -> idempotencyStore.execute("key", "pay", "other", () -> 2));
+    }
+
+    @Test
+    void failedExecutionIsNotStored() {
+        assertThrows(BadRequestException.class, () -> idempotencyStore.execute("key", "pay", "request", () -> {
+            throw new BadRequestException("Payment failed");
+        }));
+
+        assertEquals(2, idempotencyStore.execute("key", "pay", "request", () -> 2));
+    }
+
+    @Test
+    void expiredResultIsExecutedAgain() {
+        IdempotencyStore shortLived = new IdempotencyStore(authUtil, new SimpleMeterRegistry(), 100, Duration.ZERO, Duration.ofSeconds(10));
+        AtomicInteger executions = new AtomicInteger();
+
+        shortLived.execute("key", "pay", "request", executions::incrementAndGet);
+        shortLived.execute("key", "pay", "request", executions::incrementAndGet);
+
+        assertEquals(2, executions.get());
+    }
+
+    @Test
+    void concurrentDuplicatesShareOneExecution() throws Exception {
+        ExecutorService clients = Executors.newFixedThreadPool(16);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger executions = new AtomicInteger();
+
+        List<Future<Integer>> futures = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            futures.add(clients.submit(() -> {
+                start.await();
+                return idempotencyStore.execute("key", "pay", "request", () -> {
+                    sleep(100);
+                    return executions.incrementAndGet();
+                });
+            }));
+        }
+        start.countDown();
+        for (Future<Integer> future : futures) {
+            assertEquals(1, future.get());
+        }
+        clients.shutdown();
+
+        assertEquals(1, executions.get());
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
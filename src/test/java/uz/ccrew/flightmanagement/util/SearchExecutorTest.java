@@ -0,0 +1,139 @@
+package uz.ccrew.flightmanagement.util;
+
+import uz.ccrew.flightmanagement.exp.BadRequestException;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+
+import java.util.List;
+import java.util.Optional;
+import java.time.Duration;
+import java.util.stream.IntStream;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SearchExecutorTest {
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    void searchKeepsOrderAndLimitsConcurrency(boolean virtualThreads) {
+        SearchExecutor searchExecutor = searchExecutor(virtualThreads, 0, 6);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        List<Integer> candidates = IntStream.range(0, 50).boxed().toList();
+
+        List<Integer> result = searchExecutor.search(candidates, candidate -> {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            sleep(2);
+            running.decrementAndGet();
+            return candidate % 2 == 0 ? Optional.of(candidate) : Optional.empty();
+        });
+
+        assertEquals(3, searchExecutor.getMaxConcurrency());
+        assertEquals(candidates.stream().filter(candidate -> candidate % 2 == 0).toList(), result);
+        assertTrue(maxRunning.get() <= 3);
+        searchExecutor.destroy();
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    void searchRethrowsSubtaskFailure(boolean virtualThreads) {
+        SearchExecutor searchExecutor = searchExecutor(virtualThreads, 2, 10);
+
+        assertThrows(BadRequestException.class, () -> searchExecutor.search(List.of(1, 2, 3), candidate -> {
+            if (candidate == 2) {
+                throw new BadRequestException("Invalid route");
+            }
+            return Optional.of(candidate);
+        }));
+        searchExecutor.destroy();
+    }
+
+    @Test
+    void searchStopsAtLimit() {
+        SearchExecutor searchExecutor = searchExecutor(true, 2, 10);
+        AtomicInteger evaluated = new AtomicInteger();
+
+        List<Integer> result = searchExecutor.search(IntStream.range(0, 1000).boxed().toList(), candidate -> {
+            evaluated.incrementAndGet();
+            sleep(1);
+            return Optional.of(candidate);
+        }, Duration.ofSeconds(10), 5);
+
+        assertEquals(5, result.size());
+        assertTrue(evaluated.get() < 1000);
+        searchExecutor.destroy();
+    }
+
+    @Test
+    void searchReturnsPartialResultsAtDeadline() {
+        SearchExecutor searchExecutor = searchExecutor(true, 4, 10);
+
+        long start = System.nanoTime();
+        List<Integer> result = searchExecutor.search(List.of(1, 2, 3, 4), candidate -> {
+            sleep(candidate % 2 == 0 ? 10_000 : 0);
+            return Optional.of(candidate);
+        }, Duration.ofMillis(300), 100);
+
+        assertEquals(List.of(1, 3), result);
+        assertTrue(Duration.ofNanos(System.nanoTime() - start).compareTo(Duration.ofSeconds(5)) < 0);
+        searchExecutor.destroy();
+    }
+
+    @Test
+    void largeSearchDoesNotStallConcurrentOnes() throws Exception {
+        SearchExecutor searchExecutor = searchExecutor(false, 4, 10);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        CompletableFuture<List<Integer>> large = CompletableFuture.supplyAsync(() ->
+                searchExecutor.search(IntStream.range(0, 200).boxed().toList(), candidate -> {
+                    maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                    sleep(20);
+                    running.decrementAndGet();
+                    return Optional.of(candidate);
+                }));
+        sleep(100);
+
+        long start = System.nanoTime();
+        List<Integer> small = searchExecutor.search(List.of(1, 2), Optional::of);
+
+        assertEquals(List.of(1, 2), small);
+        assertTrue(Duration.ofNanos(System.nanoTime() - start).compareTo(Duration.ofMillis(500)) < 0);
+        assertFalse(large.isDone());
+        assertEquals(200, large.get().size());
+        assertEquals(2, searchExecutor.getPerSearchConcurrency());
+        assertTrue(maxRunning.get() <= 2);
+        searchExecutor.destroy();
+    }
+
+    @Test
+    void searchPropagatesSecurityContext() {
+        SearchExecutor searchExecutor = searchExecutor(false, 2, 10);
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken("user", null, List.of()));
+
+        List<String> result = searchExecutor.search(List.of(1, 2, 3), candidate ->
+                Optional.of(SecurityContextHolder.getContext().getAuthentication().getName()));
+
+        assertEquals(List.of("user", "user", "user"), result);
+        SecurityContextHolder.clearContext();
+        searchExecutor.destroy();
+    }
+
+    private SearchExecutor searchExecutor(boolean virtualThreads, int maxConcurrency, int connectionPoolSize) {
+        return new SearchExecutor(new SimpleMeterRegistry(), virtualThreads, maxConcurrency, 0, connectionPoolSize,
+                Duration.ofSeconds(10), 1000);
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}